@@ -0,0 +1,112 @@
+package com.xmlvalidator.model;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * XML 파일을 한 번 파싱한 결과를 담는 모델 클래스
+ * 문법 검증 단계에서 생성되어 정합성 검증 단계로 그대로 전달됩니다.
+ * (문법 오류 목록, DOM 문서, 요소별 원본 위치)
+ */
+public class ParsedDocument {
+
+	private File file;
+	private Document document;
+	private List<ValidationError> syntaxErrors;
+	private Map<Node, SourcePosition> positions;
+	private Charset charset;
+	private byte[] content;
+
+	public ParsedDocument(File file, Document document, List<ValidationError> syntaxErrors,
+			Map<Node, SourcePosition> positions) {
+		this(file, document, syntaxErrors, positions, null);
+	}
+
+	/**
+	 * @param positions 요소 노드 -> 시작 태그 위치 (노드 동일성 기준 맵)
+	 * @param charset 파일에서 감지한 인코딩 (알 수 없으면 null)
+	 */
+	public ParsedDocument(File file, Document document, List<ValidationError> syntaxErrors,
+			Map<Node, SourcePosition> positions, Charset charset) {
+		this(file, document, syntaxErrors, positions, charset, null);
+	}
+	
+	/**
+	 * @param positions 요소 노드 -> 시작 태그 위치 (노드 동일성 기준 맵)
+	 * @param charset 파일에서 감지한 인코딩 (알 수 없으면 null)
+	 * @param content 파싱한 파일 내용 (오류 위치 계산에 사용, 없으면 null)
+	 */
+	public ParsedDocument(File file, Document document, List<ValidationError> syntaxErrors,
+			Map<Node, SourcePosition> positions, Charset charset, byte[] content) {
+		this.file = file;
+		this.document = document;
+		this.syntaxErrors = syntaxErrors != null ? syntaxErrors : new ArrayList<>();
+		this.positions = positions != null ? positions : Collections.emptyMap();
+		this.charset = charset;
+		this.content = content;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * 파싱된 DOM 문서를 반환합니다.
+	 * @return DOM 문서 (치명적 오류로 파싱에 실패한 경우 null)
+	 */
+	public Document getDocument() {
+		return document;
+	}
+
+	/**
+	 * 파싱 중 수집된 문법 오류 목록을 반환합니다.
+	 */
+	public List<ValidationError> getSyntaxErrors() {
+		return Collections.unmodifiableList(syntaxErrors);
+	}
+
+	/**
+	 * 노드의 원본 위치를 반환합니다.
+	 * 요소는 시작 태그를 닫는 '>'의 위치, 속성은 속성이 속한 시작 태그의 위치입니다.
+	 * @param node 요소 또는 속성 노드
+	 * @return 원본 위치 (기록되지 않은 노드이면 null)
+	 */
+	public SourcePosition getPosition(Node node) {
+		if (node instanceof Attr) {
+			node = ((Attr) node).getOwnerElement();
+		}
+		return node != null ? positions.get(node) : null;
+	}
+
+	/**
+	 * 파일에서 감지한 인코딩을 반환합니다 (파서와 원본 라인 텍스트 디코딩에 공통 사용).
+	 * @return 인코딩 (알 수 없으면 null)
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * 파싱한 파일 내용을 반환합니다 (오류 위치는 파일을 다시 읽지 않고 이 내용으로 계산).
+	 * @return 파일 내용 (없으면 null)
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * 문법 오류 없이 파싱되었는지 확인합니다.
+	 * @return 문법 오류가 없고 DOM 문서가 생성되었으면 true
+	 */
+	public boolean isWellFormed() {
+		return syntaxErrors.isEmpty() && document != null;
+	}
+}
@@ -0,0 +1,35 @@
+package com.xmlvalidator.model;
+
+/**
+ * XML 원본에서의 위치 (라인/컬럼 번호)를 나타내는 모델 클래스
+ * 파서가 알려주는 위치를 파싱 중에 기록해 두었다가 오류 위치로 사용합니다.
+ */
+public class SourcePosition {
+
+	private final int lineNumber;
+	private final int columnNumber;
+
+	public SourcePosition(int lineNumber, int columnNumber) {
+		this.lineNumber = lineNumber;
+		this.columnNumber = columnNumber;
+	}
+
+	/**
+	 * 라인 번호를 반환합니다 (1부터 시작).
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * 컬럼 번호를 반환합니다 (1부터 시작, 알 수 없으면 -1).
+	 */
+	public int getColumnNumber() {
+		return columnNumber;
+	}
+
+	@Override
+	public String toString() {
+		return columnNumber > 0 ? lineNumber + ":" + columnNumber : String.valueOf(lineNumber);
+	}
+}
@@ -0,0 +1,105 @@
+package com.xmlvalidator.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 파일 하나를 검증하는 동안 발견한 오류 모음
+ * 같은 파일, 같은 라인, 같은 메시지의 오류는 한 번만 보관하며 중복 여부는 해시로 확인합니다.
+ * 라인 번호순 목록은 처음 요청할 때 한 번 정렬해 두고, 오류가 추가될 때까지 같은 읽기 전용 목록을 반환합니다.
+ */
+public final class ValidationErrorStore {
+
+	private static final Comparator<ValidationError> BY_LINE = Comparator.comparingInt(ValidationError::getLineNumber);
+
+	private final List<ValidationError> errors = new ArrayList<>();
+	private final Set<Key> keys = new HashSet<>();
+	private List<ValidationError> sortedView;
+
+	/**
+	 * 오류를 추가합니다.
+	 * @return 추가했으면 true, 같은 파일/라인/메시지의 오류가 이미 있으면 false
+	 */
+	public boolean add(ValidationError error) {
+		if (!keys.add(new Key(error.getFile(), error.getLineNumber(), error.getMessage()))) {
+			return false;
+		}
+		errors.add(error);
+		sortedView = null;
+		return true;
+	}
+
+	/**
+	 * 모든 오류를 지웁니다.
+	 */
+	public void clear() {
+		errors.clear();
+		keys.clear();
+		sortedView = null;
+	}
+
+	public boolean isEmpty() {
+		return errors.isEmpty();
+	}
+
+	public int size() {
+		return errors.size();
+	}
+
+	/**
+	 * 라인 번호순으로 정렬된 읽기 전용 오류 목록을 반환합니다.
+	 * 같은 라인의 오류는 발견된 순서를 유지합니다.
+	 */
+	public List<ValidationError> getSortedErrors() {
+		if (sortedView == null) {
+			List<ValidationError> sorted = new ArrayList<>(errors);
+			sorted.sort(BY_LINE);
+			sortedView = Collections.unmodifiableList(sorted);
+		}
+		return sortedView;
+	}
+
+	/**
+	 * 중복 판단 키 (파일, 라인, 메시지)
+	 */
+	private static final class Key {
+
+		private final File file;
+		private final int lineNumber;
+		private final String message;
+		private final int hash;
+
+		Key(File file, int lineNumber, String message) {
+			this.file = file;
+			this.lineNumber = lineNumber;
+			this.message = message;
+			int h = file != null ? file.hashCode() : 0;
+			h = 31 * h + lineNumber;
+			this.hash = 31 * h + (message != null ? message.hashCode() : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return lineNumber == other.lineNumber && hash == other.hash
+					&& (file == null ? other.file == null : file.equals(other.file))
+					&& (message == null ? other.message == null : message.equals(other.message));
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
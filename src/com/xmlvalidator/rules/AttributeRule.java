@@ -0,0 +1,129 @@
+package com.xmlvalidator.rules;
+
+/**
+ * 컴파일된 속성 규칙 (불변)
+ * YAML의 attributes 항목 하나를 검증에 필요한 형태로 미리 해석해 둔 것입니다.
+ * 길이는 int(-1이면 지정 없음), 필수 여부는 boolean, 허용 값은 code_ref까지 풀어 둔 집합으로 보관합니다.
+ */
+public final class AttributeRule {
+
+	/**
+	 * 속성 규칙 유형 (YAML의 type 값)
+	 */
+	public enum Type {
+		/** 허용 값 목록(allowed_values 또는 code_ref) 검증 */
+		ENUM,
+		/** 정확한 길이 또는 길이 범위 검증 */
+		FIXED_LENGTH,
+		/** 최대 길이(및 최소 길이) 검증 */
+		MAX_LENGTH,
+		/** 그 밖의 유형 (format만 검증) */
+		OTHER
+	}
+
+	private final String name;
+	private final String fixedValue;
+	private final Type type;
+	private final boolean required;
+	private final String codeRef;
+	private final CodeSet allowedValues;
+	private final String format;
+	private final ValueChecker formatChecker;
+	private final int length;
+	private final int minLength;
+	private final int maxLength;
+
+	AttributeRule(String name, String fixedValue, Type type, boolean required, String codeRef,
+			CodeSet allowedValues, String format, ValueChecker formatChecker, int length, int minLength, int maxLength) {
+		this.name = name;
+		this.fixedValue = fixedValue;
+		this.type = type;
+		this.required = required;
+		this.codeRef = codeRef;
+		this.allowedValues = allowedValues;
+		this.format = format;
+		this.formatChecker = formatChecker;
+		this.length = length;
+		this.minLength = minLength;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * 속성 이름 (prefix:local 또는 local)
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 규칙이 고정 값 하나인 경우 그 값 (속성 규칙이 문자열로 정의된 경우, 아니면 null)
+	 */
+	public String getFixedValue() {
+		return fixedValue;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * 필수 속성 여부 (required: true / required / 1)
+	 */
+	public boolean isRequired() {
+		return required;
+	}
+
+	/**
+	 * 허용 값을 가져온 코드 카테고리 이름 (없으면 null)
+	 */
+	public String getCodeRef() {
+		return codeRef;
+	}
+
+	/**
+	 * ENUM 유형의 허용 값 집합 (code_ref가 있으면 코드 카테고리의 값, 없으면 null)
+	 */
+	public CodeSet getAllowedValues() {
+		return allowedValues;
+	}
+
+	/**
+	 * ENUM이 아닌 유형의 형식(정규식) (없으면 null)
+	 */
+	public String getFormat() {
+		return format;
+	}
+
+	/**
+	 * 컴파일된 형식 검사기 (형식이 없거나 정규식이 잘못되었으면 null)
+	 */
+	public ValueChecker getFormatChecker() {
+		return formatChecker;
+	}
+
+	/**
+	 * length 값 (FIXED_LENGTH: 정확한 길이, MAX_LENGTH: 최대 길이, ENUM: 정확한 길이, 없으면 -1)
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * min_length 값 (없으면 -1)
+	 */
+	public int getMinLength() {
+		return minLength;
+	}
+
+	/**
+	 * max_length 값 (없으면 -1)
+	 */
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	@Override
+	public String toString() {
+		return "AttributeRule[" + name + ", " + type + (required ? ", required" : "") + "]";
+	}
+}
@@ -0,0 +1,63 @@
+package com.xmlvalidator.rules;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 허용 값(코드) 집합 (불변)
+ * 포함 여부는 해시로 확인하고, 오류 메시지에 표시할 "허용값" 문자열은 만들 때 한 번만 계산합니다.
+ * 같은 code_ref를 참조하는 속성들은 하나의 집합을 함께 사용합니다.
+ */
+public final class CodeSet {
+
+	private final Set<String> values;
+	private final String displayText;
+
+	/**
+	 * @param values 허용 값 (표시 순서대로)
+	 */
+	CodeSet(Collection<String> values) {
+		this.values = Collections.unmodifiableSet(new HashSet<>(values));
+		// 이전 오류 메시지와 같은 형식 ([값1, 값2, ...])
+		this.displayText = values.toString();
+	}
+
+	/**
+	 * 표시 문자열을 이미 알고 있는 경우 (규칙 스냅샷에서 읽을 때)
+	 */
+	CodeSet(Collection<String> values, String displayText) {
+		this.values = Collections.unmodifiableSet(new HashSet<>(values));
+		this.displayText = displayText;
+	}
+
+	/**
+	 * 허용 값인지 확인합니다.
+	 */
+	public boolean contains(String value) {
+		return values.contains(value);
+	}
+
+	/**
+	 * 허용 값 수를 반환합니다.
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * 허용 값 전체 (순서 없음)
+	 */
+	public Set<String> getValues() {
+		return values;
+	}
+
+	/**
+	 * 오류 메시지에 표시할 허용 값 목록 (예: [BA, CA])
+	 */
+	@Override
+	public String toString() {
+		return displayText;
+	}
+}
@@ -0,0 +1,199 @@
+package com.xmlvalidator.rules;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 요소 규칙 (불변)
+ * YAML의 요소 규칙 하나를 검증에 필요한 형태로 미리 해석해 둔 것입니다.
+ * 경로 문자열, 발생 횟수, 필수 여부, 데이터 타입 길이, 포맷 종류를 규칙 로드 시점에 한 번만 계산하므로
+ * 검증 중에는 문자열 비교나 숫자 파싱을 하지 않습니다.
+ */
+public final class ElementRule {
+
+	/**
+	 * 자식 요소 발생 횟수 규칙 (YAML의 occurrence 값)
+	 */
+	public enum Occurrence {
+		/** '1': 정확히 1개 (없을 때는 필수인 경우에만 오류) */
+		EXACTLY_ONE(0, 1),
+		/** '0..1': 0개 또는 1개 */
+		OPTIONAL(0, 1),
+		/** '1..n': 1개 이상 */
+		ONE_OR_MORE(1, -1),
+		/** '0..n' 또는 알 수 없는 값: 검사하지 않음 */
+		ANY(0, -1);
+
+		private final int minOccurs;
+		private final int maxOccurs;
+
+		Occurrence(int minOccurs, int maxOccurs) {
+			this.minOccurs = minOccurs;
+			this.maxOccurs = maxOccurs;
+		}
+
+		/**
+		 * 최소 발생 횟수 (EXACTLY_ONE은 필수 여부에 따라 0 또는 1)
+		 */
+		public int getMinOccurs() {
+			return minOccurs;
+		}
+
+		/**
+		 * 최대 발생 횟수 (-1이면 제한 없음)
+		 */
+		public int getMaxOccurs() {
+			return maxOccurs;
+		}
+	}
+
+	/**
+	 * 요소 텍스트 값 포맷 검사 (YAML의 format 값에 포함된 키워드, 검사 순서대로 정의)
+	 */
+	public enum Format {
+		/** 'YYYYMMDD': 숫자 8자리 날짜 */
+		DATE,
+		/** 'HHMISS': 숫자 6자리 시각 */
+		TIME,
+		/** '금칙어': &lt;, &gt;, ", ; 사용 금지 */
+		FORBIDDEN_CHARS,
+		/** '1에서5사이': 1~5 범위의 정수 */
+		RANGE_1_TO_5
+	}
+
+	private final String name;
+	private final String path;
+	private final int index;
+	private final Occurrence occurrence;
+	private final boolean required;
+	private final boolean textRequired;
+	private final boolean collectsText;
+	private final boolean numeric;
+	private final int maxLength;
+	private final List<Format> formats;
+	private final CodeSet allowedCodes;
+	private final List<AttributeRule> attributes;
+	private final List<ElementRule> children;
+	private final Map<String, ElementRule> childrenByName;
+
+	ElementRule(String name, String path, int index, Occurrence occurrence, boolean required, boolean collectsText,
+			boolean numeric, int maxLength, List<Format> formats, CodeSet allowedCodes, List<AttributeRule> attributes,
+			List<ElementRule> children, Map<String, ElementRule> childrenByName) {
+		this.name = name;
+		this.path = path;
+		this.index = index;
+		this.occurrence = occurrence;
+		this.required = required;
+		// 자식 요소가 없는 경우(leaf)에만 텍스트 값 필수 검증
+		this.textRequired = required && children.isEmpty();
+		this.collectsText = collectsText;
+		this.numeric = numeric;
+		this.maxLength = maxLength;
+		this.formats = formats;
+		this.allowedCodes = allowedCodes;
+		this.attributes = attributes;
+		this.children = children;
+		this.childrenByName = childrenByName;
+	}
+
+	/**
+	 * 요소 로컬 이름
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 루트부터의 경로 (예: STR/Master/StartDate) - 오류 메시지에 사용
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * 부모 규칙의 자식 목록에서의 위치 (루트는 0)
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	public Occurrence getOccurrence() {
+		return occurrence;
+	}
+
+	/**
+	 * 필수 요소 여부 (required 값에 "required"가 포함된 경우)
+	 */
+	public boolean isRequired() {
+		return required;
+	}
+
+	/**
+	 * 텍스트 값이 필수인지 여부 (필수이면서 자식 요소 규칙이 없는 경우)
+	 */
+	public boolean isTextRequired() {
+		return textRequired;
+	}
+
+	/**
+	 * 텍스트 값을 검사하는 규칙(required, data_type, format)이 있는지 여부
+	 */
+	public boolean collectsText() {
+		return collectsText;
+	}
+
+	/**
+	 * data_type이 numeric(n) 또는 numeric(n,m)인지 여부
+	 */
+	public boolean isNumeric() {
+		return numeric;
+	}
+
+	/**
+	 * data_type이 숫자인 경우 최대 길이 (없으면 -1)
+	 */
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * 텍스트 값에 적용할 포맷 검사 목록 (검사 순서대로, 없으면 빈 목록)
+	 */
+	public List<Format> getFormats() {
+		return formats;
+	}
+
+	/**
+	 * Code 속성의 허용 코드 집합 (없으면 null)
+	 */
+	public CodeSet getAllowedCodes() {
+		return allowedCodes;
+	}
+
+	/**
+	 * 속성 규칙 목록 (없으면 빈 목록)
+	 */
+	public List<AttributeRule> getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * 자식 요소 규칙 목록 (없으면 빈 목록)
+	 */
+	public List<ElementRule> getChildren() {
+		return children;
+	}
+
+	/**
+	 * 이름으로 자식 요소 규칙을 찾습니다.
+	 * @return 자식 요소 규칙 (없으면 null)
+	 */
+	public ElementRule getChild(String childName) {
+		return childrenByName.get(childName);
+	}
+
+	@Override
+	public String toString() {
+		return "ElementRule[" + path + ", " + occurrence + (required ? ", required" : "") + "]";
+	}
+}
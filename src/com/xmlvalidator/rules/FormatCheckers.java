@@ -0,0 +1,167 @@
+package com.xmlvalidator.rules;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 값 형식 검사 함수 모음
+ * 규칙의 정규식은 {@link #compile(String)}으로 규칙 로드 시점에 한 번만 컴파일하고,
+ * 자주 쓰이는 형식(리터럴 나열, 숫자 n자리, YYYYMMDD, HHMISS, numeric(p,s))은 정규식 없이
+ * 문자를 직접 검사하여 검증 중에는 객체를 만들지 않습니다.
+ */
+public final class FormatCheckers {
+
+	// ^(BA|CA)$ 처럼 특수 문자가 없는 값의 나열
+	private static final Pattern LITERAL_ALTERNATION = Pattern.compile(
+			"\\^?(?:\\(([\\p{L}\\p{N}_ ]+(?:\\|[\\p{L}\\p{N}_ ]+)*)\\)|([\\p{L}\\p{N}_ ]+(?:\\|[\\p{L}\\p{N}_ ]+)*))\\$?");
+	// ^\d{6}$, ^[0-9]{2,4}$, ^\d+$ 형태의 숫자 형식
+	private static final Pattern DIGITS = Pattern.compile(
+			"\\^?(?:\\\\d|\\[0-9\\])(?:\\{(\\d{1,4})(?:,(\\d{1,4}))?\\}|(\\+))?\\$?");
+
+	private FormatCheckers() {
+	}
+
+	/**
+	 * 속성 format 정규식을 검사기로 컴파일합니다.
+	 * 값 전체 일치(Matcher.matches) 기준이며, 단순한 형식은 정규식 없이 직접 검사합니다.
+	 * @param regex 정규식
+	 * @return 검사기 (정규식 문법이 잘못되었으면 null)
+	 */
+	public static ValueChecker compile(String regex) {
+		Matcher literal = LITERAL_ALTERNATION.matcher(regex);
+		if (literal.matches()) {
+			String alternatives = literal.group(1) != null ? literal.group(1) : literal.group(2);
+			Set<String> values = new HashSet<>(Arrays.asList(alternatives.split("\\|")));
+			return values::contains;
+		}
+
+		Matcher digits = DIGITS.matcher(regex);
+		if (digits.matches()) {
+			int min;
+			int max;
+			if (digits.group(1) != null) {
+				min = Integer.parseInt(digits.group(1));
+				max = digits.group(2) != null ? Integer.parseInt(digits.group(2)) : min;
+			} else if (digits.group(3) != null) {
+				min = 1;
+				max = Integer.MAX_VALUE;
+			} else {
+				min = 1;
+				max = 1;
+			}
+			if (min <= max) {
+				int minLength = min;
+				int maxLength = max;
+				return value -> value.length() >= minLength && value.length() <= maxLength && isDigits(value);
+			}
+		}
+
+		try {
+			Pattern pattern = Pattern.compile(regex);
+			return value -> pattern.matcher(value).matches();
+		} catch (PatternSyntaxException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 모든 문자가 ASCII 숫자인지 확인합니다 (정규식 \d와 같음).
+	 */
+	public static boolean isDigits(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return !value.isEmpty();
+	}
+
+	/**
+	 * numeric(p,s) 값 형식인지 확인합니다 (정규식 -?\d+(\.\d+)?와 같음).
+	 */
+	public static boolean isDecimal(String value) {
+		int length = value.length();
+		int i = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+		int integerStart = i;
+		while (i < length && isDigit(value.charAt(i))) {
+			i++;
+		}
+		if (i == integerStart) {
+			return false;
+		}
+		if (i == length) {
+			return true;
+		}
+		if (value.charAt(i) != '.') {
+			return false;
+		}
+		int fractionStart = ++i;
+		while (i < length && isDigit(value.charAt(i))) {
+			i++;
+		}
+		return i == length && i > fractionStart;
+	}
+
+	/**
+	 * YYYYMMDD 형식(숫자 8자리)인지 확인합니다.
+	 */
+	public static boolean isDateFormat(String value) {
+		return value.length() == 8 && isDigits(value);
+	}
+
+	/**
+	 * YYYYMMDD 형식 값이 유효한 날짜 범위인지 확인합니다 (1900년 이후, 1~12월, 1~31일).
+	 * @param value {@link #isDateFormat(String)}을 통과한 값
+	 */
+	public static boolean isValidDate(String value) {
+		int year = digitsValue(value, 0, 4);
+		int month = digitsValue(value, 4, 6);
+		int day = digitsValue(value, 6, 8);
+		return year >= 1900 && month >= 1 && month <= 12 && day >= 1 && day <= 31;
+	}
+
+	/**
+	 * HHMISS 형식(숫자 6자리)인지 확인합니다.
+	 */
+	public static boolean isTimeFormat(String value) {
+		return value.length() == 6 && isDigits(value);
+	}
+
+	/**
+	 * HHMISS 형식 값이 유효한 시각인지 확인합니다 (0~23시, 0~59분, 0~59초).
+	 * @param value {@link #isTimeFormat(String)}을 통과한 값
+	 */
+	public static boolean isValidTime(String value) {
+		return digitsValue(value, 0, 2) <= 23 && digitsValue(value, 2, 4) <= 59 && digitsValue(value, 4, 6) <= 59;
+	}
+
+	/**
+	 * 금칙어 문자(&lt;, &gt;, ", ;)가 포함되어 있는지 확인합니다.
+	 */
+	public static boolean containsForbiddenChars(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '<' || c == '>' || c == '"' || c == ';') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static int digitsValue(String value, int start, int end) {
+		int result = 0;
+		for (int i = start; i < end; i++) {
+			result = result * 10 + (value.charAt(i) - '0');
+		}
+		return result;
+	}
+}
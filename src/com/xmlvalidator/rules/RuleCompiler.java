@@ -0,0 +1,261 @@
+package com.xmlvalidator.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * YAML 파서가 만든 Map 형태의 규칙을 불변 규칙 객체로 변환하는 클래스
+ * 규칙 파일을 로드할 때 한 번만 실행되며, 검증할 때 매번 하던 형 변환, 문자열 비교, 숫자 파싱을 여기서 미리 처리합니다.
+ * 자식/속성 규칙의 순서는 원본 Map의 순회 순서를 그대로 따르므로 오류 보고 순서는 변하지 않습니다.
+ */
+public final class RuleCompiler {
+
+	private final Map<String, Map<String, Object>> codeValues;
+	// code_ref -> 허용 값 집합 (같은 코드를 참조하는 속성끼리 공유)
+	private final Map<String, CodeSet> codeSets = new HashMap<>();
+
+	private RuleCompiler(Map<String, Map<String, Object>> codeValues) {
+		this.codeValues = codeValues;
+	}
+
+	/**
+	 * 규칙을 컴파일합니다.
+	 * @param rules 루트 요소 이름 -> 요소 규칙 Map ({@code YamlRuleParser.getRules()})
+	 * @param codeValues 코드 카테고리 -> 코드 값 Map (code_ref 해석용)
+	 * @return 컴파일된 규칙
+	 */
+	public static RuleSet compile(Map<String, Object> rules, Map<String, Map<String, Object>> codeValues) {
+		RuleCompiler compiler = new RuleCompiler(codeValues);
+		Map<String, ElementRule> roots = new HashMap<>();
+		for (Map.Entry<String, Object> entry : rules.entrySet()) {
+			// version 등 요소 규칙이 아닌 항목은 제외
+			Map<String, Object> rule = asMap(entry.getValue());
+			if (rule != null) {
+				roots.put(entry.getKey(), compiler.compileElement(entry.getKey(), entry.getKey(), 0, rule));
+			}
+		}
+		return new RuleSet(Collections.unmodifiableMap(roots));
+	}
+
+	private ElementRule compileElement(String name, String path, int index, Map<String, Object> rule) {
+		// 자식 요소 규칙 (경로는 부모 경로 + "/" + 자식 이름)
+		List<ElementRule> children = new ArrayList<>();
+		Map<String, ElementRule> childrenByName = new HashMap<>();
+		Map<String, Object> childrenRule = asMap(rule.get("children"));
+		if (childrenRule != null) {
+			for (Map.Entry<String, Object> entry : childrenRule.entrySet()) {
+				Map<String, Object> childRule = asMap(entry.getValue());
+				if (childRule == null) {
+					continue;
+				}
+				ElementRule child = compileElement(entry.getKey(), path + "/" + entry.getKey(), children.size(),
+						childRule);
+				children.add(child);
+				childrenByName.put(entry.getKey(), child);
+			}
+		}
+
+		// 속성 규칙
+		List<AttributeRule> attributes = new ArrayList<>();
+		Map<String, Object> attributesRule = asMap(rule.get("attributes"));
+		if (attributesRule != null) {
+			for (Map.Entry<String, Object> entry : attributesRule.entrySet()) {
+				AttributeRule attribute = compileAttribute(entry.getKey(), entry.getValue());
+				if (attribute != null) {
+					attributes.add(attribute);
+				}
+			}
+		}
+
+		String required = asString(rule.get("required"));
+		boolean isRequired = required != null && required.contains("required")
+				|| "required".equalsIgnoreCase(required);
+
+		// 데이터 타입: numeric(n) / numeric(n,m)은 숫자 형식, 숫자만 있으면 최대 길이
+		String dataType = asString(rule.get("data_type"));
+		boolean numeric = false;
+		int maxLength = -1;
+		if (dataType != null && !dataType.isEmpty()) {
+			numeric = isNumericType(dataType);
+			if (dataType.matches("\\d+")) {
+				maxLength = parseLength(dataType);
+			}
+		}
+
+		List<ElementRule.Format> formats = compileFormats(asString(rule.get("format")));
+
+		List<String> allowedCodeList = asStringList(rule.get("allowed_codes"));
+		CodeSet allowedCodes = allowedCodeList != null ? new CodeSet(allowedCodeList) : null;
+
+		// 텍스트 값을 검사하는 규칙이 있을 때만 텍스트를 모음
+		boolean collectsText = rule.get("required") != null || rule.get("data_type") != null
+				|| rule.get("format") != null;
+
+		return new ElementRule(name, path, index, compileOccurrence(asString(rule.get("occurrence"))), isRequired,
+				collectsText, numeric, maxLength, formats, allowedCodes, Collections.unmodifiableList(attributes),
+				Collections.unmodifiableList(children), childrenByName);
+	}
+
+	/**
+	 * 요소 format 값에 포함된 포맷 키워드를 검사 순서대로 나열합니다.
+	 */
+	private static List<ElementRule.Format> compileFormats(String format) {
+		if (format == null || format.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<ElementRule.Format> formats = new ArrayList<>();
+		if (format.contains("YYYYMMDD")) {
+			formats.add(ElementRule.Format.DATE);
+		}
+		if (format.contains("HHMISS")) {
+			formats.add(ElementRule.Format.TIME);
+		}
+		if (format.contains("금칙어")) {
+			formats.add(ElementRule.Format.FORBIDDEN_CHARS);
+		}
+		if (format.contains("1에서5사이")) {
+			formats.add(ElementRule.Format.RANGE_1_TO_5);
+		}
+		return Collections.unmodifiableList(formats);
+	}
+
+	private static ElementRule.Occurrence compileOccurrence(String occurrence) {
+		if (occurrence == null || occurrence.equals("1")) {
+			return ElementRule.Occurrence.EXACTLY_ONE;
+		} else if (occurrence.equals("0..1")) {
+			return ElementRule.Occurrence.OPTIONAL;
+		} else if (occurrence.equals("1..n")) {
+			return ElementRule.Occurrence.ONE_OR_MORE;
+		}
+		return ElementRule.Occurrence.ANY;
+	}
+
+	/**
+	 * numeric(n) 또는 numeric(n,m) 형식이고 n이 숫자인지 확인합니다.
+	 */
+	private static boolean isNumericType(String dataType) {
+		if (!dataType.startsWith("numeric") || !dataType.contains("(")) {
+			return false;
+		}
+		try {
+			String params = dataType.substring(dataType.indexOf("(") + 1, dataType.indexOf(")"));
+			Integer.parseInt(params.split(",")[0].trim());
+			return true;
+		} catch (Exception e) {
+			// 파싱할 수 없는 타입은 검사하지 않음
+			return false;
+		}
+	}
+
+	private AttributeRule compileAttribute(String name, Object attrRule) {
+		if (attrRule instanceof String) {
+			// 고정 값
+			return new AttributeRule(name, (String) attrRule, AttributeRule.Type.OTHER, false, null, null, null,
+					null, -1, -1, -1);
+		}
+		Map<String, Object> rule = asMap(attrRule);
+		if (rule == null) {
+			return null;
+		}
+
+		Object requiredObj = rule.get("required");
+		boolean required = false;
+		if (requiredObj != null) {
+			String requiredStr = requiredObj.toString();
+			required = "true".equalsIgnoreCase(requiredStr) || "required".equalsIgnoreCase(requiredStr)
+					|| "1".equals(requiredStr);
+		}
+
+		String typeName = asString(rule.get("type"));
+		AttributeRule.Type type;
+		if ("enum".equals(typeName)) {
+			type = AttributeRule.Type.ENUM;
+		} else if ("fixed_length".equals(typeName)) {
+			type = AttributeRule.Type.FIXED_LENGTH;
+		} else if ("max_length".equals(typeName)) {
+			type = AttributeRule.Type.MAX_LENGTH;
+		} else {
+			type = AttributeRule.Type.OTHER;
+		}
+
+		String codeRef = null;
+		CodeSet allowedValues = null;
+		String format = null;
+		ValueChecker formatChecker = null;
+		if (type == AttributeRule.Type.ENUM) {
+			codeRef = asString(rule.get("code_ref"));
+			if (codeRef != null && codeRef.isEmpty()) {
+				codeRef = null;
+			}
+			// code_ref가 있으면 code_values의 코드 값을 허용 값으로 사용
+			Map<String, Object> codeCategory = codeRef != null && codeValues != null ? codeValues.get(codeRef) : null;
+			if (codeCategory != null) {
+				allowedValues = codeCategory.isEmpty() ? null
+						: codeSets.computeIfAbsent(codeRef, key -> new CodeSet(codeCategory.keySet()));
+			} else {
+				List<String> allowedValueList = asStringList(rule.get("allowed_values"));
+				allowedValues = allowedValueList != null ? new CodeSet(allowedValueList) : null;
+			}
+		} else {
+			format = asString(rule.get("format"));
+			if (format != null && format.isEmpty()) {
+				format = null;
+			}
+			if (format != null) {
+				// 정규식은 여기서 한 번만 컴파일 (잘못된 정규식은 이전과 같이 검사하지 않음)
+				formatChecker = FormatCheckers.compile(format);
+				if (formatChecker == null) {
+					System.err.println("속성 " + name + "의 형식 정규식이 잘못되어 무시합니다: " + format);
+				}
+			}
+		}
+
+		return new AttributeRule(name, null, type, required, codeRef, allowedValues, format, formatChecker,
+				parseLength(rule.get("length")), parseLength(rule.get("min_length")),
+				parseLength(rule.get("max_length")));
+	}
+
+	/**
+	 * 길이 값을 정수로 변환합니다.
+	 * @return 길이 (지정되지 않았거나 숫자가 아니면 -1)
+	 */
+	private static int parseLength(Object value) {
+		if (value == null) {
+			return -1;
+		}
+		try {
+			int length = Integer.parseInt(value.toString());
+			return length >= 0 ? length : -1;
+		} catch (NumberFormatException e) {
+			System.err.println("규칙의 길이 값이 숫자가 아니므로 무시합니다: " + value);
+			return -1;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asMap(Object value) {
+		return value instanceof Map ? (Map<String, Object>) value : null;
+	}
+
+	private static String asString(Object value) {
+		return value instanceof String ? (String) value : null;
+	}
+
+	/**
+	 * 문자열 목록을 불변 목록으로 복사합니다.
+	 * @return 목록 (없거나 비어 있으면 null)
+	 */
+	private static List<String> asStringList(Object value) {
+		if (!(value instanceof List) || ((List<?>) value).isEmpty()) {
+			return null;
+		}
+		List<String> values = new ArrayList<>();
+		for (Object item : (List<?>) value) {
+			values.add(String.valueOf(item));
+		}
+		return Collections.unmodifiableList(values);
+	}
+}
@@ -0,0 +1,39 @@
+package com.xmlvalidator.rules;
+
+import java.util.Map;
+
+/**
+ * 컴파일된 규칙 전체 (루트 요소 이름 -> 요소 규칙 트리, 불변)
+ * 규칙 파일을 로드할 때 한 번 만들어지며 여러 검증 스레드가 함께 사용해도 안전합니다.
+ */
+public final class RuleSet {
+
+	private final Map<String, ElementRule> roots;
+
+	RuleSet(Map<String, ElementRule> roots) {
+		this.roots = roots;
+	}
+
+	/**
+	 * 루트 요소 이름으로 규칙을 찾습니다.
+	 * @param rootElementName 루트 요소의 로컬 이름 (예: STR)
+	 * @return 요소 규칙 (정의되지 않았으면 null)
+	 */
+	public ElementRule getRootRule(String rootElementName) {
+		return roots.get(rootElementName);
+	}
+
+	/**
+	 * 정의된 루트 요소 규칙 수를 반환합니다.
+	 */
+	public int size() {
+		return roots.size();
+	}
+
+	/**
+	 * 루트 요소 이름 -> 요소 규칙 전체 (스냅샷 저장용)
+	 */
+	Map<String, ElementRule> getRoots() {
+		return roots;
+	}
+}
@@ -0,0 +1,351 @@
+package com.xmlvalidator.rules;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 컴파일된 규칙({@link RuleSet})을 YAML 파일 옆에 저장하는 바이너리 스냅샷
+ * 스냅샷에는 원본 YAML 내용의 해시와 크기, 저장한 검증기 버전이 들어 있어 YAML이 바뀌거나
+ * 플러그인을 다시 빌드/업그레이드하면(규칙 컴파일 로직이 바뀌었을 수 있으므로) 사용하지 않습니다.
+ * 열 때는 파일을 읽고 헤더와 CRC만 확인하며, 규칙 트리는 {@link #decode()}를 호출할 때 만듭니다.
+ * 파일을 매핑하지 않으므로 YAML이 바뀌었을 때 (Windows에서도) 스냅샷을 바로 교체할 수 있습니다.
+ *
+ * 파일 구조: [헤더: 매직, 형식 버전, YAML 해시, YAML 크기, 본문 길이, CRC32, 검증기 버전 길이, 검증기 버전] [본문]
+ * 본문: [코드 집합 목록] [루트 요소 규칙 목록]
+ * 같은 code_ref를 참조하는 속성이 코드 집합을 공유하도록 코드 집합은 한 번만 저장하고 번호로 참조합니다.
+ */
+public final class RuleSetSnapshot {
+
+	private static final int MAGIC = 0x58565231;  // "XVR1"
+	// 본문 형식이 바뀌면 올려서 이전 스냅샷을 버림 (규칙 컴파일 로직 변경은 검증기 버전으로 판단)
+	private static final int FORMAT_VERSION = 2;
+	// 고정 길이 부분 (그 뒤에 검증기 버전 UTF-8 바이트)
+	private static final int HEADER_FIXED_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 2;
+	private static final String FILE_SUFFIX = ".ruleset.bin";
+
+	private static final ElementRule.Occurrence[] OCCURRENCES = ElementRule.Occurrence.values();
+	private static final ElementRule.Format[] FORMATS = ElementRule.Format.values();
+	private static final AttributeRule.Type[] ATTRIBUTE_TYPES = AttributeRule.Type.values();
+
+	private final ByteBuffer payload;
+
+	private RuleSetSnapshot(ByteBuffer payload) {
+		this.payload = payload;
+	}
+
+	/**
+	 * YAML 규칙 파일에 대응하는 스냅샷 파일 (같은 폴더, 이름 + .ruleset.bin)
+	 */
+	public static File fileFor(File yamlFile) {
+		return new File(yamlFile.getPath() + FILE_SUFFIX);
+	}
+
+	/**
+	 * 스냅샷 파일을 읽어서 엽니다.
+	 * @param snapshotFile 스냅샷 파일
+	 * @param validatorVersion 검증기 버전 (플러그인 번들 버전, 저장할 때와 다르면 사용하지 않음)
+	 * @param sourceHash 현재 YAML 내용의 해시
+	 * @param sourceLength 현재 YAML 파일 크기
+	 * @return 스냅샷 (파일이 없거나, YAML이나 검증기 버전이 바뀌었거나, 형식이 다르거나, 손상되었으면 null)
+	 * @throws IOException 파일 읽기 오류
+	 */
+	public static RuleSetSnapshot open(File snapshotFile, String validatorVersion, long sourceHash,
+			long sourceLength) throws IOException {
+		if (!snapshotFile.isFile()) {
+			return null;
+		}
+		byte[] version = versionBytes(validatorVersion);
+		int headerBytes = HEADER_FIXED_BYTES + version.length;
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < headerBytes || size > Integer.MAX_VALUE) {
+				return null;
+			}
+			buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0) {
+					return null;
+				}
+			}
+		}
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+				|| buffer.getLong(8) != sourceHash || buffer.getLong(16) != sourceLength) {
+			return null;
+		}
+		if ((buffer.getShort(32) & 0xFFFF) != version.length
+				|| !Arrays.equals(Arrays.copyOfRange(buffer.array(), HEADER_FIXED_BYTES, headerBytes), version)) {
+			System.out.println("검증기 버전이 바뀌어 규칙 스냅샷을 사용하지 않습니다: " + snapshotFile.getAbsolutePath());
+			return null;
+		}
+		int payloadLength = buffer.getInt(24);
+		if (payloadLength < 0 || headerBytes + (long) payloadLength != buffer.capacity()) {
+			return null;
+		}
+		buffer.position(headerBytes);
+		ByteBuffer payload = buffer.slice();
+		if (crc(payload) != buffer.getInt(28)) {
+			System.err.println("손상된 규칙 스냅샷 무시: " + snapshotFile.getAbsolutePath());
+			return null;
+		}
+		return new RuleSetSnapshot(payload);
+	}
+
+	/**
+	 * 컴파일된 규칙을 스냅샷 파일로 저장합니다.
+	 * 임시 파일에 쓴 뒤 교체하므로 다른 프로세스가 쓰다 만 스냅샷을 읽지 않습니다.
+	 * @param snapshotFile 스냅샷 파일
+	 * @param validatorVersion 검증기 버전 (플러그인 번들 버전)
+	 * @param ruleSet 컴파일된 규칙
+	 * @param sourceHash YAML 내용의 해시
+	 * @param sourceLength YAML 파일 크기
+	 * @throws IOException 파일 쓰기 오류
+	 */
+	public static void write(File snapshotFile, String validatorVersion, RuleSet ruleSet, long sourceHash,
+			long sourceLength) throws IOException {
+		byte[] body = encode(ruleSet);
+		byte[] version = versionBytes(validatorVersion);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_FIXED_BYTES + version.length);
+		header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(sourceHash).putLong(sourceLength)
+				.putInt(body.length).putInt(crc(ByteBuffer.wrap(body)))
+				.putShort((short) version.length).put(version);
+		header.flip();
+
+		File temp = new File(snapshotFile.getPath() + ".tmp");
+		try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer record = ByteBuffer.wrap(body);
+			while (header.hasRemaining()) {
+				out.write(header);
+			}
+			while (record.hasRemaining()) {
+				out.write(record);
+			}
+			out.force(false);
+		}
+		Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static byte[] versionBytes(String validatorVersion) {
+		byte[] version = (validatorVersion != null ? validatorVersion : "").getBytes(StandardCharsets.UTF_8);
+		return version.length > 0xFFFF ? Arrays.copyOf(version, 0xFFFF) : version;
+	}
+
+	/**
+	 * 읽어 둔 본문에서 규칙 트리를 만듭니다.
+	 * 형식 검사기(정규식)는 저장하지 않으므로 여기서 다시 컴파일합니다.
+	 * @throws IllegalStateException 본문 형식이 잘못된 경우
+	 */
+	public RuleSet decode() {
+		ByteBuffer in = payload.duplicate();
+		try {
+			int codeSetCount = in.getInt();
+			List<CodeSet> codeSets = new ArrayList<>(codeSetCount);
+			for (int i = 0; i < codeSetCount; i++) {
+				String displayText = readString(in);
+				int valueCount = in.getInt();
+				List<String> values = new ArrayList<>(valueCount);
+				for (int j = 0; j < valueCount; j++) {
+					values.add(readString(in));
+				}
+				codeSets.add(new CodeSet(values, displayText));
+			}
+
+			int rootCount = in.getInt();
+			Map<String, ElementRule> roots = new HashMap<>();
+			for (int i = 0; i < rootCount; i++) {
+				String name = readString(in);
+				roots.put(name, readElement(in, name, name, 0, codeSets));
+			}
+			return new RuleSet(Collections.unmodifiableMap(roots));
+		} catch (RuntimeException e) {
+			throw new IllegalStateException("규칙 스냅샷 형식 오류: " + e, e);
+		}
+	}
+
+	private static ElementRule readElement(ByteBuffer in, String name, String path, int index,
+			List<CodeSet> codeSets) {
+		ElementRule.Occurrence occurrence = OCCURRENCES[in.get()];
+		byte flags = in.get();
+		int maxLength = in.getInt();
+
+		int formatCount = in.get();
+		List<ElementRule.Format> formats;
+		if (formatCount == 0) {
+			formats = Collections.emptyList();
+		} else {
+			formats = new ArrayList<>(formatCount);
+			for (int i = 0; i < formatCount; i++) {
+				formats.add(FORMATS[in.get()]);
+			}
+			formats = Collections.unmodifiableList(formats);
+		}
+		CodeSet allowedCodes = codeSet(codeSets, in.getInt());
+
+		int attributeCount = in.getInt();
+		List<AttributeRule> attributes = new ArrayList<>(attributeCount);
+		for (int i = 0; i < attributeCount; i++) {
+			attributes.add(readAttribute(in, codeSets));
+		}
+
+		// 경로는 저장하지 않고 RuleCompiler와 같이 부모 경로 + "/" + 자식 이름으로 만듦
+		int childCount = in.getInt();
+		List<ElementRule> children = new ArrayList<>(childCount);
+		Map<String, ElementRule> childrenByName = new HashMap<>();
+		for (int i = 0; i < childCount; i++) {
+			String childName = readString(in);
+			ElementRule child = readElement(in, childName, path + "/" + childName, i, codeSets);
+			children.add(child);
+			childrenByName.put(childName, child);
+		}
+
+		return new ElementRule(name, path, index, occurrence, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0,
+				maxLength, formats, allowedCodes, Collections.unmodifiableList(attributes),
+				Collections.unmodifiableList(children), childrenByName);
+	}
+
+	private static AttributeRule readAttribute(ByteBuffer in, List<CodeSet> codeSets) {
+		String name = readString(in);
+		String fixedValue = readString(in);
+		AttributeRule.Type type = ATTRIBUTE_TYPES[in.get()];
+		boolean required = in.get() != 0;
+		String codeRef = readString(in);
+		CodeSet allowedValues = codeSet(codeSets, in.getInt());
+		String format = readString(in);
+		ValueChecker formatChecker = format != null ? FormatCheckers.compile(format) : null;
+		int length = in.getInt();
+		int minLength = in.getInt();
+		int maxLength = in.getInt();
+		return new AttributeRule(name, fixedValue, type, required, codeRef, allowedValues, format, formatChecker,
+				length, minLength, maxLength);
+	}
+
+	private static CodeSet codeSet(List<CodeSet> codeSets, int index) {
+		return index >= 0 ? codeSets.get(index) : null;
+	}
+
+	private static byte[] encode(RuleSet ruleSet) throws IOException {
+		// 코드 집합 번호 (같은 객체는 같은 번호)
+		Map<CodeSet, Integer> codeSetIndex = new IdentityHashMap<>();
+		List<CodeSet> codeSets = new ArrayList<>();
+		for (ElementRule root : ruleSet.getRoots().values()) {
+			collectCodeSets(root, codeSetIndex, codeSets);
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(codeSets.size());
+		for (CodeSet codeSet : codeSets) {
+			writeString(out, codeSet.toString());
+			out.writeInt(codeSet.size());
+			for (String value : codeSet.getValues()) {
+				writeString(out, value);
+			}
+		}
+
+		out.writeInt(ruleSet.getRoots().size());
+		for (Map.Entry<String, ElementRule> entry : ruleSet.getRoots().entrySet()) {
+			writeString(out, entry.getKey());
+			writeElement(out, entry.getValue(), codeSetIndex);
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static void collectCodeSets(ElementRule rule, Map<CodeSet, Integer> codeSetIndex, List<CodeSet> codeSets) {
+		addCodeSet(rule.getAllowedCodes(), codeSetIndex, codeSets);
+		for (AttributeRule attribute : rule.getAttributes()) {
+			addCodeSet(attribute.getAllowedValues(), codeSetIndex, codeSets);
+		}
+		for (ElementRule child : rule.getChildren()) {
+			collectCodeSets(child, codeSetIndex, codeSets);
+		}
+	}
+
+	private static void addCodeSet(CodeSet codeSet, Map<CodeSet, Integer> codeSetIndex, List<CodeSet> codeSets) {
+		if (codeSet != null && !codeSetIndex.containsKey(codeSet)) {
+			codeSetIndex.put(codeSet, codeSets.size());
+			codeSets.add(codeSet);
+		}
+	}
+
+	private static void writeElement(DataOutputStream out, ElementRule rule, Map<CodeSet, Integer> codeSetIndex)
+			throws IOException {
+		out.writeByte(rule.getOccurrence().ordinal());
+		out.writeByte((rule.isRequired() ? 1 : 0) | (rule.collectsText() ? 2 : 0) | (rule.isNumeric() ? 4 : 0));
+		out.writeInt(rule.getMaxLength());
+		out.writeByte(rule.getFormats().size());
+		for (ElementRule.Format format : rule.getFormats()) {
+			out.writeByte(format.ordinal());
+		}
+		out.writeInt(indexOf(rule.getAllowedCodes(), codeSetIndex));
+
+		out.writeInt(rule.getAttributes().size());
+		for (AttributeRule attribute : rule.getAttributes()) {
+			writeString(out, attribute.getName());
+			writeString(out, attribute.getFixedValue());
+			out.writeByte(attribute.getType().ordinal());
+			out.writeByte(attribute.isRequired() ? 1 : 0);
+			writeString(out, attribute.getCodeRef());
+			out.writeInt(indexOf(attribute.getAllowedValues(), codeSetIndex));
+			writeString(out, attribute.getFormat());
+			out.writeInt(attribute.getLength());
+			out.writeInt(attribute.getMinLength());
+			out.writeInt(attribute.getMaxLength());
+		}
+
+		out.writeInt(rule.getChildren().size());
+		for (ElementRule child : rule.getChildren()) {
+			writeString(out, child.getName());
+			writeElement(out, child, codeSetIndex);
+		}
+	}
+
+	private static int indexOf(CodeSet codeSet, Map<CodeSet, Integer> codeSetIndex) {
+		return codeSet != null ? codeSetIndex.get(codeSet) : -1;
+	}
+
+	// 문자열: [UTF-8 바이트 길이 (null이면 -1)][UTF-8 바이트]
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int crc(ByteBuffer content) {
+		CRC32 crc = new CRC32();
+		crc.update(content.duplicate());
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,15 @@
+package com.xmlvalidator.rules;
+
+/**
+ * 규칙 로드 시점에 컴파일된 값 형식 검사기
+ * 구현은 상태가 없으므로 여러 검증 스레드가 함께 사용해도 안전합니다.
+ */
+public interface ValueChecker {
+
+	/**
+	 * 값 전체가 형식과 일치하는지 확인합니다.
+	 * @param value 검사할 값 (null 아님)
+	 * @return 일치하면 true
+	 */
+	boolean matches(String value);
+}
@@ -0,0 +1,105 @@
+package com.xmlvalidator.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일 내용의 64비트 해시를 계산하는 클래스 (검증 결과 캐시 키용)
+ * 내용을 8바이트씩 읽어서 섞는 xxHash64 방식의 단일 레인 해시이므로
+ * 파싱보다 훨씬 빠르고, 수정 시간이 아니라 내용이 같을 때만 같은 값이 나옵니다.
+ * 파일은 매핑하지 않고 스레드별로 재사용하는 버퍼에 나눠 읽으므로 (Windows에서) 해시 계산 후 파일이 잠기지 않습니다.
+ * 암호학적 해시가 아니므로 변조 검출 용도로는 사용하지 않습니다.
+ */
+public final class ContentHash {
+
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+	// 파일을 나눠 읽는 단위 (8의 배수여야 마지막 조각에서만 8바이트 미만이 남음)
+	private static final int READ_BUFFER_BYTES = 64 * 1024;
+	private static final ThreadLocal<ByteBuffer> READ_BUFFER = ThreadLocal.withInitial(
+			() -> ByteBuffer.allocate(READ_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN));
+
+	private ContentHash() {
+	}
+
+	/**
+	 * 파일 내용의 해시를 계산합니다 (같은 내용의 {@link #hash(ByteBuffer)}와 같은 값).
+	 * @param file 대상 파일
+	 * @throws IOException 파일 읽기 오류, 또는 읽는 도중 파일이 짧아진 경우
+	 */
+	public static long hash(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			ByteBuffer buffer = READ_BUFFER.get();
+			long h = PRIME5 + size;
+			long remaining = size;
+			while (remaining > 0) {
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), remaining));
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) {
+						throw new IOException("파일을 읽는 도중 크기가 바뀌었습니다: " + file.getAbsolutePath());
+					}
+				}
+				int end = buffer.position();
+				remaining -= end;
+				int pos = 0;
+				for (; pos + 8 <= end; pos += 8) {
+					h = mixWord(h, buffer.getLong(pos));
+				}
+				for (; pos < end; pos++) {
+					h = mixByte(h, buffer.get(pos));
+				}
+			}
+			return finish(h);
+		}
+	}
+
+	/**
+	 * 바이트 버퍼의 position부터 limit까지의 해시를 계산합니다 (버퍼 위치는 바뀌지 않음).
+	 */
+	public static long hash(ByteBuffer content) {
+		ByteBuffer buffer = content.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int pos = buffer.position();
+		int end = buffer.limit();
+		long h = PRIME5 + (end - pos);
+
+		for (; pos + 8 <= end; pos += 8) {
+			h = mixWord(h, buffer.getLong(pos));
+		}
+		for (; pos < end; pos++) {
+			h = mixByte(h, buffer.get(pos));
+		}
+		return finish(h);
+	}
+
+	private static long mixWord(long h, long word) {
+		long k = word * PRIME2;
+		k = Long.rotateLeft(k, 31) * PRIME1;
+		h ^= k;
+		return Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+	}
+
+	private static long mixByte(long h, byte b) {
+		h ^= (b & 0xFFL) * PRIME5;
+		return Long.rotateLeft(h, 11) * PRIME1;
+	}
+
+	// 최종 섞기
+	private static long finish(long h) {
+		h ^= h >>> 33;
+		h *= PRIME2;
+		h ^= h >>> 29;
+		h *= PRIME3;
+		h ^= h >>> 32;
+		return h;
+	}
+}
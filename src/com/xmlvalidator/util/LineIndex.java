@@ -0,0 +1,273 @@
+package com.xmlvalidator.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 파일의 라인 시작 위치(바이트 오프셋) 인덱스
+ * 파일 내용을 한 번 스캔하여 줄바꿈 위치만 int 배열에 기록하므로
+ * 라인 수에 제한이 없고, 라인 텍스트는 실제로 필요할 때만 해당 구간을 디코딩합니다.
+ * 줄바꿈은 XML 파서와 동일하게 LF, CRLF, 단독 CR을 모두 한 줄로 계산합니다.
+ * ASCII 호환 인코딩은 바이트 단위로, UTF-16은 2바이트 단위로 스캔하며, 첫 라인은 파서와 같이 BOM 다음부터 시작합니다.
+ */
+public class LineIndex {
+
+	private static final byte[] ASCII_PROBE = "\n\r<>".getBytes(StandardCharsets.US_ASCII);
+
+	private final ByteBuffer content;
+	private final int[] lineStarts;  // 라인 번호(1부터) - 1 -> 라인 시작 바이트 오프셋
+	private final int lineCount;
+	private final Charset charset;  // 라인 구간 디코딩용 (UTF-16은 바이트 순서를 정한 인코딩)
+	private final int unitBytes;  // 줄바꿈 문자 하나의 바이트 수 (1 또는 2)
+	private final boolean bigEndian;
+
+	private LineIndex(ByteBuffer content, int[] lineStarts, int lineCount, Charset charset, int unitBytes,
+			boolean bigEndian) {
+		this.content = content;
+		this.lineStarts = lineStarts;
+		this.lineCount = lineCount;
+		this.charset = charset;
+		this.unitBytes = unitBytes;
+		this.bigEndian = bigEndian;
+	}
+
+	/**
+	 * 라인 인덱스를 만들 수 있는 인코딩인지 확인합니다.
+	 * 줄바꿈과 태그 문자가 ASCII와 같은 바이트인 인코딩과 UTF-16만 지원하며,
+	 * 그 밖의 인코딩은 파서가 알려준 위치를 그대로 사용해야 합니다.
+	 * @param charset 파일 인코딩
+	 */
+	public static boolean supports(Charset charset) {
+		return isUtf16(charset) || isAsciiCompatible(charset);
+	}
+
+	/**
+	 * 파일을 읽어서 UTF-8 파일의 라인 인덱스를 만듭니다.
+	 * @param file 대상 파일 (2GB 미만)
+	 * @return 라인 인덱스
+	 * @throws IOException 파일 읽기 오류
+	 */
+	public static LineIndex build(File file) throws IOException {
+		return build(file, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 파일 전체를 힙 버퍼로 읽어서 라인 인덱스를 만듭니다.
+	 * 매핑하지 않으므로 인덱스가 남아 있어도 (Windows에서) 편집기가 파일을 저장할 수 있습니다.
+	 * @param file 대상 파일 (2GB 미만)
+	 * @param charset 파일 인코딩 ({@link #supports(Charset)}가 true인 인코딩)
+	 * @return 라인 인덱스
+	 * @throws IOException 파일 읽기 오류
+	 */
+	public static LineIndex build(File file, Charset charset) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("파일이 너무 큽니다: " + file.getAbsolutePath() + " (" + size + " bytes)");
+			}
+			ByteBuffer content = ByteBuffer.allocate((int) size);
+			while (content.hasRemaining()) {
+				if (channel.read(content) < 0) {
+					break;
+				}
+			}
+			content.flip();
+			return build(content, charset);
+		}
+	}
+
+	/**
+	 * 바이트 버퍼(전체 내용)로 UTF-8 파일의 라인 인덱스를 만듭니다.
+	 */
+	public static LineIndex build(ByteBuffer content) {
+		return build(content, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 바이트 버퍼(전체 내용)로 라인 인덱스를 만듭니다.
+	 * EUC-KR, UTF-8 모두 멀티바이트 문자에 0x0A/0x0D 바이트가 나오지 않으므로 디코딩 없이 스캔하고,
+	 * UTF-16은 BOM(없으면 지정한 인코딩)으로 정한 바이트 순서로 2바이트씩 읽어서 스캔합니다.
+	 * @param content 파일 내용
+	 * @param charset 파일 인코딩 ({@link #supports(Charset)}가 true인 인코딩)
+	 * @throws IllegalArgumentException 지원하지 않는 인코딩
+	 */
+	public static LineIndex build(ByteBuffer content, Charset charset) {
+		if (isUtf16(charset)) {
+			return buildUtf16(content, charset);
+		}
+		if (!isAsciiCompatible(charset)) {
+			throw new IllegalArgumentException("라인 인덱스를 만들 수 없는 인코딩입니다: " + charset.name());
+		}
+
+		int length = content.limit();
+		int[] lineStarts = new int[Math.max(16, length / 32)];
+		int lineCount = 1;
+		// UTF-8 BOM은 파서가 위치를 계산할 때 건너뛰므로 첫 라인에서 제외
+		boolean bom = length >= 3 && content.get(0) == (byte) 0xEF && content.get(1) == (byte) 0xBB 
+				&& content.get(2) == (byte) 0xBF;
+		lineStarts[0] = bom ? 3 : 0;
+
+		for (int i = 0; i < length; i++) {
+			byte b = content.get(i);
+			if (b != '\n' && b != '\r') {
+				continue;
+			}
+			// CRLF는 LF에서 한 번만 계산
+			if (b == '\r' && i + 1 < length && content.get(i + 1) == '\n') {
+				continue;
+			}
+			if (lineCount == lineStarts.length) {
+				lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+			}
+			lineStarts[lineCount++] = i + 1;
+		}
+
+		return new LineIndex(content, lineStarts, lineCount, charset, 1, true);
+	}
+
+	/**
+	 * UTF-16 내용을 2바이트 단위로 스캔합니다.
+	 * 서로게이트 쌍의 각 단위는 0x000A/0x000D가 될 수 없으므로 단위별로 비교하면 충분합니다.
+	 */
+	private static LineIndex buildUtf16(ByteBuffer content, Charset charset) {
+		int length = content.limit();
+		int b0 = length >= 2 ? content.get(0) & 0xFF : -1;
+		int b1 = length >= 2 ? content.get(1) & 0xFF : -1;
+		boolean bom = (b0 == 0xFE && b1 == 0xFF) || (b0 == 0xFF && b1 == 0xFE);
+		// BOM이 있으면 BOM을, 없으면 인코딩 이름을 따름 (바이트 순서를 정하지 않은 UTF-16의 기본값은 빅 엔디언)
+		boolean bigEndian = bom ? b0 == 0xFE : !charset.equals(StandardCharsets.UTF_16LE);
+
+		int[] lineStarts = new int[Math.max(16, length / 64)];
+		int lineCount = 1;
+		lineStarts[0] = bom ? 2 : 0;
+
+		for (int i = lineStarts[0]; i + 1 < length; i += 2) {
+			int unit = unitAt(content, i, bigEndian);
+			if (unit != '\n' && unit != '\r') {
+				continue;
+			}
+			// CRLF는 LF에서 한 번만 계산
+			if (unit == '\r' && i + 3 < length && unitAt(content, i + 2, bigEndian) == '\n') {
+				continue;
+			}
+			if (lineCount == lineStarts.length) {
+				lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+			}
+			lineStarts[lineCount++] = i + 2;
+		}
+
+		return new LineIndex(content, lineStarts, lineCount, 
+				bigEndian ? StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE, 2, bigEndian);
+	}
+
+	/**
+	 * 전체 라인 수를 반환합니다.
+	 */
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * 라인의 시작 바이트 오프셋을 반환합니다.
+	 * @param lineNumber 라인 번호 (1부터 시작)
+	 */
+	public int getLineStart(int lineNumber) {
+		checkLine(lineNumber);
+		return lineStarts[lineNumber - 1];
+	}
+
+	/**
+	 * 바이트 오프셋이 속한 라인 번호를 이진 탐색으로 찾습니다.
+	 * @param offset 바이트 오프셋
+	 * @return 라인 번호 (1부터 시작)
+	 */
+	public int getLineNumber(int offset) {
+		int low = 0;
+		int high = lineCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineStarts[mid] <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low + 1;
+	}
+
+	/**
+	 * 바이트 오프셋의 컬럼 번호(문자 단위, 1부터 시작)를 계산합니다.
+	 * 라인 시작부터 오프셋까지만 디코딩합니다.
+	 * @param offset 바이트 오프셋
+	 */
+	public int getColumnNumber(int offset) {
+		int lineStart = lineStarts[getLineNumber(offset) - 1];
+		return decode(lineStart, offset).length() + 1;
+	}
+
+	/**
+	 * 라인 텍스트를 디코딩하여 반환합니다 (줄바꿈 문자 제외).
+	 * @param lineNumber 라인 번호 (1부터 시작)
+	 */
+	public String getLineText(int lineNumber) {
+		checkLine(lineNumber);
+		int start = lineStarts[lineNumber - 1];
+		int end = lineNumber < lineCount ? lineStarts[lineNumber] : content.limit();
+		// 홀수 길이 UTF-16 파일의 마지막 바이트는 문자가 아님
+		end -= (end - start) % unitBytes;
+		// 줄바꿈 문자(LF, CRLF, CR) 제거
+		if (end > start && unitAt(end - unitBytes) == '\n') {
+			end -= unitBytes;
+		}
+		if (end > start && unitAt(end - unitBytes) == '\r') {
+			end -= unitBytes;
+		}
+		return decode(start, end);
+	}
+
+	private int unitAt(int offset) {
+		return unitBytes == 1 ? content.get(offset) & 0xFF : unitAt(content, offset, bigEndian);
+	}
+
+	private static int unitAt(ByteBuffer content, int offset, boolean bigEndian) {
+		int high = content.get(bigEndian ? offset : offset + 1) & 0xFF;
+		int low = content.get(bigEndian ? offset + 1 : offset) & 0xFF;
+		return high << 8 | low;
+	}
+
+	private static boolean isUtf16(Charset charset) {
+		return charset.equals(StandardCharsets.UTF_16) || charset.equals(StandardCharsets.UTF_16BE)
+				|| charset.equals(StandardCharsets.UTF_16LE);
+	}
+
+	/**
+	 * 줄바꿈과 태그 문자를 ASCII와 같은 바이트로 인코딩하는지 확인합니다 (UTF-8, EUC-KR 등).
+	 */
+	private static boolean isAsciiCompatible(Charset charset) {
+		return charset.canEncode() && Arrays.equals("\n\r<>".getBytes(charset), ASCII_PROBE);
+	}
+
+	private String decode(int start, int end) {
+		ByteBuffer slice = content.duplicate();
+		slice.limit(end).position(start);
+		try {
+			// 스레드별로 캐시된 디코더 사용 (잘못된 바이트는 대체 문자로 변환되므로 예외가 발생하지 않음)
+			return XmlEncodingDetector.decoder(charset).decode(slice).toString();
+		} catch (CharacterCodingException e) {
+			return charset.decode(slice).toString();
+		}
+	}
+
+	private void checkLine(int lineNumber) {
+		if (lineNumber < 1 || lineNumber > lineCount) {
+			throw new IndexOutOfBoundsException("라인 번호가 범위를 벗어났습니다: " + lineNumber + " (전체 " + lineCount + "라인)");
+		}
+	}
+}
@@ -0,0 +1,383 @@
+package com.xmlvalidator.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.xmlvalidator.model.ValidationError;
+import com.xmlvalidator.util.ValidationResultCache.CachedError;
+import com.xmlvalidator.util.ValidationResultCache.Key;
+
+/**
+ * 검증 결과를 디스크에 보관하는 추가 전용(append-only) 바이너리 파일
+ * Eclipse를 다시 시작해도 내용과 규칙이 같은 파일은 이전 결과를 사용할 수 있도록 합니다.
+ *
+ * 파일 구조: [헤더: 매직, 형식 버전, 검증기 버전] [레코드]*
+ * 레코드: [오류 데이터 길이][CRC32][내용 해시][파일 크기][규칙 지문][문법 전용 여부][오류 데이터]
+ * 파일을 열 때는 레코드 헤더만 읽고 오류 데이터는 건너뛰어 키 -> 레코드 위치 인덱스를 만들므로
+ * 시작 비용은 보관된 오류 수가 아니라 레코드 수에 비례합니다. 오류 데이터는 조회할 때 읽고 CRC로 확인합니다.
+ * 같은 키를 다시 저장하면 뒤의 레코드가 유효하며, 버려진 레코드가 많아지면 열 때 압축합니다.
+ * 검증기 버전(플러그인 번들 버전)이 바뀌면 검증 로직이 바뀌었을 수 있으므로 이전 결과를 모두 버리고,
+ * 파일이 최대 크기에 이르면 추가할 때 오래 전에 저장한 레코드부터 제거합니다.
+ */
+public class PersistentResultStore implements Closeable {
+
+	private static final int MAGIC = 0x58564331;  // "XVC1"
+	// 레코드 형식이 바뀌면 올려서 이전 결과를 버림 (검증 로직 변경은 검증기 버전으로 판단)
+	private static final int FORMAT_VERSION = 2;
+	// 매직, 형식 버전, 검증기 버전 길이 (그 뒤에 검증기 버전 UTF-8 바이트)
+	private static final int FILE_HEADER_FIXED_BYTES = 4 + 4 + 2;
+	private static final int RECORD_HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 1;
+	private static final int SCAN_WINDOW_BYTES = 64 * 1024;
+
+	// 버려진 레코드가 이 크기 이상이고 유효한 레코드보다 많으면 압축
+	private static final long COMPACT_MIN_DEAD_BYTES = 1L * 1024 * 1024;
+	// 추가할 레코드로 파일이 이 크기를 넘으면 오래된 레코드를 제거하여 EVICT_TARGET_BYTES 이하로 줄임
+	private static final long MAX_FILE_BYTES = 256L * 1024 * 1024;
+	// 제거할 때마다 여유를 두어 추가할 때마다 다시 압축하지 않도록 함
+	private static final long EVICT_TARGET_BYTES = MAX_FILE_BYTES / 4 * 3;
+
+	private static final ValidationError.ErrorType[] ERROR_TYPES = ValidationError.ErrorType.values();
+
+	private final File file;
+	private final byte[] validatorVersion;  // UTF-8
+	private final int headerBytes;
+	private FileChannel channel;
+	private final Map<Key, Long> index = new HashMap<>();  // 키 -> 레코드 시작 위치
+	private long end;
+	private long deadBytes;
+
+	private PersistentResultStore(File file, String validatorVersion) {
+		this.file = file;
+		byte[] version = validatorVersion.getBytes(StandardCharsets.UTF_8);
+		this.validatorVersion = version.length > 0xFFFF ? Arrays.copyOf(version, 0xFFFF) : version;
+		this.headerBytes = FILE_HEADER_FIXED_BYTES + this.validatorVersion.length;
+	}
+
+	/**
+	 * 저장 파일을 열고 인덱스를 만듭니다 (파일이 없으면 생성).
+	 * 비정상 종료로 마지막 레코드가 잘렸으면 잘린 부분을 버리고,
+	 * 다른 검증기 버전으로 저장한 파일이면 비우고 다시 시작합니다.
+	 * @param file 저장 파일
+	 * @param validatorVersion 검증기 버전 (플러그인 번들 버전, 바뀌면 이전 결과를 사용하지 않음)
+	 * @throws IOException 파일 열기/읽기 오류
+	 */
+	public static PersistentResultStore open(File file, String validatorVersion) throws IOException {
+		PersistentResultStore store = new PersistentResultStore(file, validatorVersion != null ? validatorVersion : "");
+		store.load();
+		if (store.end > MAX_FILE_BYTES) {
+			// 이전 버전에서 최대 크기를 넘겨 저장한 파일
+			store.compact(EVICT_TARGET_BYTES);
+		} else if (store.deadBytes >= COMPACT_MIN_DEAD_BYTES && store.deadBytes > store.end - store.deadBytes) {
+			store.compact(Long.MAX_VALUE);
+		}
+		return store;
+	}
+
+	private void load() throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		long size = channel.size();
+
+		ByteBuffer header = ByteBuffer.allocate(headerBytes);
+		if (size < headerBytes || readFully(header, 0) < headerBytes
+				|| header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+			if (size > 0) {
+				System.out.println("검증 결과 저장 파일 초기화: " + file.getAbsolutePath());
+			}
+			reset();
+			return;
+		}
+		if (!Arrays.equals(header.array(), header().array())) {
+			System.out.println("검증기 버전이 바뀌어 검증 결과 저장 파일 초기화: " + file.getAbsolutePath());
+			reset();
+			return;
+		}
+
+		// 레코드 헤더를 하나씩 읽지 않도록 파일을 일정 크기 단위로 읽고, 범위를 벗어난 헤더에서만 다시 읽음
+		ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW_BYTES);
+		long windowStart = 0;
+		int windowLength = 0;
+		long pos = headerBytes;
+		while (pos + RECORD_HEADER_BYTES <= size) {
+			if (pos < windowStart || pos + RECORD_HEADER_BYTES > windowStart + windowLength) {
+				window.clear();
+				windowStart = pos;
+				windowLength = readFully(window, pos);
+			}
+			int offset = (int) (pos - windowStart);
+			int payloadLength = window.getInt(offset);
+			long next = pos + RECORD_HEADER_BYTES + payloadLength;
+			if (payloadLength < 4 || next > size) {
+				break;
+			}
+			Key key = new Key(window.getLong(offset + 8), window.getLong(offset + 16), window.getLong(offset + 24),
+					window.get(offset + 32) != 0);
+			Long previous = index.put(key, pos);
+			if (previous != null) {
+				deadBytes += recordLength(previous);
+			}
+			pos = next;
+		}
+		if (pos < size) {
+			// 쓰는 도중 종료된 마지막 레코드 제거
+			System.out.println("검증 결과 저장 파일의 잘린 레코드 제거: " + (size - pos) + " bytes");
+			channel.truncate(pos);
+		}
+		end = pos;
+	}
+
+	/**
+	 * 저장된 결과를 읽습니다.
+	 * @return 오류 목록 (저장되지 않았거나 레코드가 손상되었으면 null)
+	 */
+	synchronized List<CachedError> read(Key key) throws IOException {
+		Long pos = index.get(key);
+		if (pos == null || channel == null) {
+			return null;
+		}
+		ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+		readFully(recordHeader, pos);
+		int payloadLength = recordHeader.getInt(0);
+		ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+		if (readFully(payload, pos + RECORD_HEADER_BYTES) < payloadLength || crc(payload.array()) != recordHeader.getInt(4)) {
+			System.err.println("손상된 검증 결과 레코드 무시 (위치: " + pos + ")");
+			index.remove(key);
+			deadBytes += RECORD_HEADER_BYTES + payloadLength;
+			return null;
+		}
+		return decode(payload);
+	}
+
+	/**
+	 * 결과를 파일 끝에 추가합니다.
+	 * 추가하면 최대 크기를 넘는 경우 먼저 오래된 레코드를 제거합니다.
+	 */
+	synchronized void append(Key key, List<CachedError> errors) throws IOException {
+		if (channel == null) {
+			return;
+		}
+		byte[] payload = encode(errors);
+		long recordBytes = RECORD_HEADER_BYTES + payload.length;
+		if (end + recordBytes > MAX_FILE_BYTES) {
+			compact(EVICT_TARGET_BYTES - recordBytes);
+			if (end + recordBytes > MAX_FILE_BYTES) {
+				// 레코드 하나가 최대 크기보다 큼
+				System.err.println("검증 결과가 너무 커서 저장하지 않습니다: " + recordBytes + " bytes");
+				return;
+			}
+		}
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+		record.putInt(payload.length).putInt(crc(payload))
+				.putLong(key.getContentHash()).putLong(key.getLength()).putLong(key.getRuleFingerprint())
+				.put((byte) (key.isSyntaxOnly() ? 1 : 0)).put(payload);
+		record.flip();
+
+		long pos = end;
+		while (record.hasRemaining()) {
+			channel.write(record, pos + record.position());
+		}
+		end = pos + record.limit();
+		Long previous = index.put(key, pos);
+		if (previous != null) {
+			deadBytes += recordLength(previous);
+		}
+	}
+
+	/**
+	 * 저장된 레코드 수(유효한 키 수)를 반환합니다.
+	 */
+	public synchronized int size() {
+		return index.size();
+	}
+
+	/**
+	 * 디스크에 기록하고 파일을 닫습니다.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel != null) {
+			channel.force(false);
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * 유효한 레코드만 새 파일로 복사하고 교체합니다.
+	 * 레코드는 저장한 순서를 유지하며, 최대 크기를 넘으면 가장 최근에 저장한 레코드부터 남기고 나머지는 제거합니다.
+	 * @param maxBytes 압축한 파일의 최대 크기 (헤더 포함)
+	 */
+	private void compact(long maxBytes) throws IOException {
+		// 파일 위치가 저장한 순서이므로 위치순으로 정렬
+		List<Map.Entry<Key, Long>> entries = new ArrayList<>(index.entrySet());
+		entries.sort(Map.Entry.comparingByValue());
+		int[] lengths = new int[entries.size()];
+		long keptBytes = headerBytes;
+		int first = entries.size();
+		while (first > 0) {
+			int length = recordLength(entries.get(first - 1).getValue());
+			if (keptBytes + length > maxBytes) {
+				break;
+			}
+			lengths[--first] = length;
+			keptBytes += length;
+		}
+
+		File temp = new File(file.getPath() + ".tmp");
+		System.out.println("검증 결과 저장 파일 압축: " + end + " bytes 중 " + (end - keptBytes) + " bytes 제거" +
+				(first > 0 ? " (오래된 레코드 " + first + "개 제거)" : ""));
+		Map<Key, Long> compacted = new HashMap<>();
+		long pos = headerBytes;
+		try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer header = header();
+			while (header.hasRemaining()) {
+				out.write(header);
+			}
+			for (int i = first; i < entries.size(); i++) {
+				Map.Entry<Key, Long> entry = entries.get(i);
+				ByteBuffer record = ByteBuffer.allocate(lengths[i]);
+				readFully(record, entry.getValue());
+				record.flip();
+				while (record.hasRemaining()) {
+					out.write(record);
+				}
+				compacted.put(entry.getKey(), pos);
+				pos += lengths[i];
+			}
+			out.force(false);
+		} catch (IOException e) {
+			temp.delete();
+			throw e;
+		}
+
+		// 교체에 성공한 뒤에만 인덱스를 바꾸고, 실패하면 원래 파일과 인덱스를 그대로 계속 사용
+		channel.close();
+		channel = null;
+		try {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			System.err.println("검증 결과 저장 파일 교체 실패: " + e.getMessage());
+			temp.delete();
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+			throw e;
+		}
+		index.clear();
+		index.putAll(compacted);
+		end = pos;
+		deadBytes = 0;
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	private void reset() throws IOException {
+		channel.truncate(0);
+		ByteBuffer header = header();
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+		index.clear();
+		end = headerBytes;
+		deadBytes = 0;
+	}
+
+	private ByteBuffer header() {
+		ByteBuffer header = ByteBuffer.allocate(headerBytes).putInt(MAGIC).putInt(FORMAT_VERSION)
+				.putShort((short) validatorVersion.length).put(validatorVersion);
+		header.flip();
+		return header;
+	}
+
+	private int recordLength(long pos) throws IOException {
+		ByteBuffer length = ByteBuffer.allocate(4);
+		readFully(length, pos);
+		return RECORD_HEADER_BYTES + length.getInt(0);
+	}
+
+	private int readFully(ByteBuffer buffer, long pos) throws IOException {
+		int total = 0;
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, pos + total);
+			if (read < 0) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	private static byte[] encode(List<CachedError> errors) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + errors.size() * 96);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(errors.size());
+		for (CachedError error : errors) {
+			out.writeInt(error.lineNumber);
+			out.writeInt(error.columnNumber);
+			out.writeByte(error.errorType != null ? error.errorType.ordinal() : -1);
+			writeString(out, error.message);
+			writeString(out, error.elementPath);
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static List<CachedError> decode(ByteBuffer payload) {
+		int count = payload.getInt(0);
+		payload.position(4);
+		List<CachedError> errors = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int line = payload.getInt();
+			int column = payload.getInt();
+			int type = payload.get();
+			String message = readString(payload);
+			String elementPath = readString(payload);
+			errors.add(new CachedError(line, column, message, type >= 0 ? ERROR_TYPES[type] : null, elementPath));
+		}
+		return errors;
+	}
+
+	// 문자열: [UTF-8 바이트 길이 (null이면 -1)][UTF-8 바이트]
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+		in.position(in.position() + length);
+		return value;
+	}
+
+	private static int crc(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,142 @@
+package com.xmlvalidator.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 사용 중인 규칙 파일의 변경을 감시하고 바뀐 규칙을 백그라운드에서 다시 로드하는 클래스
+ * 폴더를 {@link WatchService}로 감시하다가 규칙 파일이 바뀌면 새 {@link YamlRuleParser}를 만들어 리스너에 넘깁니다.
+ * 새 규칙을 만드는 동안 기존 규칙은 그대로 사용되므로, 리스너는 참조 하나만 바꿔 끼우면 됩니다.
+ * 편집기가 저장하면서 이벤트를 여러 번 보내는 경우가 많아 이벤트가 잠잠해진 뒤에 한 번만 로드하며,
+ * 내용이 같거나 로드에 실패하면 리스너를 호출하지 않습니다.
+ */
+public class RuleFileWatcher implements Closeable {
+
+	// 마지막 이벤트 후 이 시간 동안 추가 이벤트가 없으면 다시 로드
+	private static final long SETTLE_MILLIS = 300;
+
+	private final File ruleFile;
+	private final Consumer<YamlRuleParser> listener;
+	private final String validatorVersion;
+	private final WatchService watchService;
+	private final Thread thread;
+	private long fingerprint;
+
+	private RuleFileWatcher(File ruleFile, long fingerprint, String validatorVersion,
+			Consumer<YamlRuleParser> listener) throws IOException {
+		this.ruleFile = ruleFile;
+		this.fingerprint = fingerprint;
+		this.validatorVersion = validatorVersion;
+		this.listener = listener;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.thread = new Thread(this::run, "xml-validator-rule-watcher");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * 규칙 파일 감시를 시작합니다.
+	 * @param ruleFile 감시할 규칙 파일
+	 * @param current 현재 로드된 규칙 (내용이 같은 변경 이벤트는 무시, 다시 로드할 때 같은 검증기 버전 사용)
+	 * @param listener 새 규칙을 받을 리스너 (감시 스레드에서 호출)
+	 * @throws IOException 감시 등록 오류
+	 */
+	public static RuleFileWatcher start(File ruleFile, YamlRuleParser current, Consumer<YamlRuleParser> listener)
+			throws IOException {
+		File directory = ruleFile.getAbsoluteFile().getParentFile();
+		if (directory == null) {
+			throw new IOException("규칙 파일의 폴더를 찾을 수 없습니다: " + ruleFile.getAbsolutePath());
+		}
+		RuleFileWatcher watcher = new RuleFileWatcher(ruleFile.getAbsoluteFile(), current.getFingerprint(),
+				current.getValidatorVersion(), listener);
+		try {
+			// 저장 방식(덮어쓰기, 임시 파일 교체)에 관계없이 감지하도록 생성/수정 이벤트를 모두 받음
+			directory.toPath().register(watcher.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			watcher.watchService.close();
+			throw e;
+		}
+		watcher.thread.start();
+		return watcher;
+	}
+
+	private void run() {
+		Path fileName = ruleFile.toPath().getFileName();
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = collect(key, fileName);
+				// 저장이 끝날 때까지 이어지는 이벤트를 모음
+				WatchKey next;
+				while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed |= collect(next, fileName);
+				}
+				if (changed) {
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// close() 호출로 종료
+		}
+	}
+
+	private static boolean collect(WatchKey key, Path fileName) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (fileName.equals(event.context()) || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	private void reload() {
+		if (!ruleFile.isFile()) {
+			return;
+		}
+		long startTime = System.currentTimeMillis();
+		try {
+			YamlRuleParser parser = new YamlRuleParser();
+			parser.load(ruleFile, validatorVersion);
+			if (parser.getFingerprint() == fingerprint) {
+				return;
+			}
+			// 검증 스레드가 처음 사용할 때 스냅샷을 풀지 않도록 여기서 규칙 트리를 만듦
+			parser.getRuleSet();
+			fingerprint = parser.getFingerprint();
+			System.out.println("규칙 파일 변경 감지, 다시 로드: " + ruleFile.getAbsolutePath() +
+					" (소요 시간: " + (System.currentTimeMillis() - startTime) + "ms)");
+			listener.accept(parser);
+		} catch (Exception e) {
+			// 편집 중인 파일을 읽었을 수 있으므로 기존 규칙을 유지하고 다음 변경을 기다림
+			System.err.println("규칙 파일 다시 로드 실패 (기존 규칙 유지): " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 감시 대상 규칙 파일
+	 */
+	public File getRuleFile() {
+		return ruleFile;
+	}
+
+	/**
+	 * 감시를 중지합니다.
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+		thread.interrupt();
+	}
+}
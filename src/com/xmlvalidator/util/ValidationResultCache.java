@@ -0,0 +1,272 @@
+package com.xmlvalidator.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.xmlvalidator.model.ValidationError;
+
+/**
+ * 파일 내용과 규칙 파일 지문으로 검증 결과(오류 목록)를 보관하는 메모리 캐시
+ * 키가 수정 시간이 아니라 내용 해시이므로 파일이나 규칙 파일을 수정하면 자동으로 다른 키가 되고,
+ * 내용이 같은 파일은 경로가 달라도 같은 결과를 사용합니다.
+ * 오래 사용하지 않은 항목부터 제거하며(LRU), 크기는 보관 중인 오류 수 기준으로 제한합니다.
+ * 디스크 저장소를 연결하면 메모리에 없는 결과를 저장소에서 읽고, 새 결과는 저장소에도 추가합니다.
+ */
+public class ValidationResultCache {
+
+	/**
+	 * 캐시 키 (내용 해시, 파일 크기, 규칙 지문, 문법 전용 여부)
+	 */
+	public static final class Key {
+		private final long contentHash;
+		private final long length;
+		private final long ruleFingerprint;
+		private final boolean syntaxOnly;
+
+		/**
+		 * @param contentHash 파일 내용 해시 ({@link ContentHash})
+		 * @param length 파일 크기
+		 * @param ruleFingerprint 규칙 파일 지문 (문법 전용이면 무시)
+		 * @param syntaxOnly 문법 체크만 수행한 결과인지 여부
+		 */
+		public Key(long contentHash, long length, long ruleFingerprint, boolean syntaxOnly) {
+			this.contentHash = contentHash;
+			this.length = length;
+			this.ruleFingerprint = syntaxOnly ? 0 : ruleFingerprint;
+			this.syntaxOnly = syntaxOnly;
+		}
+
+		public long getContentHash() {
+			return contentHash;
+		}
+
+		public long getLength() {
+			return length;
+		}
+
+		public long getRuleFingerprint() {
+			return ruleFingerprint;
+		}
+
+		public boolean isSyntaxOnly() {
+			return syntaxOnly;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return contentHash == other.contentHash && length == other.length
+					&& ruleFingerprint == other.ruleFingerprint && syntaxOnly == other.syntaxOnly;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(contentHash) * 31 + Long.hashCode(ruleFingerprint) + (syntaxOnly ? 1 : 0);
+		}
+	}
+
+	/**
+	 * 파일과 무관한 형태로 보관하는 오류 (조회할 때 요청한 파일로 ValidationError를 다시 만듦)
+	 */
+	static final class CachedError {
+		final int lineNumber;
+		final int columnNumber;
+		final String message;
+		final ValidationError.ErrorType errorType;
+		final String elementPath;
+
+		CachedError(int lineNumber, int columnNumber, String message, ValidationError.ErrorType errorType,
+				String elementPath) {
+			this.lineNumber = lineNumber;
+			this.columnNumber = columnNumber;
+			this.message = message;
+			this.errorType = errorType;
+			this.elementPath = elementPath;
+		}
+	}
+
+	private final int maxErrors;
+	private final LinkedHashMap<Key, List<CachedError>> entries;
+	private int storedErrors;
+	private long hits;
+	private long misses;
+	private PersistentResultStore store;
+
+	/**
+	 * @param maxErrors 보관할 최대 오류 수 (항목 하나는 오류가 없어도 1로 계산)
+	 */
+	public ValidationResultCache(int maxErrors) {
+		this.maxErrors = maxErrors;
+		// 접근 순서로 정렬하여 가장 오래 사용하지 않은 항목이 맨 앞에 오도록 함
+		this.entries = new LinkedHashMap<>(256, 0.75f, true);
+	}
+
+	/**
+	 * 파일의 캐시 키를 만듭니다 (파일 내용 해시 계산).
+	 * @param file 검증할 파일
+	 * @param ruleFingerprint 규칙 파일 지문
+	 * @param syntaxOnly 문법 체크 전용 모드 여부
+	 * @return 캐시 키 (파일을 읽을 수 없으면 null)
+	 */
+	public static Key keyOf(File file, long ruleFingerprint, boolean syntaxOnly) {
+		try {
+			return new Key(ContentHash.hash(file), file.length(), ruleFingerprint, syntaxOnly);
+		} catch (Exception e) {
+			System.err.println("캐시 키 생성 실패: " + file.getName() + " - " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 미리 읽어 둔 파일 내용으로 캐시 키를 만듭니다 (파일을 다시 읽지 않음).
+	 * @param content 파일 내용
+	 * @param ruleFingerprint 규칙 파일 지문
+	 * @param syntaxOnly 문법 체크 전용 모드 여부
+	 * @return 캐시 키
+	 */
+	public static Key keyOf(byte[] content, long ruleFingerprint, boolean syntaxOnly) {
+		return new Key(ContentHash.hash(ByteBuffer.wrap(content)), content.length, ruleFingerprint, syntaxOnly);
+	}
+
+	/**
+	 * 캐시된 결과를 조회합니다.
+	 * @param key 캐시 키
+	 * @param file 결과를 돌려받을 파일 (오류의 파일 정보로 사용)
+	 * @return 오류 목록 (캐시에 없으면 null, 오류 없이 통과한 파일이면 빈 목록)
+	 */
+	public synchronized List<ValidationError> get(Key key, File file) {
+		List<CachedError> cached = key != null ? entries.get(key) : null;
+		if (cached == null && key != null && store != null) {
+			try {
+				cached = store.read(key);
+			} catch (IOException e) {
+				System.err.println("검증 결과 저장소 읽기 실패: " + e.getMessage());
+			}
+			if (cached != null) {
+				putCached(key, Collections.unmodifiableList(cached));
+			}
+		}
+		if (cached == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		List<ValidationError> errors = new ArrayList<>(cached.size());
+		for (CachedError error : cached) {
+			errors.add(new ValidationError(file, error.lineNumber, error.columnNumber, error.message,
+					error.errorType, error.elementPath));
+		}
+		return errors;
+	}
+
+	/**
+	 * 검증 결과를 저장합니다.
+	 * @param key 캐시 키
+	 * @param errors 파일의 전체 오류 목록 (통과한 파일이면 빈 목록)
+	 */
+	public synchronized void put(Key key, List<ValidationError> errors) {
+		if (key == null) {
+			return;
+		}
+		List<CachedError> cached = new ArrayList<>(errors.size());
+		for (ValidationError error : errors) {
+			cached.add(new CachedError(error.getLineNumber(), error.getColumnNumber(), error.getMessage(),
+					error.getErrorType(), error.getElementPath()));
+		}
+		putCached(key, Collections.unmodifiableList(cached));
+		if (store != null) {
+			try {
+				store.append(key, cached);
+			} catch (IOException e) {
+				System.err.println("검증 결과 저장소 쓰기 실패: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 디스크 저장소를 연결합니다 (이전에 연결된 저장소는 닫음).
+	 * @param store 저장소 (null이면 메모리 캐시만 사용)
+	 */
+	public synchronized void setStore(PersistentResultStore store) {
+		closeStore();
+		this.store = store;
+	}
+
+	/**
+	 * 디스크 저장소가 연결되어 있는지 확인합니다.
+	 */
+	public synchronized boolean hasStore() {
+		return store != null;
+	}
+
+	/**
+	 * 연결된 디스크 저장소를 닫습니다.
+	 */
+	public synchronized void closeStore() {
+		if (store != null) {
+			try {
+				store.close();
+			} catch (IOException e) {
+				System.err.println("검증 결과 저장소 닫기 실패: " + e.getMessage());
+			}
+			store = null;
+		}
+	}
+
+	private void putCached(Key key, List<CachedError> cached) {
+		int weight = weightOf(cached);
+		if (weight > maxErrors) {
+			// 한 파일의 결과가 캐시 전체보다 크면 보관하지 않음
+			return;
+		}
+		List<CachedError> previous = entries.put(key, cached);
+		if (previous != null) {
+			storedErrors -= weightOf(previous);
+		}
+		storedErrors += weight;
+
+		Iterator<Map.Entry<Key, List<CachedError>>> iterator = entries.entrySet().iterator();
+		while (storedErrors > maxErrors && iterator.hasNext()) {
+			Map.Entry<Key, List<CachedError>> eldest = iterator.next();
+			storedErrors -= weightOf(eldest.getValue());
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * 캐시를 비웁니다.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		storedErrors = 0;
+	}
+
+	/**
+	 * 보관 중인 항목 수를 반환합니다.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * 캐시 조회 통계를 반환합니다 (로그용).
+	 */
+	public synchronized String getStatistics() {
+		return "항목 " + entries.size() + "개, 오류 " + storedErrors + "개, 적중 " + hits + "회, 실패 " + misses + "회"
+				+ (store != null ? ", 저장소 " + store.size() + "개" : "");
+	}
+
+	private static int weightOf(List<CachedError> cached) {
+		return cached.size() + 1;
+	}
+}
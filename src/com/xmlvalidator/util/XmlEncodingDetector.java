@@ -0,0 +1,180 @@
+package com.xmlvalidator.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * XML 파일의 인코딩을 BOM과 XML 선언(&lt;?xml ... encoding="..."?&gt;)으로 감지하는 클래스
+ * 파일 앞부분만 읽어서 한 번 감지한 인코딩을 문법 검증, 정합성 검증, 오류 위치 계산 단계에서 함께 사용합니다.
+ * (규칙 파일의 encoding 설정은 YAML 파일 자체의 인코딩이므로 XML 파일에는 사용하지 않음)
+ */
+public final class XmlEncodingDetector {
+
+	// XML 선언은 문서 맨 앞에 있으므로 앞부분만 읽음
+	private static final int PROLOG_BYTES = 1024;
+
+	// 스레드별 디코더 캐시 (CharsetDecoder는 스레드 안전하지 않음)
+	private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS = ThreadLocal.withInitial(HashMap::new);
+
+	private XmlEncodingDetector() {
+	}
+
+	/**
+	 * 파일 앞부분을 읽어서 인코딩을 감지합니다.
+	 * @param file XML 파일
+	 * @return 감지한 인코딩 (선언된 인코딩을 지원하지 않으면 null, 선언이 없으면 UTF-8)
+	 * @throws IOException 파일 읽기 오류
+	 */
+	public static Charset detect(File file) throws IOException {
+		byte[] prolog = new byte[PROLOG_BYTES];
+		int length = 0;
+		try (InputStream in = new FileInputStream(file)) {
+			int read;
+			while (length < prolog.length && (read = in.read(prolog, length, prolog.length - length)) > 0) {
+				length += read;
+			}
+		}
+		return detect(ByteBuffer.wrap(prolog, 0, length));
+	}
+
+	/**
+	 * 미리 읽어 둔 파일 내용의 앞부분으로 인코딩을 감지합니다.
+	 * @param content 파일 내용
+	 * @return 감지한 인코딩 (선언된 인코딩을 지원하지 않으면 null, 선언이 없으면 UTF-8)
+	 */
+	public static Charset detect(byte[] content) {
+		return detect(ByteBuffer.wrap(content, 0, Math.min(content.length, PROLOG_BYTES)));
+	}
+
+	/**
+	 * 문서 앞부분 바이트로 인코딩을 감지합니다.
+	 * BOM이 있으면 BOM을 따르고, 없으면 XML 선언의 encoding 값을, 둘 다 없으면 XML 기본값인 UTF-8을 사용합니다.
+	 * @param prolog 문서 앞부분 (position부터 limit까지)
+	 * @return 감지한 인코딩 (선언된 인코딩을 지원하지 않으면 null)
+	 */
+	public static Charset detect(ByteBuffer prolog) {
+		int start = prolog.position();
+		int end = prolog.limit();
+		int b0 = end - start > 0 ? prolog.get(start) & 0xFF : -1;
+		int b1 = end - start > 1 ? prolog.get(start + 1) & 0xFF : -1;
+		int b2 = end - start > 2 ? prolog.get(start + 2) & 0xFF : -1;
+
+		// BOM (UTF-16은 바이트 순서를 정하지 않은 UTF-16으로 지정해야 파서가 BOM을 문자로 읽지 않고 건너뜀)
+		if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+			return StandardCharsets.UTF_8;
+		}
+		if ((b0 == 0xFE && b1 == 0xFF) || (b0 == 0xFF && b1 == 0xFE)) {
+			return StandardCharsets.UTF_16;
+		}
+		// BOM 없는 UTF-16 ("<?" 가 2바이트 단위로 나옴)
+		if (b0 == 0x00 && b1 == '<') {
+			return StandardCharsets.UTF_16BE;
+		}
+		if (b0 == '<' && b1 == 0x00) {
+			return StandardCharsets.UTF_16LE;
+		}
+
+		String declared = findDeclaredEncoding(prolog, start, end);
+		if (declared == null) {
+			return StandardCharsets.UTF_8;
+		}
+		try {
+			return Charset.forName(declared);
+		} catch (RuntimeException e) {
+			// 지원하지 않는 인코딩은 파서가 직접 감지하고 오류를 보고하도록 함
+			System.err.println("지원하지 않는 XML 인코딩 선언: " + declared);
+			return null;
+		}
+	}
+
+	/**
+	 * 현재 스레드에서 재사용하는 디코더를 반환합니다.
+	 * 잘못된 바이트는 대체 문자로 바꾸며, 반환 전에 reset()하므로 바로 decode에 사용할 수 있습니다.
+	 * @param charset 인코딩
+	 */
+	public static CharsetDecoder decoder(Charset charset) {
+		Map<Charset, CharsetDecoder> decoders = DECODERS.get();
+		CharsetDecoder decoder = decoders.get(charset);
+		if (decoder == null) {
+			decoder = charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			decoders.put(charset, decoder);
+		}
+		return decoder.reset();
+	}
+
+	/**
+	 * XML 선언의 encoding 값을 찾습니다 (ASCII 호환 인코딩 기준).
+	 * @return encoding 값 (XML 선언이나 encoding 속성이 없으면 null)
+	 */
+	private static String findDeclaredEncoding(ByteBuffer prolog, int start, int end) {
+		int pos = start;
+		if (pos < end && prolog.get(pos) == (byte) 0xEF) {
+			pos += 3;
+		}
+		if (!matches(prolog, pos, end, "<?xml")) {
+			return null;
+		}
+		pos += 5;
+
+		while (pos < end) {
+			byte b = prolog.get(pos);
+			if (b == '?' || b == '>') {
+				return null;
+			}
+			if (matches(prolog, pos, end, "encoding")) {
+				pos += 8;
+				while (pos < end && isSpace(prolog.get(pos))) {
+					pos++;
+				}
+				if (pos >= end || prolog.get(pos) != '=') {
+					return null;
+				}
+				pos++;
+				while (pos < end && isSpace(prolog.get(pos))) {
+					pos++;
+				}
+				if (pos >= end) {
+					return null;
+				}
+				byte quote = prolog.get(pos);
+				if (quote != '"' && quote != '\'') {
+					return null;
+				}
+				StringBuilder name = new StringBuilder();
+				for (pos++; pos < end && prolog.get(pos) != quote; pos++) {
+					name.append((char) (prolog.get(pos) & 0xFF));
+				}
+				return pos < end && name.length() > 0 ? name.toString() : null;
+			}
+			pos++;
+		}
+		return null;
+	}
+
+	private static boolean matches(ByteBuffer buffer, int pos, int end, String text) {
+		if (pos + text.length() > end) {
+			return false;
+		}
+		for (int i = 0; i < text.length(); i++) {
+			if (buffer.get(pos + i) != text.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+	}
+}
@@ -1,365 +1,348 @@
 package com.xmlvalidator.util;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+
+import com.xmlvalidator.rules.RuleCompiler;
+import com.xmlvalidator.rules.RuleSet;
+import com.xmlvalidator.rules.RuleSetSnapshot;
 
 /**
  * YAML 형식의 정합성 규칙 파일을 파싱하는 클래스
  */
 public class YamlRuleParser {
 	
+	private static final byte[] ENCODING_KEY = "encoding:".getBytes(StandardCharsets.US_ASCII);
+	// code_values 섹션의 카테고리/코드 들여쓰기
+	private static final int CATEGORY_INDENT = 2;
+	private static final int CODE_INDENT = 4;
+	
 	private Map<String, Object> rules;
 	private Map<String, Map<String, Object>> codeValues;
 	private String encoding = "UTF-8";
+	private long fingerprint;
+	private volatile RuleSet ruleSet;
+	
+	// 스냅샷으로 로드한 경우: 아직 만들지 않은 규칙 트리와 아직 파싱하지 않은 YAML 내용
+	private RuleSetSnapshot snapshot;
+	private byte[] pendingContent;
+	private boolean loadedFromSnapshot;
+	private String validatorVersion = "";
 	
 	public YamlRuleParser() {
 		this.rules = new HashMap<>();
 		this.codeValues = new HashMap<>();
+		this.ruleSet = RuleCompiler.compile(rules, codeValues);
 	}
 	
 	/**
 	 * YAML 규칙 파일을 파싱합니다.
+	 * 파일은 한 번만 읽으며, 들여쓰기 스택을 사용해 모든 줄을 한 번씩만 처리합니다.
 	 * @param yamlFile YAML 파일
 	 * @throws IOException 파일 읽기 오류
 	 */
 	public void parse(File yamlFile) throws IOException {
-		rules.clear();
-		codeValues.clear();
-		
-		// 먼저 인코딩 확인
-		detectEncoding(yamlFile);
+		byte[] content = Files.readAllBytes(yamlFile.toPath());
 		
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new FileInputStream(yamlFile), encoding))) {
-			
-			List<String> lines = new ArrayList<>();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				lines.add(line);
-			}
-			
-			parseLines(lines);
-		}
+		// 규칙 파일 내용 지문 (검증 결과 캐시 키에 사용)
+		parseContent(content, ContentHash.hash(ByteBuffer.wrap(content)));
 	}
 	
 	/**
-	 * 파일의 인코딩을 감지합니다.
+	 * YAML 규칙 파일을 로드합니다.
+	 * 같은 폴더에 YAML 내용의 해시와 검증기 버전이 일치하는 규칙 스냅샷이 있으면 YAML을 파싱하지 않고 스냅샷을 읽으며,
+	 * 규칙 트리는 {@link #getRuleSet()}을 처음 호출할 때 만듭니다. Map 형태의 규칙이 필요하면 그때 YAML을 파싱합니다.
+	 * 스냅샷이 없거나 YAML이 바뀌었으면 YAML을 파싱하고 스냅샷을 새로 저장합니다 (저장 실패는 무시).
+	 * @param yamlFile YAML 파일
+	 * @param validatorVersion 검증기 버전 (플러그인 번들 버전, 바뀌면 스냅샷을 사용하지 않음)
+	 * @throws IOException 파일 읽기 오류
 	 */
-	private void detectEncoding(File file) throws IOException {
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				if (line.trim().startsWith("encoding:")) {
-					String enc = line.substring(line.indexOf(":") + 1).trim();
-					if (enc.startsWith("'") || enc.startsWith("\"")) {
-						enc = enc.substring(1, enc.length() - 1);
-					}
-					if (!enc.isEmpty()) {
-						this.encoding = enc;
-					}
-					break;
-				}
+	public void load(File yamlFile, String validatorVersion) throws IOException {
+		this.validatorVersion = validatorVersion != null ? validatorVersion : "";
+		byte[] content = Files.readAllBytes(yamlFile.toPath());
+		long hash = ContentHash.hash(ByteBuffer.wrap(content));
+		File snapshotFile = RuleSetSnapshot.fileFor(yamlFile);
+		
+		RuleSetSnapshot found = null;
+		try {
+			found = RuleSetSnapshot.open(snapshotFile, this.validatorVersion, hash, content.length);
+		} catch (IOException e) {
+			System.err.println("규칙 스냅샷 읽기 실패 (YAML 파싱): " + e.getMessage());
+		}
+		if (found != null) {
+			synchronized (this) {
+				rules.clear();
+				codeValues.clear();
+				fingerprint = hash;
+				snapshot = found;
+				pendingContent = content;
+				loadedFromSnapshot = true;
+				ruleSet = null;
 			}
+			return;
+		}
+		
+		parseContent(content, hash);
+		try {
+			RuleSetSnapshot.write(snapshotFile, this.validatorVersion, ruleSet, hash, content.length);
+		} catch (IOException e) {
+			System.out.println("규칙 스냅샷 저장 실패 (다음에도 YAML 파싱): " + e.getMessage());
 		}
 	}
 	
-	/**
-	 * 라인들을 파싱합니다.
-	 */
-	private void parseLines(List<String> lines) {
-		String currentSection = null;
-		int i = 0;
+	private synchronized void parseContent(byte[] content, long hash) throws IOException {
+		rules.clear();
+		codeValues.clear();
+		snapshot = null;
+		pendingContent = null;
+		loadedFromSnapshot = false;
+		fingerprint = hash;
 		
-		while (i < lines.size()) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
-			// 빈 줄이나 주석 건너뛰기
-			if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-				i++;
-				continue;
-			}
-			
-			// 최상위 섹션 확인
-			if (!line.startsWith(" ") && !line.startsWith("\t")) {
-				if (trimmed.startsWith("rules:")) {
-					currentSection = "rules";
-				} else if (trimmed.startsWith("code_values:")) {
-					currentSection = "code_values";
-				} else if (trimmed.startsWith("version:")) {
-					// 버전 정보 저장 - 콜론 뒤의 값만 추출
-					String verValue = trimmed.substring(trimmed.indexOf(":") + 1).trim();
-					rules.put("version", extractValue(verValue));
-				} else if (trimmed.startsWith("encoding:")) {
-					// 인코딩 정보 저장 - 콜론 뒤의 값만 추출
-					String encValue = trimmed.substring(trimmed.indexOf(":") + 1).trim();
-					encoding = extractValue(encValue);
-				}
-			}
-			
-			i++;
-		}
+		// 먼저 인코딩 확인 (읽은 내용에서 encoding 항목을 찾음)
+		detectEncoding(content);
 		
-		// 간단한 파싱 - 실제로는 더 정교한 YAML 파서가 필요할 수 있음
-		parseRulesSection(lines);
-		parseCodeValuesSection(lines);
+		parseLines(new String(content, encoding));
+		
+		// 검증 시 Map을 해석하지 않도록 로드 시점에 한 번 컴파일
+		ruleSet = RuleCompiler.compile(rules, codeValues);
 	}
 	
 	/**
-	 * rules 섹션을 파싱합니다.
+	 * 스냅샷으로 로드한 경우 아직 파싱하지 않은 YAML 내용을 파싱합니다 (규칙 트리는 그대로 사용).
 	 */
-	private void parseRulesSection(List<String> lines) {
-		boolean inRules = false;
-		int baseIndent = -1;
-		
-		for (int i = 0; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
-			if (trimmed.equals("rules:")) {
-				inRules = true;
-				continue;
-			}
-			
-			if (inRules) {
-				if (!line.startsWith(" ") && !line.startsWith("\t") && !trimmed.isEmpty()) {
-					// 다른 최상위 섹션 시작
-					if (trimmed.startsWith("code_values:")) {
-						break;
-					}
-				}
-				
-				// STR 요소 파싱
-				if (trimmed.startsWith("STR:")) {
-					Map<String, Object> strRule = parseElement(lines, i + 1, getIndent(lines.get(i)) + 2);
-					rules.put("STR", strRule);
-				}
-			}
+	private synchronized void ensureParsed() {
+		if (pendingContent == null) {
+			return;
+		}
+		byte[] content = pendingContent;
+		pendingContent = null;
+		detectEncoding(content);
+		try {
+			parseLines(new String(content, encoding));
+		} catch (UnsupportedEncodingException e) {
+			System.err.println("규칙 파일 인코딩을 지원하지 않습니다: " + encoding);
 		}
 	}
 	
 	/**
-	 * 요소를 재귀적으로 파싱합니다.
+	 * 파일의 인코딩을 감지합니다.
+	 * 처음 나오는 encoding 항목을 사용하며, 항목 이름과 값은 ASCII이므로 바이트에서 직접 찾습니다.
 	 */
-	private Map<String, Object> parseElement(List<String> lines, int startIndex, int expectedIndent) {
-		Map<String, Object> element = new HashMap<>();
-		
-		for (int i = startIndex; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
-			if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-				continue;
+	private void detectEncoding(byte[] content) {
+		int pos = 0;
+		while (pos < content.length) {
+			int end = pos;
+			while (end < content.length && content[end] != '\n' && content[end] != '\r') {
+				end++;
 			}
-			
-			int indent = getIndent(line);
-			
-			// 들여쓰기가 줄어들면 현재 요소 파싱 종료
-			if (indent < expectedIndent && !trimmed.isEmpty()) {
-				break;
+			int start = pos;
+			while (start < end && (content[start] & 0xFF) <= ' ') {
+				start++;
 			}
-			
-			if (indent == expectedIndent) {
-				// 속성 파싱
-				if (trimmed.contains(":")) {
-					String key = trimmed.substring(0, trimmed.indexOf(":")).trim();
-					String value = trimmed.substring(trimmed.indexOf(":") + 1).trim();
-					
-					if (key.equals("children") || key.equals("attributes")) {
-						// 하위 요소 파싱
-						Map<String, Object> children = parseChildren(lines, i + 1, indent + 2);
-						element.put(key, children);
-					} else if (key.equals("allowed_values") || key.equals("allowed_codes")) {
-						// 리스트 파싱
-						List<String> list = parseList(lines, i + 1, indent + 2);
-						element.put(key, list);
-					} else if (key.equals("code_labels")) {
-						// 코드 레이블 맵 파싱
-						Map<String, String> labels = parseCodeLabels(lines, i + 1, indent + 2);
-						element.put(key, labels);
-					} else {
-						element.put(key, value.isEmpty() ? "" : extractValue(value));
-					}
+			if (startsWith(content, start, end, ENCODING_KEY)) {
+				int valueStart = start + ENCODING_KEY.length;
+				String enc = new String(content, valueStart, end - valueStart, StandardCharsets.UTF_8).trim();
+				if (enc.startsWith("'") || enc.startsWith("\"")) {
+					enc = enc.substring(1, enc.length() - 1);
+				}
+				if (!enc.isEmpty()) {
+					this.encoding = enc;
 				}
+				return;
 			}
+			pos = end + 1;
 		}
-		
-		return element;
 	}
 	
-	/**
-	 * children 섹션을 파싱합니다.
-	 */
-	private Map<String, Object> parseChildren(List<String> lines, int startIndex, int expectedIndent) {
-		Map<String, Object> children = new HashMap<>();
-		
-		for (int i = startIndex; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
-			if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-				continue;
-			}
-			
-			int indent = getIndent(line);
-			
-			if (indent < expectedIndent && !trimmed.isEmpty()) {
-				break;
-			}
-			
-			if (indent == expectedIndent && trimmed.contains(":")) {
-				String key = trimmed.substring(0, trimmed.indexOf(":")).trim();
-				Map<String, Object> child = parseElement(lines, i + 1, indent + 2);
-				children.put(key, child);
+	private static boolean startsWith(byte[] content, int start, int end, byte[] prefix) {
+		if (end - start < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (content[start + i] != prefix[i]) {
+				return false;
 			}
 		}
-		
-		return children;
+		return true;
 	}
 	
 	/**
-	 * 리스트를 파싱합니다.
+	 * 라인들을 한 번에 파싱합니다.
+	 * 최상위 항목(version, encoding), rules 섹션, code_values 섹션을 같은 줄 순회에서 함께 처리합니다.
+	 * rules 섹션은 열린 구조(요소, children/attributes, 리스트, code_labels)를 들여쓰기와 함께 스택에 두고,
+	 * 들여쓰기가 구조의 기준보다 줄어든 줄에서 닫습니다.
 	 */
-	private List<String> parseList(List<String> lines, int startIndex, int expectedIndent) {
-		List<String> list = new ArrayList<>();
+	private void parseLines(String text) {
+		Deque<Frame> frames = new ArrayDeque<>();
+		Map<String, Object> strRule = null;
+		boolean inRules = false;
+		boolean rulesEnded = false;
+		boolean inCodeValues = false;
+		Map<String, Object> category = null;  // 현재 코드 카테고리
+		Map<String, String> codeEntry = null;  // 현재 코드의 하위 값 (general, card 등)
 		
-		for (int i = startIndex; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
-			if (trimmed.isEmpty()) {
-				continue;
+		int length = text.length();
+		int pos = 0;
+		while (pos < length) {
+			// BufferedReader.readLine과 같이 \n, \r, \r\n으로 줄 구분
+			int end = pos;
+			while (end < length && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+				end++;
+			}
+			String line = text.substring(pos, end);
+			pos = end + 1;
+			if (end < length && text.charAt(end) == '\r' && pos < length && text.charAt(pos) == '\n') {
+				pos++;
 			}
 			
+			String trimmed = line.trim();
 			int indent = getIndent(line);
+			boolean comment = trimmed.startsWith("#");
 			
-			if (indent < expectedIndent && !trimmed.isEmpty()) {
-				break;
+			// 최상위 항목
+			if (indent == 0 && !trimmed.isEmpty() && !comment) {
+				if (trimmed.startsWith("version:")) {
+					// 버전 정보 저장 - 콜론 뒤의 값만 추출
+					rules.put("version", extractValue(trimmed.substring(trimmed.indexOf(":") + 1).trim()));
+				} else if (trimmed.startsWith("encoding:")) {
+					// 인코딩 정보 저장 - 콜론 뒤의 값만 추출
+					encoding = extractValue(trimmed.substring(trimmed.indexOf(":") + 1).trim());
+				}
 			}
 			
-			if (trimmed.startsWith("- ")) {
-				String value = trimmed.substring(2).trim();
-				list.add(extractValue(value));
+			// rules 섹션: STR 요소가 시작되면 새로 파싱 (같은 이름이 다시 나오면 마지막 것을 사용)
+			boolean strStarted = false;
+			if (!rulesEnded) {
+				if (trimmed.equals("rules:")) {
+					inRules = true;
+				} else if (inRules) {
+					if (indent == 0 && trimmed.startsWith("code_values:")) {
+						// 다른 최상위 섹션 시작
+						rulesEnded = true;
+					} else if (trimmed.startsWith("STR:")) {
+						strRule = new HashMap<>();
+						frames.clear();
+						frames.push(Frame.element(indent + 2, strRule));
+						strStarted = true;
+					}
+				}
 			}
-		}
-		
-		return list;
-	}
-	
-	/**
-	 * 코드 레이블 맵을 파싱합니다.
-	 */
-	private Map<String, String> parseCodeLabels(List<String> lines, int startIndex, int expectedIndent) {
-		Map<String, String> labels = new HashMap<>();
-		
-		for (int i = startIndex; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
-			if (trimmed.isEmpty()) {
-				continue;
+			if (!strStarted) {
+				parseRuleLine(frames, trimmed, indent, comment);
 			}
 			
-			int indent = getIndent(line);
-			
-			if (indent < expectedIndent && !trimmed.isEmpty()) {
-				break;
+			// code_values 섹션: 열린 코드/카테고리가 먼저 줄을 처리한 뒤 새 카테고리 시작 여부 확인
+			if (codeEntry != null) {
+				if (indent <= CODE_INDENT && !trimmed.isEmpty()) {
+					codeEntry = null;
+				} else if (trimmed.contains(":")) {
+					codeEntry.put(trimmed.substring(0, trimmed.indexOf(":")).trim(),
+							extractValue(trimmed.substring(trimmed.indexOf(":") + 1).trim()));
+				}
 			}
-			
-			if (trimmed.contains(":")) {
-				String key = trimmed.substring(0, trimmed.indexOf(":")).trim();
-				String value = trimmed.substring(trimmed.indexOf(":") + 1).trim();
-				labels.put(extractValue(key), extractValue(value));
+			if (codeEntry == null && category != null && !trimmed.isEmpty()) {
+				if (indent < CODE_INDENT) {
+					category = null;
+				} else if (indent == CODE_INDENT && trimmed.contains(":")) {
+					codeEntry = new HashMap<>();
+					category.put(extractValue(trimmed.substring(0, trimmed.indexOf(":")).trim()), codeEntry);
+				}
 			}
-		}
-		
-		return labels;
-	}
-	
-	/**
-	 * code_values 섹션을 파싱합니다.
-	 */
-	private void parseCodeValuesSection(List<String> lines) {
-		boolean inCodeValues = false;
-		
-		for (int i = 0; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
-			
 			if (trimmed.equals("code_values:")) {
 				inCodeValues = true;
-				continue;
-			}
-			
-			if (inCodeValues) {
-				int indent = getIndent(line);
-				
+			} else if (inCodeValues && indent == CATEGORY_INDENT && trimmed.contains(":")) {
 				// 최상위 코드 카테고리
-				if (indent == 2 && trimmed.contains(":")) {
-					String category = trimmed.substring(0, trimmed.indexOf(":")).trim();
-					Map<String, Object> codes = parseCodeCategory(lines, i + 1, indent + 2);
-					codeValues.put(extractValue(category), codes);
-				}
+				category = new HashMap<>();
+				codeEntry = null;
+				codeValues.put(extractValue(trimmed.substring(0, trimmed.indexOf(":")).trim()), category);
 			}
 		}
+		
+		if (strRule != null) {
+			rules.put("STR", strRule);
+		}
 	}
 	
 	/**
-	 * 코드 카테고리를 파싱합니다.
+	 * rules 섹션의 한 줄을 열린 구조에 반영합니다.
+	 * 맨 위 구조의 기준 들여쓰기보다 작은 줄이면 구조를 닫고 바깥 구조에서 다시 처리합니다.
 	 */
-	private Map<String, Object> parseCodeCategory(List<String> lines, int startIndex, int expectedIndent) {
-		Map<String, Object> codes = new HashMap<>();
-		
-		for (int i = startIndex; i < lines.size(); i++) {
-			String line = lines.get(i);
-			String trimmed = line.trim();
+	private void parseRuleLine(Deque<Frame> frames, String trimmed, int indent, boolean comment) {
+		while (!frames.isEmpty()) {
+			Frame frame = frames.peek();
 			
-			if (trimmed.isEmpty()) {
-				continue;
+			// 빈 줄은 모두 건너뛰고, 주석은 요소/children에서만 건너뜀 (리스트, code_labels는 주석에서도 닫힘)
+			if (trimmed.isEmpty() || (comment && frame.skipsComments())) {
+				return;
 			}
 			
-			int indent = getIndent(line);
-			
-			if (indent < expectedIndent && !trimmed.isEmpty()) {
-				break;
+			// 들여쓰기가 줄어들면 현재 구조 파싱 종료
+			if (indent < frame.indent) {
+				frames.pop();
+				continue;
 			}
 			
-			if (indent == expectedIndent && trimmed.contains(":")) {
-				String code = trimmed.substring(0, trimmed.indexOf(":")).trim();
-				// 하위 값들 파싱 (general, card 등)
-				Map<String, String> values = new HashMap<>();
-				
-				for (int j = i + 1; j < lines.size(); j++) {
-					String subLine = lines.get(j);
-					String subTrimmed = subLine.trim();
-					int subIndent = getIndent(subLine);
-					
-					if (subIndent <= indent && !subTrimmed.isEmpty()) {
-						break;
-					}
+			switch (frame.type) {
+			case ELEMENT:
+				if (indent == frame.indent && trimmed.contains(":")) {
+					String key = trimmed.substring(0, trimmed.indexOf(":")).trim();
+					String value = trimmed.substring(trimmed.indexOf(":") + 1).trim();
 					
-					if (subTrimmed.contains(":")) {
-						String key = subTrimmed.substring(0, subTrimmed.indexOf(":")).trim();
-						String value = subTrimmed.substring(subTrimmed.indexOf(":") + 1).trim();
-						values.put(key, extractValue(value));
+					if (key.equals("children") || key.equals("attributes")) {
+						// 하위 요소 파싱
+						Map<String, Object> children = new HashMap<>();
+						frame.element.put(key, children);
+						frames.push(Frame.children(indent + 2, children));
+					} else if (key.equals("allowed_values") || key.equals("allowed_codes")) {
+						// 리스트 파싱
+						List<String> list = new ArrayList<>();
+						frame.element.put(key, list);
+						frames.push(Frame.list(indent + 2, list));
+					} else if (key.equals("code_labels")) {
+						// 코드 레이블 맵 파싱
+						Map<String, String> labels = new HashMap<>();
+						frame.element.put(key, labels);
+						frames.push(Frame.labels(indent + 2, labels));
+					} else {
+						frame.element.put(key, value.isEmpty() ? "" : extractValue(value));
 					}
 				}
-				
-				codes.put(extractValue(code), values);
+				break;
+			case CHILDREN:
+				if (indent == frame.indent && trimmed.contains(":")) {
+					String key = trimmed.substring(0, trimmed.indexOf(":")).trim();
+					Map<String, Object> child = new HashMap<>();
+					frame.element.put(key, child);
+					frames.push(Frame.element(indent + 2, child));
+				}
+				break;
+			case LIST:
+				if (trimmed.startsWith("- ")) {
+					frame.list.add(extractValue(trimmed.substring(2).trim()));
+				}
+				break;
+			case LABELS:
+				if (trimmed.contains(":")) {
+					String key = trimmed.substring(0, trimmed.indexOf(":")).trim();
+					String value = trimmed.substring(trimmed.indexOf(":") + 1).trim();
+					frame.labels.put(extractValue(key), extractValue(value));
+				}
+				break;
+			default:
+				break;
 			}
+			return;
 		}
-		
-		return codes;
 	}
 	
 	/**
@@ -367,7 +350,8 @@ public class YamlRuleParser {
 	 */
 	private int getIndent(String line) {
 		int indent = 0;
-		for (char c : line.toCharArray()) {
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
 			if (c == ' ') {
 				indent++;
 			} else if (c == '\t') {
@@ -394,10 +378,62 @@ public class YamlRuleParser {
 		return value;
 	}
 	
+	/**
+	 * rules 섹션 파싱 중 열려 있는 구조 하나와 그 구조의 기준 들여쓰기
+	 */
+	private static final class Frame {
+		
+		enum Type {
+			/** 요소 규칙 (description, occurrence, children 등의 키) */
+			ELEMENT,
+			/** children 또는 attributes (이름 -> 요소 규칙) */
+			CHILDREN,
+			/** allowed_values 또는 allowed_codes (- 항목) */
+			LIST,
+			/** code_labels (키: 값) */
+			LABELS
+		}
+		
+		final Type type;
+		final int indent;
+		final Map<String, Object> element;
+		final List<String> list;
+		final Map<String, String> labels;
+		
+		private Frame(Type type, int indent, Map<String, Object> element, List<String> list, Map<String, String> labels) {
+			this.type = type;
+			this.indent = indent;
+			this.element = element;
+			this.list = list;
+			this.labels = labels;
+		}
+		
+		static Frame element(int indent, Map<String, Object> element) {
+			return new Frame(Type.ELEMENT, indent, element, null, null);
+		}
+		
+		static Frame children(int indent, Map<String, Object> children) {
+			return new Frame(Type.CHILDREN, indent, children, null, null);
+		}
+		
+		static Frame list(int indent, List<String> list) {
+			return new Frame(Type.LIST, indent, null, list, null);
+		}
+		
+		static Frame labels(int indent, Map<String, String> labels) {
+			return new Frame(Type.LABELS, indent, null, null, labels);
+		}
+		
+		boolean skipsComments() {
+			return type == Type.ELEMENT || type == Type.CHILDREN;
+		}
+	}
+	
 	/**
 	 * 파싱된 규칙을 반환합니다.
 	 */
 	public Map<String, Object> getRules() {
+		ensureParsed();
 		return rules;
 	}
 	
@@ -405,13 +441,70 @@ public class YamlRuleParser {
 	 * 파싱된 코드 값을 반환합니다.
 	 */
 	public Map<String, Map<String, Object>> getCodeValues() {
+		ensureParsed();
 		return codeValues;
 	}
 	
+	/**
+	 * 컴파일된 규칙을 반환합니다 (검증기가 사용).
+	 */
+	public RuleSet getRuleSet() {
+		RuleSet result = ruleSet;
+		if (result == null) {
+			result = decodeSnapshot();
+		}
+		return result;
+	}
+	
+	/**
+	 * 스냅샷에서 규칙 트리를 만듭니다. 스냅샷 형식이 잘못되었으면 YAML을 파싱해서 컴파일합니다.
+	 */
+	private synchronized RuleSet decodeSnapshot() {
+		if (ruleSet != null) {
+			return ruleSet;
+		}
+		long startTime = System.currentTimeMillis();
+		RuleSet decoded;
+		try {
+			decoded = snapshot.decode();
+			System.out.println("규칙 스냅샷 로드 완료 (소요 시간: " + (System.currentTimeMillis() - startTime) + "ms)");
+		} catch (IllegalStateException e) {
+			System.err.println(e.getMessage() + " - YAML을 다시 파싱합니다.");
+			ensureParsed();
+			decoded = RuleCompiler.compile(rules, codeValues);
+		}
+		snapshot = null;
+		ruleSet = decoded;
+		return decoded;
+	}
+	
+	/**
+	 * 마지막 로드에서 YAML 대신 규칙 스냅샷을 사용했는지 여부
+	 */
+	public boolean isLoadedFromSnapshot() {
+		return loadedFromSnapshot;
+	}
+	
+	/**
+	 * {@link #load(File, String)}에 전달한 검증기 버전 (다시 로드할 때 같은 버전을 사용)
+	 */
+	public String getValidatorVersion() {
+		return validatorVersion;
+	}
+	
+	/**
+	 * 규칙 파일 내용의 지문(해시)을 반환합니다.
+	 * 규칙 파일을 수정하면 값이 바뀌므로 이전 규칙으로 만든 검증 결과 캐시를 사용하지 않게 됩니다.
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+	
 	/**
 	 * 인코딩을 반환합니다.
 	 */
 	public String getEncoding() {
+		ensureParsed();
 		return encoding;
 	}
 	
@@ -422,6 +515,7 @@ public class YamlRuleParser {
 	 * @return 유효하면 true
 	 */
 	public boolean isValidCode(String category, String code) {
+		ensureParsed();
 		Map<String, Object> categoryMap = codeValues.get(category);
 		if (categoryMap == null) {
 			return true; // 카테고리가 없으면 검증 통과
@@ -437,6 +531,7 @@ public class YamlRuleParser {
 	 */
 	@SuppressWarnings("unchecked")
 	public String getCodeLabel(String category, String code) {
+		ensureParsed();
 		Map<String, Object> categoryMap = codeValues.get(category);
 		if (categoryMap == null) {
 			return null;
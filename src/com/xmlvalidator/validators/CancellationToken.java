@@ -0,0 +1,93 @@
+package com.xmlvalidator.validators;
+
+/**
+ * 검증 중단 요청과 파일별 제한 시간을 전달하는 토큰
+ * 파서와 규칙 순회가 일정 간격으로 {@link #check()}를 호출하여, 중단되었거나 제한 시간이 지났으면
+ * {@link ValidationAbortedException}으로 검증을 멈춥니다. 그때까지 찾은 오류는 검증기에 남아 있습니다.
+ * 파일별 토큰은 전체 검증 토큰에서 만들며, 전체 검증을 중단하면 파일별 토큰도 함께 중단됩니다.
+ */
+public final class CancellationToken {
+
+	/**
+	 * 중단되지 않는 토큰 (토큰을 지정하지 않은 검증기에서 사용)
+	 */
+	public static final CancellationToken NONE = new CancellationToken(null, 0, 0);
+
+	// 규칙 순회, 파서 이벤트 처리에서 이 횟수마다 한 번씩 확인 (확인 비용을 요소 수에 비해 무시할 수 있도록)
+	static final int CHECK_INTERVAL = 256;
+
+	private final CancellationToken parent;
+	private final long timeoutMillis;
+	private final long deadlineNanos;  // 0이면 제한 시간 없음
+	private volatile boolean cancelled;
+
+	private CancellationToken(CancellationToken parent, long timeoutMillis, long deadlineNanos) {
+		this.parent = parent;
+		this.timeoutMillis = timeoutMillis;
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * 새 토큰을 만듭니다 (제한 시간 없음).
+	 */
+	public static CancellationToken create() {
+		return new CancellationToken(null, 0, 0);
+	}
+
+	/**
+	 * 이 토큰이 중단되면 함께 중단되고, 지금부터 제한 시간이 지나도 중단되는 토큰을 만듭니다.
+	 * @param timeoutMillis 제한 시간 (0 이하이면 제한 시간 없음)
+	 */
+	public CancellationToken withTimeout(long timeoutMillis) {
+		if (timeoutMillis <= 0) {
+			return new CancellationToken(this, 0, 0);
+		}
+		// 0은 제한 시간 없음으로 사용하므로 피함
+		long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+		return new CancellationToken(this, timeoutMillis, deadline == 0 ? 1 : deadline);
+	}
+
+	/**
+	 * 검증 중단을 요청합니다.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * 중단이 요청되었는지 여부 (이 토큰 또는 상위 토큰)
+	 */
+	public boolean isCancelled() {
+		return cancelled || (parent != null && parent.isCancelled());
+	}
+
+	/**
+	 * 제한 시간이 지났는지 여부
+	 */
+	public boolean isTimedOut() {
+		return deadlineNanos != 0 && System.nanoTime() - deadlineNanos >= 0;
+	}
+
+	/**
+	 * 제한 시간 (밀리초, 없으면 0)
+	 */
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	/**
+	 * 중단되었거나 제한 시간이 지났으면 검증을 멈춥니다.
+	 * @throws ValidationAbortedException 중단 또는 제한 시간 초과
+	 */
+	public void check() {
+		if (this == NONE) {
+			return;
+		}
+		if (isCancelled()) {
+			throw new ValidationAbortedException(false);
+		}
+		if (isTimedOut()) {
+			throw new ValidationAbortedException(true);
+		}
+	}
+}
@@ -1,26 +1,40 @@
 package com.xmlvalidator.validators;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import com.xmlvalidator.model.ParsedDocument;
+import com.xmlvalidator.model.SourcePosition;
 import com.xmlvalidator.model.ValidationError;
+import com.xmlvalidator.model.ValidationErrorStore;
+import com.xmlvalidator.rules.AttributeRule;
+import com.xmlvalidator.rules.CodeSet;
+import com.xmlvalidator.rules.ElementRule;
+import com.xmlvalidator.rules.FormatCheckers;
+import com.xmlvalidator.rules.ValueChecker;
+import com.xmlvalidator.util.XmlEncodingDetector;
 import com.xmlvalidator.util.YamlRuleParser;
 
 /**
@@ -29,44 +43,69 @@ import com.xmlvalidator.util.YamlRuleParser;
  */
 public class ConsistencyValidator {
 	
-	private YamlRuleParser ruleParser;
-	private List<ValidationError> errors;
-	private Map<String, Integer> elementLineNumbers;  // 요소별 라인 번호 저장 (요소이름#순번 -> 라인번호)
-	
-	// 무한 루프 방지를 위한 최대 재귀 깊이 제한
-	private static final int MAX_RECURSION_DEPTH = 100;
-	// 현재 검증 중인 요소 추적 (무한 루프 방지)
-	private java.util.Set<Element> visitedElements;
-	
-	// 성능 최적화: 파일 라인 캐시 (한 번만 읽음)
-	private List<String> cachedFileLines;
-	private File cachedFile;
+	// false이면 반복되는 형제 요소의 하위 트리도 한 스레드에서 차례로 검증 (-Dxmlvalidator.parallelSubtrees=false)
+	private static final boolean PARALLEL_SUBTREES = Boolean.parseBoolean(
+			System.getProperty("xmlvalidator.parallelSubtrees", "true"));
+	// 같은 규칙의 형제 요소가 이 수 이상이면 하위 트리들을 나눠 검증 엔진의 fork-join 풀에서 병렬로 검증 (DOM 모드)
+	private static final int PARALLEL_MIN_SIBLINGS = 128;
+	// 병렬 검증 작업 하나가 맡는 최소 형제 요소 수
+	private static final int PARALLEL_MIN_CHUNK = 16;
 	
-	// 요소별 방문 카운터 (같은 이름의 요소가 여러 개 있을 때 순서대로 라인 번호 매칭)
-	private Map<String, Integer> elementVisitCounter;
+	private YamlRuleParser ruleParser;
+	private final ValidationErrorStore errors = new ValidationErrorStore();
+	private ParsedDocument parsedDocument;  // 요소별 원본 위치 조회용 (DOM 모드)
+	private TagPositionResolver positionResolver;  // 오류 위치('<', 속성 이름) 계산용
+	// 하위 트리를 병렬로 검증하는 작업에서 찾은 오류 (null이 아니면 저장소 대신 여기에 모아 두고 원래 검증기가 문서 순서대로 추가)
+	private final List<PendingError> pendingErrors;
+	private CancellationToken cancellationToken = CancellationToken.NONE;
 	
 	public ConsistencyValidator(YamlRuleParser ruleParser) {
 		this.ruleParser = ruleParser;
-		this.errors = new ArrayList<>();
-		this.elementLineNumbers = new HashMap<>();
-		this.visitedElements = new java.util.HashSet<>();
-		this.cachedFileLines = null;
-		this.cachedFile = null;
-		this.elementVisitCounter = new HashMap<>();
+		this.pendingErrors = null;
+	}
+	
+	/**
+	 * 하위 트리 병렬 검증 작업용 검증기 (규칙, 요소 위치는 원래 검증기와 공유)
+	 * 오류 위치 계산기는 스레드 안전하지 않으므로 공유하지 않고, 오류는 위치를 계산하지 않은 채 모아 둡니다.
+	 */
+	private ConsistencyValidator(ConsistencyValidator parent) {
+		this.ruleParser = parent.ruleParser;
+		this.parsedDocument = parent.parsedDocument;
+		this.pendingErrors = new ArrayList<>();
+		this.cancellationToken = parent.cancellationToken;
+	}
+	
+	/**
+	 * 규칙 순회 중에 확인할 중단 토큰을 지정합니다.
+	 * 중단되거나 제한 시간이 지나면 {@link ValidationAbortedException}이 발생하며, 그때까지 찾은 오류는 {@link #getErrors()}로 확인할 수 있습니다.
+	 * @param cancellationToken 중단 토큰 (null이면 중단하지 않음)
+	 */
+	public void setCancellationToken(CancellationToken cancellationToken) {
+		this.cancellationToken = cancellationToken != null ? cancellationToken : CancellationToken.NONE;
 	}
 	
 	/**
 	 * XML 파일의 정합성을 체크합니다.
+	 * 파일을 직접 파싱하므로, 문법 검증 결과가 이미 있는 경우에는 {@link #validate(ParsedDocument)}를 사용합니다.
 	 * @param xmlFile 체크할 XML 파일
 	 * @return 정합성 오류가 없으면 true, 있으면 false
 	 */
 	public boolean validate(File xmlFile) {
+		// 인코딩은 규칙 파일 설정이 아니라 XML 파일의 BOM/XML 선언에서 감지
+		return validate(new XmlSyntaxValidator().parse(xmlFile));
+	}
+	
+	/**
+	 * 문법 검증 단계에서 파싱된 결과로 정합성을 체크합니다.
+	 * 파일을 다시 읽거나 파싱하지 않고 전달받은 DOM과 요소별 원본 위치를 그대로 사용합니다.
+	 * @param parsed 문법 검증 단계의 파싱 결과
+	 * @return 정합성 오류가 없으면 true, 있으면 false
+	 */
+	public boolean validate(ParsedDocument parsed) {
+		File xmlFile = parsed.getFile();
 		errors.clear();
-		elementLineNumbers.clear();
-		visitedElements.clear();
-		elementVisitCounter.clear();
-		cachedFileLines = null;
-		cachedFile = null;
+		parsedDocument = parsed;
+		positionResolver = new TagPositionResolver(xmlFile, parsed.getCharset(), parsed.getContent());
 		
 		// ruleParser가 null인지 확인
 		if (ruleParser == null) {
@@ -82,45 +121,16 @@ public class ConsistencyValidator {
 			return false;
 		}
 		
+		// 파싱에 실패한 문서는 검증할 수 없음
+		Document doc = parsed.getDocument();
+		if (doc == null) {
+			String reason = parsed.getSyntaxErrors().isEmpty() ? "문서를 파싱할 수 없습니다." 
+					: parsed.getSyntaxErrors().get(parsed.getSyntaxErrors().size() - 1).getMessage();
+			addError(xmlFile, 1, -1, "정합성 검사 오류: " + reason);
+			return false;
+		}
+		
 		try {
-			// 인코딩 처리
-			String encoding = ruleParser.getEncoding();
-			
-			// 먼저 라인 번호 매핑 생성 (항상 최신 파일에서 읽음)
-			buildLineNumberMap(xmlFile, encoding);
-			
-			// DocumentBuilderFactory를 매번 새로 생성하여 캐시 방지
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			factory.setNamespaceAware(true);
-			// 캐시 방지를 위한 추가 설정
-			factory.setValidating(false);
-			// 엔티티 해석 비활성화 (캐시 방지)
-			factory.setExpandEntityReferences(false);
-			factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			
-			// 항상 FileInputStream을 사용하여 최신 파일 내용을 읽음
-			// 파일 수정 시간을 확인하여 항상 최신 파일을 읽도록 보장
-			Document doc;
-			if (encoding != null && !encoding.isEmpty()) {
-				try (FileInputStream fis = new FileInputStream(xmlFile)) {
-					org.xml.sax.InputSource is = new org.xml.sax.InputSource(fis);
-					is.setEncoding(encoding);
-					// SystemId를 설정하여 파일 경로 명시 (캐시 방지)
-					is.setSystemId(xmlFile.toURI().toString());
-					// 파일을 항상 새로 읽기 위해 캐시를 사용하지 않음
-					doc = builder.parse(is);
-				}
-			} else {
-				// 인코딩이 없어도 FileInputStream을 사용하여 최신 내용 보장
-				try (FileInputStream fis = new FileInputStream(xmlFile)) {
-					org.xml.sax.InputSource is = new org.xml.sax.InputSource(fis);
-					is.setSystemId(xmlFile.toURI().toString());
-					// 파일을 항상 새로 읽기 위해 캐시를 사용하지 않음
-					doc = builder.parse(is);
-				}
-			}
-			
 			// 루트 요소 검증
 			Element root = doc.getDocumentElement();
 			if (root == null) {
@@ -137,16 +147,18 @@ public class ConsistencyValidator {
 				}
 			}
 			
-			@SuppressWarnings("unchecked")
-			Map<String, Object> rootRule = (Map<String, Object>) ruleParser.getRules().get(rootElementName);
+			ElementRule rootRule = ruleParser.getRuleSet().getRootRule(rootElementName);
 			if (rootRule != null) {
-				validateElement(xmlFile, root, rootRule, rootElementName);
+				validateElement(xmlFile, root, rootRule);
 			} else {
 				addError(xmlFile, 1, -1, "루트 요소 '" + rootElementName + "'에 대한 규칙이 정의되지 않았습니다.");
 			}
 			
 			return errors.isEmpty();
 			
+		} catch (ValidationAbortedException e) {
+			// 중단은 오류로 바꾸지 않고 호출한 쪽에서 처리
+			throw e;
 		} catch (Exception e) {
 			addError(xmlFile, 1, -1, "정합성 검사 오류: " + e.getMessage());
 			return false;
@@ -154,289 +166,564 @@ public class ConsistencyValidator {
 	}
 	
 	/**
-	 * XML 파일 내용을 캐시합니다 (성능 최적화).
-	 * 항상 최신 파일을 읽기 위해 캐시를 사용하지 않습니다.
+	 * 스트리밍 모드로 XML 파일의 정합성을 체크합니다.
+	 * DOM을 만들지 않고 StAX 이벤트가 도착하는 대로 children/attributes/occurrence 규칙을 검사하므로
+	 * 메모리 사용량이 문서 크기가 아니라 요소 깊이에 비례합니다.
+	 * 요소 위치는 DOM 모드와 같이 파서가 알려주는 시작 태그 위치를 사용합니다.
+	 * @param xmlFile 체크할 XML 파일
+	 * @return 정합성 오류가 없으면 true, 있으면 false
 	 */
-	private void cacheFileLines(File xmlFile, String encoding) {
-		// 항상 최신 파일을 읽기 위해 캐시를 무시하고 새로 읽음
-		cachedFileLines = new ArrayList<>();
-		cachedFile = xmlFile;
+	public boolean validateStreaming(File xmlFile) {
+		return validateStreaming(xmlFile, null);
+	}
+	
+	/**
+	 * 문법 검증 단계에서 감지한 인코딩으로 스트리밍 정합성 체크를 수행합니다.
+	 * @param xmlFile 체크할 XML 파일
+	 * @param charset 파일 인코딩 (null이면 BOM/XML 선언에서 다시 감지)
+	 * @return 정합성 오류가 없으면 true, 있으면 false
+	 */
+	public boolean validateStreaming(File xmlFile, Charset charset) {
+		errors.clear();
+		positionResolver = null;
 		
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new FileInputStream(xmlFile), 
-						encoding != null ? encoding : "UTF-8"))) {
-			
-			String line;
-			int lineCount = 0;
-			while ((line = reader.readLine()) != null && lineCount < MAX_LINES_TO_READ) {
-				cachedFileLines.add(line);
-				lineCount++;
+		// ruleParser가 null인지 확인
+		if (ruleParser == null) {
+			System.err.println("규칙 파서가 초기화되지 않았습니다.");
+			addError(xmlFile, -1, -1, "규칙 파서가 초기화되지 않았습니다.");
+			return false;
+		}
+		
+		// 파일이 존재하는지 확인
+		if (!xmlFile.exists()) {
+			System.err.println("파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath());
+			addError(xmlFile, -1, -1, "파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath());
+			return false;
+		}
+		
+		// 팩토리는 스레드별로 재사용 (조회/설정 비용 절감)
+		XMLInputFactory factory = ParserPool.xmlInputFactory();
+		
+		// 항상 새 FileInputStream을 사용하여 최신 파일 내용을 읽음
+		try (InputStream in = new BufferedInputStream(new FileInputStream(xmlFile))) {
+			if (charset == null) {
+				charset = XmlEncodingDetector.detect(xmlFile);
 			}
-			
+			// 지원하지 않는 인코딩 선언은 파서가 직접 감지하고 오류를 보고
+			XMLStreamReader reader = charset != null
+					? factory.createXMLStreamReader(in, charset.name())
+					: factory.createXMLStreamReader(xmlFile.toURI().toString(), in);
+			positionResolver = new TagPositionResolver(xmlFile, charset, null);
+			try {
+				streamElements(xmlFile, reader);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			Location location = e.getLocation();
+			int lineNum = location != null && location.getLineNumber() > 0 ? location.getLineNumber() : 1;
+			int columnNum = location != null && location.getColumnNumber() > 0 ? location.getColumnNumber() : -1;
+			addError(xmlFile, lineNum, columnNum, "정합성 검사 오류: " + e.getMessage());
+		} catch (ValidationAbortedException e) {
+			throw e;
 		} catch (Exception e) {
-			cachedFileLines = new ArrayList<>();
+			addError(xmlFile, 1, -1, "정합성 검사 오류: " + e.getMessage());
 		}
+		
+		return errors.isEmpty();
 	}
 	
 	/**
-	 * XML 파일에서 요소별 라인 번호를 매핑합니다.
+	 * StAX 이벤트를 읽으면서 요소별 규칙을 검사합니다.
+	 * 열린 요소마다 하나의 프레임만 유지하며, 요소가 닫힐 때 텍스트 값과 자식 발생 횟수를 검사합니다.
 	 */
-	private void buildLineNumberMap(File xmlFile, String encoding) {
-		// 먼저 파일 캐시
-		cacheFileLines(xmlFile, encoding);
-		
-		Pattern elementPattern = Pattern.compile("<([a-zA-Z][a-zA-Z0-9_]*)(?:\\s|>|/)");
-		Map<String, Integer> elementCounts = new HashMap<>();
+	private void streamElements(File xmlFile, XMLStreamReader reader) throws XMLStreamException {
+		Deque<StreamFrame> stack = new ArrayDeque<>();
+		int elementCount = 0;
 		
-		for (int i = 0; i < cachedFileLines.size(); i++) {
-			String line = cachedFileLines.get(i);
-			int lineNumber = i + 1;
-			Matcher matcher = elementPattern.matcher(line);
+		while (reader.hasNext()) {
+			int event = reader.next();
 			
-			while (matcher.find()) {
-				String elementName = matcher.group(1);
-				// 요소 이름과 출현 순서를 키로 사용
-				int count = elementCounts.getOrDefault(elementName, 0) + 1;
-				elementCounts.put(elementName, count);
-				String key = elementName + "#" + count;
-				elementLineNumbers.put(key, lineNumber);
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (++elementCount % CancellationToken.CHECK_INTERVAL == 0) {
+					cancellationToken.check();
+				}
+				String localName = reader.getLocalName();
+				Location location = reader.getLocation();
+				SourcePosition position = XmlSyntaxValidator.startTagPosition(location.getLineNumber(), 
+						location.getColumnNumber());
+				StreamFrame parent = stack.peek();
+				
+				ElementRule rule = null;
+				if (parent == null) {
+					// 루트 요소 이름으로 규칙 가져오기 (STR이 아닌 다른 루트 요소도 지원)
+					rule = ruleParser.getRuleSet().getRootRule(localName);
+					if (rule == null) {
+						addError(xmlFile, 1, -1, "루트 요소 '" + localName + "'에 대한 규칙이 정의되지 않았습니다.");
+					}
+				} else if (parent.rule != null) {
+					rule = parent.rule.getChild(localName);
+					if (rule != null) {
+						parent.countChild(rule.getIndex(), position);
+					}
+				}
 				
-				// 단순 요소 이름으로도 첫 번째 출현 저장
-				if (count == 1) {
-					elementLineNumbers.put(elementName, lineNumber);
+				// 규칙이 없는 요소의 하위 트리는 DOM 모드와 마찬가지로 검사하지 않음
+				if (rule == null) {
+					stack.push(StreamFrame.SKIPPED);
+					continue;
+				}
+				
+				StreamFrame frame = new StreamFrame(rule, position);
+				
+				// 1. 속성 검증 (리더가 시작 태그에 있는 동안 수행)
+				if (!rule.getAttributes().isEmpty()) {
+					checkAttributes(xmlFile, rule, position, attrName -> getAttributeValue(reader, attrName));
+				}
+				
+				// 허용 코드 검증에 필요한 Code 속성은 요소가 닫힐 때까지 보관
+				if (rule.getAllowedCodes() != null) {
+					frame.codeValue = reader.getAttributeValue(null, "Code");
+				}
+				
+				stack.push(frame);
+				
+			} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+				StreamFrame frame = stack.peek();
+				if (frame != null && frame.rule != null && frame.rule.collectsText()) {
+					frame.appendText(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				}
+				
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				StreamFrame frame = stack.pop();
+				if (frame != StreamFrame.SKIPPED) {
+					finishStreamElement(xmlFile, frame);
 				}
 			}
 		}
 	}
 	
 	/**
-	 * 요소 이름으로 라인 번호를 찾습니다.
-	 * 같은 이름의 요소가 여러 개 있을 때는 첫 번째 요소의 라인 번호를 반환합니다.
+	 * 닫힌 요소의 텍스트 값과 자식 요소 발생 횟수를 검사합니다.
+	 * 검사 순서는 DOM 모드의 validateElement와 동일합니다.
 	 */
-	private int getLineNumber(String elementName) {
-		Integer lineNum = elementLineNumbers.get(elementName);
-		return lineNum != null ? lineNum : -1;
+	private void finishStreamElement(File xmlFile, StreamFrame frame) {
+		ElementRule rule = frame.rule;
+		SourcePosition position = frame.position;
+		
+		// 2~4. 요소 텍스트 값 검증 (필수 여부, 데이터 타입, 포맷)
+		if (rule.collectsText()) {
+			checkText(xmlFile, position, rule, frame.getText());
+		}
+		
+		// 5. 허용 코드 검증
+		if (rule.getAllowedCodes() != null) {
+			checkAllowedCodes(xmlFile, position, rule, frame.codeValue);
+		}
+		
+		// 6. 자식 요소 발생 횟수 검증 (자식 요소 자체는 이미 닫히면서 검증됨)
+		for (ElementRule childRule : rule.getChildren()) {
+			int count = frame.getChildCount(childRule.getIndex());
+			// 없는 경우 부모 위치, 초과한 경우 초과한 첫 번째 자식 위치
+			SourcePosition occurrencePosition = count > 1 ? frame.getSurplusPosition(childRule.getIndex()) : position;
+			validateOccurrence(xmlFile, count, childRule, rule.getPath(), occurrencePosition);
+		}
 	}
 	
-	// 파일 읽기 시 최대 라인 수 제한 (무한 루프 방지)
-	private static final int MAX_LINES_TO_READ = 100000;
-	
 	/**
-	 * 요소의 실제 라인 번호를 찾습니다 (성능 최적화 버전).
-	 * 캐시된 라인을 사용하여 파일을 다시 읽지 않습니다.
-	 * 각 요소의 방문 순서를 추적하여 정확한 라인 번호를 반환합니다.
+	 * StAX 리더의 현재 시작 태그에서 속성 값을 읽습니다.
+	 * DOM 모드의 getAttributeValue와 같은 순서로 (정규화 이름, 네임스페이스 없는 로컬 이름, 로컬 이름) 찾습니다.
+	 * @return 속성 값 (없으면 null)
 	 */
-	private int findElementLineNumber(File xmlFile, Element element, String path, String encoding) {
-		// 요소 이름 추출
-		String elementName = element.getLocalName();
-		if (elementName == null) {
-			elementName = element.getNodeName();
-			if (elementName.contains(":")) {
-				elementName = elementName.substring(elementName.indexOf(":") + 1);
-			}
-		}
+	private String getAttributeValue(XMLStreamReader reader, String attrName) {
+		int count = reader.getAttributeCount();
+		String attrValue = null;
 		
-		// 캐시된 라인이 없으면 기본 라인 번호 반환
-		if (cachedFileLines == null || cachedFileLines.isEmpty()) {
-			return getLineNumber(elementName);
+		// 방법 1: 정규화 이름(prefix:local)이 일치하는 속성
+		for (int i = 0; i < count; i++) {
+			if (attrName.equals(getQualifiedAttributeName(reader, i))) {
+				attrValue = reader.getAttributeValue(i);
+				break;
+			}
 		}
 		
-		// 방문 카운터 증가 및 순번 기반 라인 번호 조회
-		int visitCount = elementVisitCounter.getOrDefault(elementName, 0) + 1;
-		elementVisitCounter.put(elementName, visitCount);
-		
-		// 요소이름#순번 형식으로 정확한 라인 번호 조회
-		String key = elementName + "#" + visitCount;
-		Integer lineNum = elementLineNumbers.get(key);
-		if (lineNum != null && lineNum > 0) {
-			return lineNum;
+		// 방법 2: 네임스페이스 처리
+		if (attrValue == null || attrValue.isEmpty()) {
+			String localName = attrName;
+			if (localName.contains(":")) {
+				localName = localName.substring(localName.indexOf(":") + 1);
+			}
+			for (int i = 0; i < count; i++) {
+				String namespace = reader.getAttributeNamespace(i);
+				if ((namespace == null || namespace.isEmpty()) && localName.equals(reader.getAttributeLocalName(i))) {
+					attrValue = reader.getAttributeValue(i);
+					break;
+				}
+			}
 		}
 		
-		// 찾지 못한 경우 첫 번째 출현 위치 사용
-		lineNum = elementLineNumbers.get(elementName);
-		if (lineNum != null && lineNum > 0) {
-			return lineNum;
+		// 방법 3: 로컬 이름이 일치하는 첫 번째 속성 (fallback)
+		if (attrValue == null || attrValue.isEmpty()) {
+			for (int i = 0; i < count; i++) {
+				if (attrName.equals(getQualifiedAttributeName(reader, i)) 
+						|| attrName.equals(reader.getAttributeLocalName(i))) {
+					attrValue = reader.getAttributeValue(i);
+					break;
+				}
+			}
 		}
 		
-		// 그래도 찾지 못하면 기본값 1 반환
-		return 1;
+		return attrValue;
+	}
+	
+	private String getQualifiedAttributeName(XMLStreamReader reader, int index) {
+		String prefix = reader.getAttributePrefix(index);
+		String localName = reader.getAttributeLocalName(index);
+		return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
 	}
 	
 	/**
-	 * 속성의 라인 번호를 찾습니다 (성능 최적화 버전).
-	 * 요소의 라인 번호를 반환합니다 (속성은 같은 라인에 있다고 가정).
+	 * 스트리밍 모드에서 열린 요소 하나의 검사 상태
+	 * 자식 요소 수는 규칙에 정의된 자식에 대해서만 자식 규칙의 위치(index)별로 센다.
 	 */
-	private int findAttributeLineNumber(File xmlFile, Element element, String path, String attrName, String encoding) {
-		// 요소의 라인 번호를 그대로 사용 (성능 최적화)
-		int elementLineNum = findElementLineNumber(xmlFile, element, path, encoding);
-		if (elementLineNum < 0) {
-			elementLineNum = 1;
+	private static class StreamFrame {
+		
+		// 규칙이 없는 하위 트리를 표시하는 공용 프레임
+		static final StreamFrame SKIPPED = new StreamFrame(null, null);
+		
+		final ElementRule rule;
+		final SourcePosition position;
+		String codeValue;
+		private StringBuilder text;
+		private int[] childCounts;
+		private SourcePosition[] surplusPositions;
+		
+		StreamFrame(ElementRule rule, SourcePosition position) {
+			this.rule = rule;
+			this.position = position;
+		}
+		
+		void appendText(char[] chars, int start, int length) {
+			if (text == null) {
+				// 앞쪽 공백은 어차피 trim 되므로 보관하지 않음
+				while (length > 0 && Character.isWhitespace(chars[start])) {
+					start++;
+					length--;
+				}
+				if (length == 0) {
+					return;
+				}
+				text = new StringBuilder(length);
+			}
+			text.append(chars, start, length);
+		}
+		
+		String getText() {
+			return text != null ? text.toString().trim() : "";
+		}
+		
+		void countChild(int childIndex, SourcePosition childPosition) {
+			if (childCounts == null) {
+				int size = rule.getChildren().size();
+				childCounts = new int[size];
+				surplusPositions = new SourcePosition[size];
+			}
+			if (++childCounts[childIndex] == 2) {
+				surplusPositions[childIndex] = childPosition;
+			}
+		}
+		
+		int getChildCount(int childIndex) {
+			return childCounts != null ? childCounts[childIndex] : 0;
+		}
+		
+		SourcePosition getSurplusPosition(int childIndex) {
+			SourcePosition surplus = surplusPositions != null ? surplusPositions[childIndex] : null;
+			return surplus != null ? surplus : position;
 		}
-		return elementLineNum;
 	}
 	
 	/**
-	 * 요소를 검증합니다.
+	 * 요소의 원본 위치(시작 태그 위치)를 반환합니다.
+	 * 파싱 단계에서 파서가 알려준 위치를 기록해 두었으므로 파일을 다시 읽거나 스캔하지 않습니다.
 	 */
-	@SuppressWarnings("unchecked")
-	private void validateElement(File xmlFile, Element element, Map<String, Object> rule, String path) {
-		validateElement(xmlFile, element, rule, path, 0);
+	private SourcePosition getPosition(Element element) {
+		SourcePosition position = parsedDocument != null ? parsedDocument.getPosition(element) : null;
+		return position != null ? position : new SourcePosition(1, -1);
 	}
 	
 	/**
-	 * 요소를 검증합니다 (재귀 깊이 추적 포함).
+	 * 요소와 하위 요소들을 검증합니다.
+	 * 재귀 대신 열린 요소의 스택으로 깊이 우선 순회하므로 깊이 제한이 없고,
+	 * 추가 메모리는 현재 경로의 요소 수(와 그 요소들의 자식 목록)에만 비례합니다.
+	 * DOM 트리에는 순환이 없으므로 방문한 요소를 따로 기록하지 않습니다.
+	 * 검사 순서는 재귀 방식과 같습니다: 요소 자신 검사, 그다음 자식 규칙마다 발생 횟수 검사 후 해당 자식들을 차례로 검사.
 	 */
-	@SuppressWarnings("unchecked")
-	private void validateElement(File xmlFile, Element element, Map<String, Object> rule, String path, int depth) {
-		// 무한 루프 방지: 최대 재귀 깊이 체크
-		if (depth > MAX_RECURSION_DEPTH) {
-			addError(xmlFile, 1, -1, "정합성 검사 오류: 최대 검증 깊이를 초과했습니다. 경로: " + path);
-			return;
+	private void validateElement(File xmlFile, Element root, ElementRule rootRule) {
+		Deque<DomFrame> stack = new ArrayDeque<>();
+		DomFrame rootFrame = enterElement(xmlFile, root, rootRule);
+		if (rootFrame != null) {
+			stack.push(rootFrame);
 		}
 		
-		// 무한 루프 방지: 이미 방문한 요소인지 체크
-		if (visitedElements.contains(element)) {
-			return;
+		int steps = 0;
+		while (!stack.isEmpty()) {
+			if (++steps % CancellationToken.CHECK_INTERVAL == 0) {
+				cancellationToken.check();
+			}
+			DomFrame frame = stack.peek();
+			List<ElementRule> childRules = frame.rule.getChildren();
+			if (frame.ruleIndex >= childRules.size()) {
+				stack.pop();
+				continue;
+			}
+			
+			ElementRule childRule = childRules.get(frame.ruleIndex);
+			List<Element> childElements = frame.childBuckets.get(frame.ruleIndex);
+			if (frame.elementIndex < 0) {
+				// occurrence 검증
+				// 없는 경우 부모 위치, 초과한 경우 초과한 첫 번째 자식 위치
+				SourcePosition occurrencePosition = childElements.size() > 1 ? getPosition(childElements.get(1)) 
+						: getPosition(frame.element);
+				validateOccurrence(xmlFile, childElements.size(), childRule, frame.rule.getPath(), occurrencePosition);
+				frame.elementIndex = 0;
+				
+				// 반복되는 형제 요소가 많으면 하위 트리들을 병렬로 검증 (병렬 작업 안에서는 다시 나누지 않음)
+				// 검증 엔진의 작업 스레드(fork-join 풀)에서 실행될 때만 나누며, 그 밖의 스레드에서는 차례로 검증
+				ForkJoinPool pool = ForkJoinTask.getPool();
+				if (pendingErrors == null && PARALLEL_SUBTREES && childElements.size() >= PARALLEL_MIN_SIBLINGS
+						&& pool != null && pool.getParallelism() > 1) {
+					validateSubtreesInParallel(xmlFile, childElements, childRule, pool.getParallelism());
+					frame.elementIndex = childElements.size();
+				}
+			}
+			
+			if (frame.elementIndex < childElements.size()) {
+				// 다음 자식 요소 검증 (자식이 있으면 그 하위 트리를 먼저 끝냄)
+				Element child = childElements.get(frame.elementIndex++);
+				DomFrame childFrame = enterElement(xmlFile, child, childRule);
+				if (childFrame != null) {
+					stack.push(childFrame);
+				}
+			} else {
+				frame.ruleIndex++;
+				frame.elementIndex = -1;
+			}
+		}
+	}
+	
+	/**
+	 * 같은 규칙의 형제 요소들을 연속 구간으로 나눠 각 하위 트리를 현재 스레드의 fork-join 풀에서 병렬로 검증합니다.
+	 * 구간 작업은 현재 스레드의 작업 큐에 넣어 두고 기다리는 동안 직접 실행하므로,
+	 * 다른 작업 스레드가 모두 파일을 검증하고 있으면 차례로 검증한 것과 같은 수의 스레드만 사용하고
+	 * 파일을 기다리며 쉬는 작업 스레드가 있을 때만 남은 구간을 나눠 실행합니다.
+	 * 구간마다 별도의 검증기로 오류를 모은 뒤 구간 순서대로 추가하므로,
+	 * 오류 순서와 중복 제거 결과는 차례로 검증한 것과 같습니다.
+	 * 구간들은 서로 다른 하위 트리만 읽으며, DOM은 검증하는 동안 바뀌지 않습니다.
+	 */
+	private void validateSubtreesInParallel(File xmlFile, List<Element> elements, ElementRule rule, int parallelism) {
+		// 구간 크기가 고르지 않아도 스레드가 놀지 않도록 스레드 수보다 여러 배 많은 구간으로 나눔
+		int chunkSize = Math.max(PARALLEL_MIN_CHUNK, (elements.size() + parallelism * 4 - 1) / (parallelism * 4));
+		List<ForkJoinTask<List<PendingError>>> tasks = new ArrayList<>();
+		for (int start = 0; start < elements.size(); start += chunkSize) {
+			List<Element> chunk = elements.subList(start, Math.min(start + chunkSize, elements.size()));
+			tasks.add(ForkJoinTask.adapt(() -> {
+				ConsistencyValidator worker = new ConsistencyValidator(this);
+				for (Element element : chunk) {
+					worker.validateElement(xmlFile, element, rule);
+				}
+				return worker.pendingErrors;
+			}).fork());
 		}
-		visitedElements.add(element);
 		
-		// 인코딩 가져오기
-		String encoding = null;
+		// 문서 순서대로 오류 위치를 계산하여 추가 (다른 스레드가 가져가지 않은 구간은 join에서 이 스레드가 실행)
+		// 작업이 중단되면 join이 같은 ValidationAbortedException을 다시 던지며, 앞 구간의 오류는 이미 추가된 상태로 남음
 		try {
-			if (ruleParser != null) {
-				encoding = ruleParser.getEncoding();
+			for (ForkJoinTask<List<PendingError>> task : tasks) {
+				for (PendingError error : task.join()) {
+					if (error.position == null) {
+						addError(error.file, error.lineNumber, error.columnNumber, error.message);
+					} else if (error.attrName != null) {
+						addAttributeError(error.file, error.position, error.attrName, error.message);
+					} else {
+						addError(error.file, error.position, error.message);
+					}
+				}
 			}
-		} catch (Exception e) {
-			// 무시
-		}
-		if (encoding == null || encoding.isEmpty()) {
-			encoding = "UTF-8";
+		} catch (RuntimeException e) {
+			// 아직 실행하지 않은 구간이 작업 큐에 남아 문서를 붙잡고 있지 않도록 취소
+			for (ForkJoinTask<List<PendingError>> task : tasks) {
+				task.cancel(false);
+			}
+			throw e;
 		}
+	}
+	
+	/**
+	 * 병렬 검증 작업에서 찾은, 위치를 아직 계산하지 않은 오류
+	 */
+	private static class PendingError {
+		
+		final File file;
+		final SourcePosition position;  // null이면 lineNumber, columnNumber를 그대로 사용
+		final String attrName;  // 속성 오류이면 속성 이름
+		final int lineNumber;
+		final int columnNumber;
+		final String message;
 		
+		PendingError(File file, SourcePosition position, String attrName, int lineNumber, int columnNumber,
+				String message) {
+			this.file = file;
+			this.position = position;
+			this.attrName = attrName;
+			this.lineNumber = lineNumber;
+			this.columnNumber = columnNumber;
+			this.message = message;
+		}
+	}
+	
+	/**
+	 * 요소 자신(속성, 텍스트 값, 허용 코드)을 검증합니다.
+	 * @return 자식 규칙이 있으면 자식 요소를 규칙별로 나눈 순회 프레임, 없으면 null
+	 */
+	private DomFrame enterElement(File xmlFile, Element element, ElementRule rule) {
 		// 1. 속성 검증
-		@SuppressWarnings("unchecked")
-		Map<String, Object> attributes = (Map<String, Object>) rule.get("attributes");
-		if (attributes != null) {
-			validateAttributes(xmlFile, element, attributes, path);
+		if (!rule.getAttributes().isEmpty()) {
+			validateAttributes(xmlFile, element, rule);
 		}
 		
-		// 2. 요소 텍스트 값 필수 여부 검증
-		String required = (String) rule.get("required");
-		String dataType = (String) rule.get("data_type");
-		boolean isRequired = "required".equalsIgnoreCase(required) || 
-							 (required != null && required.contains("required"));
-		
-		// 요소의 직접 텍스트 값 가져오기 (자식 요소의 텍스트 제외)
-		String textValue = getDirectTextContent(element);
+		// 2~4. 요소 텍스트 값 검증 (필수 여부, 데이터 타입, 포맷)
+		// 텍스트 값을 검사하는 규칙이 있을 때만 요소의 직접 텍스트 값을 가져옴 (자식 요소의 텍스트 제외)
+		if (rule.collectsText()) {
+			checkText(xmlFile, getPosition(element), rule, getDirectTextContent(element));
+		}
 		
-		// 필수 요소인데 텍스트 값이 비어있으면 오류
-		if (isRequired && (textValue == null || textValue.trim().isEmpty())) {
-			// 자식 요소가 없는 경우에만 텍스트 값 필수 검증 (leaf 노드)
-			// 자식 요소가 있는 경우는 자식 요소들이 필수인지 별도로 검증
-			Map<String, Object> children = (Map<String, Object>) rule.get("children");
-			if (children == null || children.isEmpty()) {
-				int lineNum = findElementLineNumber(xmlFile, element, path, encoding);
-				if (lineNum < 0) lineNum = 1;
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 값은 필수입니다.");
-			}
+		// 5. 허용 코드 검증
+		if (rule.getAllowedCodes() != null) {
+			validateAllowedCodes(xmlFile, element, rule);
 		}
 		
-		// 3. 데이터 타입 검증 (최대 길이 등)
-		if (dataType != null && !dataType.isEmpty()) {
-			validateDataType(xmlFile, element, dataType, path, encoding);
+		// 6. 자식 요소 검증 (호출한 쪽에서 순회)
+		if (rule.getChildren().isEmpty()) {
+			return null;
 		}
+		return new DomFrame(element, rule, groupChildElements(element, rule));
+	}
+	
+	/**
+	 * DOM 순회 중 열린 요소 하나의 상태 (다음에 검사할 자식 규칙과 그 규칙의 다음 자식 요소 위치)
+	 */
+	private static class DomFrame {
 		
-		// 4. 포맷 검증
-		String format = (String) rule.get("format");
-		if (format != null && !format.isEmpty()) {
-			validateFormat(xmlFile, element, format, path, encoding);
+		final Element element;
+		final ElementRule rule;
+		final List<List<Element>> childBuckets;
+		int ruleIndex;
+		int elementIndex = -1;  // -1이면 현재 자식 규칙의 발생 횟수를 아직 검사하지 않음
+		
+		DomFrame(Element element, ElementRule rule, List<List<Element>> childBuckets) {
+			this.element = element;
+			this.rule = rule;
+			this.childBuckets = childBuckets;
+		}
+	}
+	
+	/**
+	 * 요소 텍스트 값의 필수 여부, 데이터 타입, 포맷을 검증합니다 (DOM/스트리밍 모드 공통).
+	 * @param textValue 앞뒤 공백을 제거한 직접 텍스트 값
+	 */
+	private void checkText(File xmlFile, SourcePosition position, ElementRule rule, String textValue) {
+		// 필수 요소인데 텍스트 값이 비어있으면 오류
+		// 자식 요소가 없는 경우에만 텍스트 값 필수 검증 (leaf 노드)
+		// 자식 요소가 있는 경우는 자식 요소들이 필수인지 별도로 검증
+		if (rule.isTextRequired() && textValue.isEmpty()) {
+			addError(xmlFile, position,
+					rule.getPath() + " 요소의 값은 필수입니다.");
 		}
 		
-		// 5. 허용 코드 검증
-		List<String> allowedCodes = (List<String>) rule.get("allowed_codes");
-		if (allowedCodes != null && !allowedCodes.isEmpty()) {
-			validateAllowedCodes(xmlFile, element, allowedCodes, path, encoding);
+		// 데이터 타입 검증 (최대 길이 등)
+		if (rule.isNumeric() || rule.getMaxLength() >= 0) {
+			checkDataType(xmlFile, position, rule, textValue);
 		}
 		
-		// 6. 자식 요소 검증
-		Map<String, Object> childrenRule = (Map<String, Object>) rule.get("children");
-		if (childrenRule != null) {
-			validateChildren(xmlFile, element, childrenRule, path, depth);
+		// 포맷 검증
+		if (!rule.getFormats().isEmpty()) {
+			checkFormat(xmlFile, position, rule, textValue);
 		}
 	}
 	
 	/**
 	 * 속성을 검증합니다.
 	 */
-	@SuppressWarnings("unchecked")
-	private void validateAttributes(File xmlFile, Element element, Map<String, Object> attributes, String path) {
-		// 요소의 실제 라인 번호 찾기
-		String encoding = null;
-		try {
-			if (ruleParser != null) {
-				encoding = ruleParser.getEncoding();
-			}
-		} catch (Exception e) {
-			// 무시
-		}
-		if (encoding == null || encoding.isEmpty()) {
-			encoding = "UTF-8";
+	private void validateAttributes(File xmlFile, Element element, ElementRule rule) {
+		checkAttributes(xmlFile, rule, getPosition(element), attrName -> getAttributeValue(element, attrName));
+	}
+	
+	/**
+	 * DOM 요소에서 속성 값을 읽습니다.
+	 * 따옴표 안의 모든 값을 정확히 읽기 위해 getAttribute() 우선 사용
+	 * ZipCode="419679"의 경우 정확히 6자리를 모두 읽어야 함
+	 * @return 속성 값 (없으면 null)
+	 */
+	private String getAttributeValue(Element element, String attrName) {
+		String attrValue = null;
+		
+		// 방법 1: getAttribute() 먼저 시도 (가장 안정적이고 정확함)
+		// getAttribute()는 XML 속성 값을 정규화하지 않고 원본 그대로 반환
+		if (element.hasAttribute(attrName)) {
+			attrValue = element.getAttribute(attrName);
 		}
-		int baseLineNum = findElementLineNumber(xmlFile, element, path, encoding);
 		
-		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-			String attrName = entry.getKey();
-			Object attrRule = entry.getValue();
-			
-			// 라인 번호
-			int lineNum = baseLineNum > 0 ? baseLineNum : 1;
-			
-			// 속성 값 읽기 - 따옴표 안의 모든 값을 정확히 읽기 위해 getAttribute() 우선 사용
-			// ZipCode="419679"의 경우 정확히 6자리를 모두 읽어야 함
-			String attrValue = null;
-			
-			// 방법 1: getAttribute() 먼저 시도 (가장 안정적이고 정확함)
-			// getAttribute()는 XML 속성 값을 정규화하지 않고 원본 그대로 반환
-			if (element.hasAttribute(attrName)) {
-				attrValue = element.getAttribute(attrName);
+		// 방법 2: 네임스페이스 처리
+		if (attrValue == null || attrValue.isEmpty()) {
+			String localName = attrName;
+			if (localName.contains(":")) {
+				localName = localName.substring(localName.indexOf(":") + 1);
 			}
-			
-			// 방법 2: 네임스페이스 처리
-			if (attrValue == null || attrValue.isEmpty()) {
-				String localName = attrName;
-				if (localName.contains(":")) {
-					localName = localName.substring(localName.indexOf(":") + 1);
-				}
-				if (element.hasAttributeNS(null, localName)) {
-					attrValue = element.getAttributeNS(null, localName);
-				}
+			if (element.hasAttributeNS(null, localName)) {
+				attrValue = element.getAttributeNS(null, localName);
 			}
-			
-			// 방법 3: NamedNodeMap을 통한 직접 접근 (fallback)
-			// getNodeValue()도 원본 값을 반환하지만 getAttribute()가 더 안정적
-			if (attrValue == null || attrValue.isEmpty()) {
-				NamedNodeMap attrs = element.getAttributes();
-				for (int i = 0; i < attrs.getLength(); i++) {
-					Node attr = attrs.item(i);
-					String attrNodeName = attr.getNodeName();
-					String attrLocalName = attr.getLocalName();
-					
-					if (attrNodeName.equals(attrName)) {
-						attrValue = attr.getNodeValue();
-						break;
-					} else if (attrLocalName != null && attrLocalName.equals(attrName)) {
+		}
+		
+		// 방법 3: NamedNodeMap을 통한 직접 접근 (fallback)
+		// getNodeValue()도 원본 값을 반환하지만 getAttribute()가 더 안정적
+		if (attrValue == null || attrValue.isEmpty()) {
+			NamedNodeMap attrs = element.getAttributes();
+			for (int i = 0; i < attrs.getLength(); i++) {
+				Node attr = attrs.item(i);
+				String attrNodeName = attr.getNodeName();
+				String attrLocalName = attr.getLocalName();
+				
+				if (attrNodeName.equals(attrName)) {
+					attrValue = attr.getNodeValue();
+					break;
+				} else if (attrLocalName != null && attrLocalName.equals(attrName)) {
+					attrValue = attr.getNodeValue();
+					break;
+				} else if (attrLocalName == null && attrNodeName.contains(":")) {
+					String localPart = attrNodeName.substring(attrNodeName.indexOf(":") + 1);
+					if (localPart.equals(attrName)) {
 						attrValue = attr.getNodeValue();
 						break;
-					} else if (attrLocalName == null && attrNodeName.contains(":")) {
-						String localPart = attrNodeName.substring(attrNodeName.indexOf(":") + 1);
-						if (localPart.equals(attrName)) {
-							attrValue = attr.getNodeValue();
-							break;
-						}
 					}
 				}
 			}
+		}
+		
+		return attrValue;
+	}
+	
+	/**
+	 * 속성 규칙에 따라 속성 값을 검증합니다 (DOM/스트리밍 모드 공통).
+	 * @param attributeValues 속성 이름으로 속성 값을 읽는 함수 (없으면 null 반환)
+	 */
+	private void checkAttributes(File xmlFile, ElementRule rule, SourcePosition position,
+			Function<String, String> attributeValues) {
+		String path = rule.getPath();
+		for (AttributeRule attrRule : rule.getAttributes()) {
+			String attrName = attrRule.getName();
+			
+			String attrValue = attributeValues.apply(attrName);
 			
 			// 속성 값이 없으면 빈 문자열로 처리
 			if (attrValue == null) {
@@ -448,339 +735,192 @@ public class ConsistencyValidator {
 			String originalAttrValue = attrValue;
 			attrValue = attrValue.trim();
 			
-			// 속성 규칙이 Map인 경우 required 체크
-			if (attrRule instanceof Map) {
-				Map<String, Object> attrRuleMap = (Map<String, Object>) attrRule;
-				
-				// 속성 필수 여부 확인
-				Object requiredObj = attrRuleMap.get("required");
-				boolean isRequired = false;
-				if (requiredObj != null) {
-					String requiredStr = requiredObj.toString();
-					isRequired = "true".equalsIgnoreCase(requiredStr) || 
-								"required".equalsIgnoreCase(requiredStr) ||
-								"1".equals(requiredStr);
-				}
-				
-				// 필수 속성인데 값이 비어있으면 오류
-				if (isRequired && (attrValue == null || attrValue.isEmpty())) {
-					addError(xmlFile, lineNum, -1,
-							path + " 요소의 " + attrName + " 속성은 필수입니다.");
-					// 필수 속성이 없으면 다른 검증은 건너뜀
-					continue;
+			// 고정 값 검증
+			String expectedValue = attrRule.getFixedValue();
+			if (expectedValue != null) {
+				if (!expectedValue.isEmpty() && !attrValue.equals(expectedValue)) {
+					addAttributeError(xmlFile, position, attrName,
+							path + " 요소의 " + attrName + " 속성 값이 '" + expectedValue + 
+							"'이어야 합니다. 현재 값: '" + attrValue + "'");
 				}
+				continue;
 			}
 			
-			if (attrRule instanceof Map) {
-				Map<String, Object> attrRuleMap = (Map<String, Object>) attrRule;
-				String type = (String) attrRuleMap.get("type");
-				
-				// enum 타입 검증
-				if ("enum".equals(type)) {
-					String codeRef = (String) attrRuleMap.get("code_ref");
-					@SuppressWarnings("unchecked")
-					List<String> allowedValues = (List<String>) attrRuleMap.get("allowed_values");
-					
-					// code_ref가 있으면 code_values에서 동적으로 허용 값 가져오기
-					if (codeRef != null && !codeRef.isEmpty() && ruleParser != null) {
-						Map<String, Object> codeCategory = ruleParser.getCodeValues().get(codeRef);
-						if (codeCategory != null) {
-							allowedValues = new ArrayList<>(codeCategory.keySet());
-						}
-					}
-					
-					if (allowedValues != null && !allowedValues.isEmpty()) {
-						Object requiredObj = attrRuleMap.get("required");
-						boolean isRequired = false;
-						if (requiredObj != null) {
-							String requiredStr = requiredObj.toString();
-							isRequired = "true".equalsIgnoreCase(requiredStr) || 
-										"required".equalsIgnoreCase(requiredStr) ||
-										"1".equals(requiredStr);
-						}
-						
-						if (attrValue.isEmpty()) {
-							if (isRequired) {
-								addError(xmlFile, lineNum, -1,
-										path + " 요소의 " + attrName + " 속성은 필수입니다.");
-							}
-						} else {
-							boolean isAllowed = allowedValues.contains(attrValue);
-							if (!isAllowed) {
-								String errorMessage;
-								if (codeRef != null && !codeRef.isEmpty()) {
-									errorMessage = path + " 요소의 " + attrName + " 속성 값 '" + attrValue + 
-											"'이(가) '" + codeRef + "' 코드에 정의된 값이 아닙니다. 허용값: " + allowedValues;
-								} else {
-									errorMessage = path + " 요소의 " + attrName + " 속성 값 '" + attrValue + 
-											"'이(가) 허용된 값이 아닙니다. 허용값: " + allowedValues;
-								}
-								addError(xmlFile, lineNum, -1, errorMessage);
-							}
-						}
-					}
-					
-					// enum 타입이면서 length가 지정된 경우 길이도 검증
-					Object lengthObj = attrRuleMap.get("length");
-					if (lengthObj != null && !attrValue.isEmpty()) {
-						try {
-							int requiredLength = Integer.parseInt(lengthObj.toString());
-							int actualLength = attrValue.length();
-							if (actualLength != requiredLength) {
-								addError(xmlFile, lineNum, -1, path + " 요소의 " + attrName + 
-										" 속성 값의 길이가 정확히 " + requiredLength + "자여야 합니다. 현재 길이: " + actualLength);
-							}
-						} catch (NumberFormatException e) {
-							// 무시
-						}
-					}
-				} else {
-					// enum 타입이 아닌 경우 format 검증
-					String format = (String) attrRuleMap.get("format");
-					if (format != null && !format.isEmpty() && !attrValue.isEmpty()) {
-						try {
-							java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(format);
-							java.util.regex.Matcher matcher = pattern.matcher(attrValue);
-							if (!matcher.matches()) {
-								addError(xmlFile, lineNum, -1, path + " 요소의 " + attrName + 
-										" 속성 값 '" + attrValue + "'이(가) 허용된 형식이 아닙니다.");
-							}
-						} catch (Exception e) {
-							// 무시
-						}
+			// 필수 속성인데 값이 비어있으면 오류
+			if (attrRule.isRequired() && attrValue.isEmpty()) {
+				addAttributeError(xmlFile, position, attrName,
+						path + " 요소의 " + attrName + " 속성은 필수입니다.");
+				// 필수 속성이 없으면 다른 검증은 건너뜀
+				continue;
+			}
+			
+			if (attrRule.getType() == AttributeRule.Type.ENUM) {
+				// enum 타입 검증 (허용 값 집합과 표시 문자열은 규칙 로드 시점에 만들어 둠)
+				CodeSet allowedValues = attrRule.getAllowedValues();
+				if (allowedValues != null && !attrValue.isEmpty() && !allowedValues.contains(attrValue)) {
+					String errorMessage;
+					if (attrRule.getCodeRef() != null) {
+						errorMessage = path + " 요소의 " + attrName + " 속성 값 '" + attrValue + 
+								"'이(가) '" + attrRule.getCodeRef() + "' 코드에 정의된 값이 아닙니다. 허용값: " + allowedValues;
+					} else {
+						errorMessage = path + " 요소의 " + attrName + " 속성 값 '" + attrValue + 
+								"'이(가) 허용된 값이 아닙니다. 허용값: " + allowedValues;
 					}
+					addAttributeError(xmlFile, position, attrName, errorMessage);
 				}
 				
-				// fixed_length 타입 검증
-				if ("fixed_length".equals(type)) {
-					Object lengthObj = attrRuleMap.get("length");
-					Object minLengthObj = attrRuleMap.get("min_length");
-					Object maxLengthObj = attrRuleMap.get("max_length");
-					
-					if (!attrValue.isEmpty()) {
-						// 실제 길이 계산 - trim 후의 정확한 길이를 사용
-						// ZipCode="419679"의 경우 정확히 6자리를 읽어야 함
-						int actualLength = attrValue.length();
-						
-						// min_length와 max_length가 모두 지정된 경우 (범위 검증) - ZipCode 등
-						if (minLengthObj != null && maxLengthObj != null) {
-							int minLength = Integer.parseInt(minLengthObj.toString());
-							int maxLength = Integer.parseInt(maxLengthObj.toString());
-							
-							// 길이 검증 - 실제 읽은 값의 길이를 정확히 확인
-							if (actualLength < minLength || actualLength > maxLength) {
-								// 원본 값과 trim 후 값, 그리고 각각의 길이를 모두 표시
-								String originalDisplay = originalAttrValue;
-								String trimmedDisplay = attrValue;
-								int originalLength = originalAttrValue.length();
-								
-								// 오류 메시지에 상세 정보 포함
-								addError(xmlFile, lineNum, -1, path + " 요소의 " + attrName + 
-										" 속성 값이 잘못되었습니다. " +
-										"원본 값: '" + originalDisplay + "' (길이: " + originalLength + "), " +
-										"trim 후: '" + trimmedDisplay + "' (길이: " + actualLength + "). " +
-										"요구 길이: " + minLength + "~" + maxLength + "자");
-							}
-						}
-						// length만 지정된 경우 (정확한 길이 검증)
-						else if (lengthObj != null) {
-							int requiredLength = Integer.parseInt(lengthObj.toString());
-							
-							// 길이 검증 - 실제 읽은 값의 길이를 정확히 확인
-							if (actualLength != requiredLength) {
-								// 원본 값과 trim 후 값, 그리고 각각의 길이를 모두 표시
-								String originalDisplay = originalAttrValue;
-								String trimmedDisplay = attrValue;
-								int originalLength = originalAttrValue.length();
-								
-								// 오류 메시지에 상세 정보 포함
-								addError(xmlFile, lineNum, -1, path + " 요소의 " + attrName + 
-										" 속성 값이 잘못되었습니다. " +
-										"원본 값: '" + originalDisplay + "' (길이: " + originalLength + "), " +
-										"trim 후: '" + trimmedDisplay + "' (길이: " + actualLength + "). " +
-										"요구 길이: 정확히 " + requiredLength + "자");
-							}
-						}
+				// enum 타입이면서 length가 지정된 경우 길이도 검증
+				int requiredLength = attrRule.getLength();
+				if (requiredLength >= 0 && !attrValue.isEmpty()) {
+					int actualLength = attrValue.length();
+					if (actualLength != requiredLength) {
+						addAttributeError(xmlFile, position, attrName, path + " 요소의 " + attrName + 
+								" 속성 값의 길이가 정확히 " + requiredLength + "자여야 합니다. 현재 길이: " + actualLength);
 					}
 				}
+			} else {
+				// enum 타입이 아닌 경우 format 검증 (정규식은 규칙 로드 시점에 컴파일됨)
+				ValueChecker formatChecker = attrRule.getFormatChecker();
+				if (formatChecker != null && !attrValue.isEmpty() && !formatChecker.matches(attrValue)) {
+					addAttributeError(xmlFile, position, attrName, path + " 요소의 " + attrName + 
+							" 속성 값 '" + attrValue + "'이(가) 허용된 형식이 아닙니다.");
+				}
+			}
+			
+			if (attrValue.isEmpty()) {
+				continue;
+			}
+			
+			// 실제 길이 계산 - trim 후의 정확한 길이를 사용
+			// ZipCode="419679"의 경우 정확히 6자리를 읽어야 함
+			int actualLength = attrValue.length();
+			
+			// fixed_length 타입 검증
+			if (attrRule.getType() == AttributeRule.Type.FIXED_LENGTH) {
+				int minLength = attrRule.getMinLength();
+				int maxLength = attrRule.getMaxLength();
 				
-				// max_length 타입 검증
-				if ("max_length".equals(type)) {
-					Object lengthObj = attrRuleMap.get("length");
-					Object minLengthObj = attrRuleMap.get("min_length");
-					
-					if (!attrValue.isEmpty()) {
-						int actualLength = attrValue.length();
-						
-						// min_length가 지정된 경우 최소 길이 검증
-						if (minLengthObj != null) {
-							int minLength = Integer.parseInt(minLengthObj.toString());
-							if (actualLength < minLength) {
-								addError(xmlFile, lineNum, -1, path + " 요소의 " + attrName + 
-										" 속성 값의 길이가 최소 " + minLength + "자 이상이어야 합니다. 현재 길이: " + actualLength);
-							}
-						}
-						
-						// max_length (length로 지정) 검증
-						if (lengthObj != null) {
-							int maxLength = Integer.parseInt(lengthObj.toString());
-							if (actualLength > maxLength) {
-								addError(xmlFile, lineNum, -1, path + " 요소의 " + attrName + 
-										" 속성 값의 길이가 " + maxLength + "자를 초과합니다. 현재 길이: " + actualLength);
-							}
-						}
+				// min_length와 max_length가 모두 지정된 경우 (범위 검증) - ZipCode 등
+				if (minLength >= 0 && maxLength >= 0) {
+					if (actualLength < minLength || actualLength > maxLength) {
+						// 원본 값과 trim 후 값, 그리고 각각의 길이를 모두 표시
+						addAttributeError(xmlFile, position, attrName, path + " 요소의 " + attrName + 
+								" 속성 값이 잘못되었습니다. " +
+								"원본 값: '" + originalAttrValue + "' (길이: " + originalAttrValue.length() + "), " +
+								"trim 후: '" + attrValue + "' (길이: " + actualLength + "). " +
+								"요구 길이: " + minLength + "~" + maxLength + "자");
 					}
 				}
-			} else if (attrRule instanceof String) {
-				// 고정 값 검증
-				String expectedValue = (String) attrRule;
-				if (!expectedValue.isEmpty() && !attrValue.equals(expectedValue)) {
-					addError(xmlFile, lineNum, -1,
-							path + " 요소의 " + attrName + " 속성 값이 '" + expectedValue + 
-							"'이어야 합니다. 현재 값: '" + attrValue + "'");
+				// length만 지정된 경우 (정확한 길이 검증)
+				else if (attrRule.getLength() >= 0) {
+					int requiredLength = attrRule.getLength();
+					if (actualLength != requiredLength) {
+						addAttributeError(xmlFile, position, attrName, path + " 요소의 " + attrName + 
+								" 속성 값이 잘못되었습니다. " +
+								"원본 값: '" + originalAttrValue + "' (길이: " + originalAttrValue.length() + "), " +
+								"trim 후: '" + attrValue + "' (길이: " + actualLength + "). " +
+								"요구 길이: 정확히 " + requiredLength + "자");
+					}
+				}
+			}
+			
+			// max_length 타입 검증
+			if (attrRule.getType() == AttributeRule.Type.MAX_LENGTH) {
+				// min_length가 지정된 경우 최소 길이 검증
+				int minLength = attrRule.getMinLength();
+				if (minLength >= 0 && actualLength < minLength) {
+					addAttributeError(xmlFile, position, attrName, path + " 요소의 " + attrName + 
+							" 속성 값의 길이가 최소 " + minLength + "자 이상이어야 합니다. 현재 길이: " + actualLength);
+				}
+				
+				// max_length (length로 지정) 검증
+				int maxLength = attrRule.getLength();
+				if (maxLength >= 0 && actualLength > maxLength) {
+					addAttributeError(xmlFile, position, attrName, path + " 요소의 " + attrName + 
+							" 속성 값의 길이가 " + maxLength + "자를 초과합니다. 현재 길이: " + actualLength);
 				}
 			}
 		}
 	}
 	
 	/**
-	 * 데이터 타입을 검증합니다.
+	 * 요소 텍스트 값의 데이터 타입을 검증합니다 (DOM/스트리밍 모드 공통).
 	 */
-	private void validateDataType(File xmlFile, Element element, String dataType, String path, String encoding) {
-		// 요소의 정확한 라인 번호 찾기
-		int lineNum = findElementLineNumber(xmlFile, element, path, encoding);
-		if (lineNum < 0) {
-			// 찾지 못한 경우 기본값 사용
-			lineNum = getLineNumber(element.getNodeName());
-			if (lineNum < 0) {
-				lineNum = 1;
-			}
-		}
-		
-		// 직접 텍스트 콘텐츠만 가져옴 (자식 요소의 텍스트 제외)
-		String value = getDirectTextContent(element);
-		if (value == null) {
-			value = "";
-		}
-		
-		// 빈 값은 필수 검증에서 처리 (validateElement에서 이미 처리됨)
+	private void checkDataType(File xmlFile, SourcePosition position, ElementRule rule, String value) {
+		// 빈 값은 필수 검증에서 처리 (checkText에서 이미 처리됨)
 		if (value.isEmpty()) {
 			return;
 		}
 		
-		// numeric 타입 검증
-		if (dataType.startsWith("numeric")) {
-			try {
-				// numeric(n) 또는 numeric(n,m) 형식
-				if (dataType.contains("(")) {
-					String params = dataType.substring(dataType.indexOf("(") + 1, dataType.indexOf(")"));
-					String[] parts = params.split(",");
-					int maxLength = Integer.parseInt(parts[0].trim());
-					
-					// 숫자 형식 검증
-					if (!value.matches("-?\\d+(\\.\\d+)?")) {
-						addError(xmlFile, lineNum, -1,
-								path + " 요소의 값 '" + value + "'이(가) 숫자 형식이 아닙니다.");
-					}
-				}
-			} catch (Exception e) {
-				// 파싱 오류 무시
-			}
+		// numeric(n) 또는 numeric(n,m) 타입의 숫자 형식 검증
+		if (rule.isNumeric() && !FormatCheckers.isDecimal(value)) {
+			addError(xmlFile, position,
+					rule.getPath() + " 요소의 값 '" + value + "'이(가) 숫자 형식이 아닙니다.");
 		}
 		
 		// 길이 검증 (숫자만 있는 경우 최대 길이)
-		if (dataType.matches("\\d+")) {
-			int maxLength = Integer.parseInt(dataType);
-			if (value.length() > maxLength) {
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 값 길이가 " + maxLength + "자를 초과합니다. 현재 길이: " + value.length());
-			}
+		int maxLength = rule.getMaxLength();
+		if (maxLength >= 0 && value.length() > maxLength) {
+			addError(xmlFile, position,
+					rule.getPath() + " 요소의 값 길이가 " + maxLength + "자를 초과합니다. 현재 길이: " + value.length());
 		}
 	}
 	
 	/**
-	 * 포맷을 검증합니다.
+	 * 요소 텍스트 값의 포맷을 검증합니다 (DOM/스트리밍 모드 공통).
+	 * 포맷 종류는 규칙 로드 시점에 결정되어 있으며, 값은 정규식 없이 문자 단위로 검사합니다.
 	 */
-	private void validateFormat(File xmlFile, Element element, String format, String path, String encoding) {
-		// 요소의 정확한 라인 번호 찾기
-		int lineNum = findElementLineNumber(xmlFile, element, path, encoding);
-		if (lineNum < 0) {
-			// 찾지 못한 경우 기본값 사용
-			lineNum = getLineNumber(element.getNodeName());
-			if (lineNum < 0) {
-				lineNum = 1;
-			}
-		}
-		
-		// 직접 텍스트 콘텐츠만 가져옴 (자식 요소의 텍스트 제외)
-		String value = getDirectTextContent(element);
-		if (value == null || value.isEmpty()) {
+	private void checkFormat(File xmlFile, SourcePosition position, ElementRule rule, String value) {
+		if (value.isEmpty()) {
 			return;
 		}
 		
-		// YYYYMMDD 형식 검증
-		if (format.contains("YYYYMMDD")) {
-			if (!value.matches("\\d{8}")) {
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 값 '" + value + "'이(가) YYYYMMDD 형식이 아닙니다.");
-			} else {
-				// 날짜 유효성 검증
-				try {
-					int year = Integer.parseInt(value.substring(0, 4));
-					int month = Integer.parseInt(value.substring(4, 6));
-					int day = Integer.parseInt(value.substring(6, 8));
-					
-					if (year < 1900 || month < 1 || month > 12 || day < 1 || day > 31) {
-						addError(xmlFile, lineNum, -1,
-								path + " 요소의 날짜 값 '" + value + "'이(가) 유효하지 않습니다.");
-					}
-				} catch (NumberFormatException e) {
-					// 이미 위에서 검증됨
+		String path = rule.getPath();
+		List<ElementRule.Format> formats = rule.getFormats();
+		for (int i = 0; i < formats.size(); i++) {
+			switch (formats.get(i)) {
+			case DATE:
+				// YYYYMMDD 형식 및 날짜 유효성 검증
+				if (!FormatCheckers.isDateFormat(value)) {
+					addError(xmlFile, position,
+							path + " 요소의 값 '" + value + "'이(가) YYYYMMDD 형식이 아닙니다.");
+				} else if (!FormatCheckers.isValidDate(value)) {
+					addError(xmlFile, position,
+							path + " 요소의 날짜 값 '" + value + "'이(가) 유효하지 않습니다.");
 				}
-			}
-		}
-		
-		// HHMISS 형식 검증
-		if (format.contains("HHMISS")) {
-			if (!value.matches("\\d{6}")) {
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 값 '" + value + "'이(가) HHMISS 형식이 아닙니다.");
-			} else {
+				break;
+			case TIME:
+				// HHMISS 형식 및 시각 유효성 검증
+				if (!FormatCheckers.isTimeFormat(value)) {
+					addError(xmlFile, position,
+							path + " 요소의 값 '" + value + "'이(가) HHMISS 형식이 아닙니다.");
+				} else if (!FormatCheckers.isValidTime(value)) {
+					addError(xmlFile, position,
+							path + " 요소의 시간 값 '" + value + "'이(가) 유효하지 않습니다.");
+				}
+				break;
+			case FORBIDDEN_CHARS:
+				// 금칙어 체크
+				if (FormatCheckers.containsForbiddenChars(value)) {
+					addError(xmlFile, position,
+							path + " 요소의 값에 금칙어(<, >, \", ;)가 포함되어 있습니다.");
+				}
+				break;
+			case RANGE_1_TO_5:
+				// 1~5 범위 검증
 				try {
-					int hour = Integer.parseInt(value.substring(0, 2));
-					int minute = Integer.parseInt(value.substring(2, 4));
-					int second = Integer.parseInt(value.substring(4, 6));
-					
-					if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
-						addError(xmlFile, lineNum, -1,
-								path + " 요소의 시간 값 '" + value + "'이(가) 유효하지 않습니다.");
+					int num = Integer.parseInt(value);
+					if (num < 1 || num > 5) {
+						addError(xmlFile, position,
+								path + " 요소의 값 '" + value + "'이(가) 1~5 범위를 벗어났습니다.");
 					}
 				} catch (NumberFormatException e) {
-					// 이미 위에서 검증됨
-				}
-			}
-		}
-		
-		// 금칙어 체크
-		if (format.contains("금칙어")) {
-			if (value.contains("<") || value.contains(">") || 
-				value.contains("\"") || value.contains(";")) {
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 값에 금칙어(<, >, \", ;)가 포함되어 있습니다.");
-			}
-		}
-		
-		// 1~5 범위 검증
-		if (format.contains("1에서5사이")) {
-			try {
-				int num = Integer.parseInt(value);
-				if (num < 1 || num > 5) {
-					addError(xmlFile, lineNum, -1,
-							path + " 요소의 값 '" + value + "'이(가) 1~5 범위를 벗어났습니다.");
+					addError(xmlFile, position,
+							path + " 요소의 값 '" + value + "'이(가) 숫자가 아닙니다.");
 				}
-			} catch (NumberFormatException e) {
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 값 '" + value + "'이(가) 숫자가 아닙니다.");
+				break;
+			default:
+				break;
 			}
 		}
 	}
@@ -788,143 +928,99 @@ public class ConsistencyValidator {
 	/**
 	 * 허용 코드를 검증합니다.
 	 */
-	private void validateAllowedCodes(File xmlFile, Element element, List<String> allowedCodes, String path, String encoding) {
-		// 요소의 정확한 라인 번호 찾기
-		int lineNum = findElementLineNumber(xmlFile, element, path, encoding);
-		if (lineNum < 0) {
-			// 찾지 못한 경우 기본값 사용
-			lineNum = getLineNumber(element.getNodeName());
-			if (lineNum < 0) {
-				lineNum = 1;
-			}
-		}
-		
+	private void validateAllowedCodes(File xmlFile, Element element, ElementRule rule) {
 		// 속성에서 Code 값 확인
-		String codeValue = element.getAttribute("Code");
-		if (codeValue != null && !codeValue.isEmpty()) {
-			if (!allowedCodes.contains(codeValue)) {
-				addError(xmlFile, lineNum, -1,
-						path + " 요소의 Code 속성 값 '" + codeValue + "'이(가) 허용된 코드가 아닙니다.");
-			}
-		}
+		checkAllowedCodes(xmlFile, getPosition(element), rule, element.getAttribute("Code"));
 	}
 	
 	/**
-	 * 자식 요소들을 검증합니다.
+	 * Code 속성 값이 허용 코드인지 검증합니다 (DOM/스트리밍 모드 공통).
 	 */
-	@SuppressWarnings("unchecked")
-	private void validateChildren(File xmlFile, Element parent, Map<String, Object> childrenRules, String parentPath) {
-		validateChildren(xmlFile, parent, childrenRules, parentPath, 0);
-	}
-	
-	/**
-	 * 자식 요소들을 검증합니다 (재귀 깊이 추적 포함).
-	 */
-	@SuppressWarnings("unchecked")
-	private void validateChildren(File xmlFile, Element parent, Map<String, Object> childrenRules, String parentPath, int depth) {
-		// 무한 루프 방지: 최대 재귀 깊이 체크
-		if (depth > MAX_RECURSION_DEPTH) {
-			return;
-		}
-		
-		for (Map.Entry<String, Object> entry : childrenRules.entrySet()) {
-			String childName = entry.getKey();
-			Map<String, Object> childRule = (Map<String, Object>) entry.getValue();
-			
-			// 자식 요소 찾기
-			List<Element> childElements = getChildElements(parent, childName);
-			
-			// occurrence 검증
-			String occurrence = (String) childRule.get("occurrence");
-			String required = (String) childRule.get("required");
-			
-			validateOccurrence(xmlFile, childElements, childName, occurrence, required, parentPath);
-			
-			// 각 자식 요소 검증
-			for (Element child : childElements) {
-				String childPath = parentPath + "/" + childName;
-				validateElement(xmlFile, child, childRule, childPath, depth + 1);
+	private void checkAllowedCodes(File xmlFile, SourcePosition position, ElementRule rule, String codeValue) {
+		if (codeValue != null && !codeValue.isEmpty()) {
+			if (!rule.getAllowedCodes().contains(codeValue)) {
+				addAttributeError(xmlFile, position, "Code",
+						rule.getPath() + " 요소의 Code 속성 값 '" + codeValue + "'이(가) 허용된 코드가 아닙니다.");
 			}
 		}
 	}
 	
 	/**
-	 * 발생 횟수를 검증합니다.
+	 * 발생 횟수를 검증합니다 (DOM/스트리밍 모드 공통).
 	 */
-	private void validateOccurrence(File xmlFile, List<Element> elements, String elementName, 
-			String occurrence, String required, String parentPath) {
-		int count = elements.size();
-		int lineNum = getLineNumber(elementName);
-		// 부모 요소의 라인 번호 사용 (자식이 없는 경우)
-		if (lineNum < 0) {
-			String parentName = parentPath.contains("/") ? 
-					parentPath.substring(parentPath.lastIndexOf("/") + 1) : parentPath;
-			lineNum = getLineNumber(parentName);
-		}
-		
-		if (occurrence == null) {
-			occurrence = "1";
-		}
-		
-		// 필수 여부 확인
-		boolean isRequired = "required".equalsIgnoreCase(required) || 
-							 (required != null && required.contains("required"));
-		
-		if (occurrence.equals("1")) {
+	private void validateOccurrence(File xmlFile, int count, ElementRule childRule, String parentPath,
+			SourcePosition position) {
+		String elementName = childRule.getName();
+		switch (childRule.getOccurrence()) {
+		case EXACTLY_ONE:
 			// 정확히 1개
-			if (count == 0 && isRequired) {
-				addError(xmlFile, lineNum, -1,
+			if (count == 0 && childRule.isRequired()) {
+				addError(xmlFile, position,
 						parentPath + " 요소에 필수 자식 요소 '" + elementName + "'이(가) 없습니다.");
 			} else if (count > 1) {
-				addError(xmlFile, lineNum, -1,
+				addError(xmlFile, position,
 						parentPath + " 요소에 '" + elementName + "' 요소가 1개만 있어야 하지만 " + count + "개가 있습니다.");
 			}
-		} else if (occurrence.equals("0..1")) {
+			break;
+		case OPTIONAL:
 			// 0개 또는 1개
 			if (count > 1) {
-				addError(xmlFile, lineNum, -1,
+				addError(xmlFile, position,
 						parentPath + " 요소에 '" + elementName + "' 요소가 최대 1개만 있어야 하지만 " + count + "개가 있습니다.");
 			}
-		} else if (occurrence.equals("1..n")) {
+			break;
+		case ONE_OR_MORE:
 			// 1개 이상
 			if (count == 0) {
-				addError(xmlFile, lineNum, -1,
+				addError(xmlFile, position,
 						parentPath + " 요소에 '" + elementName + "' 요소가 최소 1개 이상 있어야 합니다.");
 			}
-		} else if (occurrence.equals("0..n")) {
+			break;
+		default:
 			// 0개 이상 - 항상 유효
+			break;
 		}
 	}
 	
 	/**
-	 * 부모 요소에서 특정 이름의 자식 요소들을 찾습니다.
+	 * 부모 요소의 자식 요소들을 한 번 훑어서 자식 규칙 위치(index)별 목록으로 나눕니다.
+	 * 자식 규칙 수와 관계없이 자식 노드는 한 번만 방문하고, 규칙은 이름 해시로 찾습니다.
+	 * 각 목록의 요소는 문서 순서이며, 규칙에 없는 자식 요소는 버립니다.
+	 * @return 자식 규칙 위치 -> 자식 요소 목록 (없으면 빈 목록)
 	 */
-	private List<Element> getChildElements(Element parent, String childName) {
-		List<Element> children = new ArrayList<>();
-		NodeList nodeList = parent.getChildNodes();
+	private List<List<Element>> groupChildElements(Element parent, ElementRule rule) {
+		int ruleCount = rule.getChildren().size();
+		List<List<Element>> buckets = new ArrayList<>(ruleCount);
+		for (int i = 0; i < ruleCount; i++) {
+			buckets.add(Collections.emptyList());
+		}
 		
-		for (int i = 0; i < nodeList.getLength(); i++) {
-			Node node = nodeList.item(i);
-			if (node instanceof Element) {
-				Element elem = (Element) node;
-				String nodeName = elem.getNodeName();
-				String localName = elem.getLocalName();
-				if (localName == null) {
-					localName = nodeName;
-				}
-				// 네임스페이스 프리픽스 제거
-				String compareName = localName;
-				if (compareName.contains(":")) {
-					compareName = compareName.substring(compareName.indexOf(":") + 1);
-				}
-				
-				if (compareName.equals(childName)) {
-					children.add(elem);
-				}
+		for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+			if (node.getNodeType() != Node.ELEMENT_NODE) {
+				continue;
+			}
+			String localName = node.getLocalName();
+			if (localName == null) {
+				localName = node.getNodeName();
+			}
+			// 네임스페이스 프리픽스 제거
+			int colon = localName.indexOf(':');
+			if (colon >= 0) {
+				localName = localName.substring(colon + 1);
+			}
+			
+			ElementRule childRule = rule.getChild(localName);
+			if (childRule == null) {
+				continue;
 			}
+			List<Element> bucket = buckets.get(childRule.getIndex());
+			if (bucket.isEmpty()) {
+				bucket = new ArrayList<>(4);
+				buckets.set(childRule.getIndex(), bucket);
+			}
+			bucket.add((Element) node);
 		}
-		
-		return children;
+		return buckets;
 	}
 	
 	/**
@@ -933,9 +1029,8 @@ public class ConsistencyValidator {
 	 */
 	private String getDirectTextContent(Element element) {
 		StringBuilder sb = new StringBuilder();
-		NodeList childNodes = element.getChildNodes();
-		for (int i = 0; i < childNodes.getLength(); i++) {
-			Node child = childNodes.item(i);
+		// NodeList 대신 형제 링크로 순회 (DOM 구현의 NodeList 캐시는 문서 단위로 공유되어 병렬 검증 시 안전하지 않음)
+		for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
 			// TEXT_NODE만 수집 (자식 요소 제외)
 			if (child.getNodeType() == Node.TEXT_NODE) {
 				sb.append(child.getNodeValue());
@@ -963,28 +1058,53 @@ public class ConsistencyValidator {
 		return sb.toString();
 	}
 	
+	/**
+	 * 요소 위치에 오류를 추가합니다.
+	 * @param position 파서가 알려준 시작 태그 위치 (오류는 시작 태그의 '<' 위치로 표시)
+	 */
+	private void addError(File xmlFile, SourcePosition position, String message) {
+		if (pendingErrors != null) {
+			pendingErrors.add(new PendingError(xmlFile, position, null, -1, -1, message));
+			return;
+		}
+		if (positionResolver != null) {
+			position = positionResolver.startTag(position);
+		}
+		addError(xmlFile, position.getLineNumber(), position.getColumnNumber(), message);
+	}
+	
+	/**
+	 * 속성 위치에 오류를 추가합니다.
+	 * @param position 파서가 알려준 시작 태그 위치 (오류는 속성 이름 위치로 표시)
+	 */
+	private void addAttributeError(File xmlFile, SourcePosition position, String attrName, String message) {
+		if (pendingErrors != null) {
+			pendingErrors.add(new PendingError(xmlFile, position, attrName, -1, -1, message));
+			return;
+		}
+		if (positionResolver != null) {
+			position = positionResolver.attribute(position, attrName);
+		}
+		addError(xmlFile, position.getLineNumber(), position.getColumnNumber(), message);
+	}
+	
 	/**
 	 * 오류를 추가합니다 (중복 체크 포함).
 	 */
 	private void addError(File xmlFile, int lineNum, int columnNum, String message) {
-		// 중복 오류 확인 - 같은 파일, 같은 라인, 같은 메시지인 경우 추가하지 않음
-		for (ValidationError error : errors) {
-			if (error.getFile().equals(xmlFile) && 
-				error.getLineNumber() == lineNum && 
-				error.getMessage().equals(message)) {
-				return; // 중복 오류는 추가하지 않음
-			}
+		if (pendingErrors != null) {
+			pendingErrors.add(new PendingError(xmlFile, null, null, lineNum, columnNum, message));
+			return;
 		}
+		// 같은 파일, 같은 라인, 같은 메시지인 오류는 한 번만 보관 (저장소에서 해시로 확인)
 		errors.add(new ValidationError(xmlFile, lineNum, columnNum, message, 
 				ValidationError.ErrorType.CONSISTENCY));
 	}
 	
 	/**
-	 * 검증 결과 오류 목록을 라인 번호순으로 정렬하여 반환합니다.
+	 * 검증 결과 오류 목록을 라인 번호순으로 반환합니다 (읽기 전용, 정렬은 검증 후 한 번만 수행).
 	 */
 	public List<ValidationError> getErrors() {
-		List<ValidationError> sortedErrors = new ArrayList<>(errors);
-		sortedErrors.sort((e1, e2) -> Integer.compare(e1.getLineNumber(), e2.getLineNumber()));
-		return sortedErrors;
+		return errors.getSortedErrors();
 	}
 }
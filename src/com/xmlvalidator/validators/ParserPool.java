@@ -0,0 +1,88 @@
+package com.xmlvalidator.validators;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+
+import org.xml.sax.SAXException;
+
+/**
+ * 스레드별로 재사용하는 XML 파서 모음
+ * JAXP 팩토리 조회와 Xerces 설정은 파일마다 반복할 필요가 없으므로 스레드마다 한 번만 만들고,
+ * 파서는 문서 하나를 처리한 뒤 reset()으로 초기 상태로 되돌려 다음 문서에 사용합니다.
+ * 파일 내용은 항상 새 스트림으로 읽으므로 파서를 재사용해도 이전 내용이 남지 않습니다.
+ *
+ * JAXP 파서는 스레드 안전하지 않으므로 다른 스레드와 공유하지 않습니다 (ThreadLocal).
+ */
+final class ParserPool {
+
+	private static final ThreadLocal<SAXParser> SAX_PARSER = new ThreadLocal<>();
+	private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+	private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = new ThreadLocal<>();
+
+	private ParserPool() {
+	}
+
+	/**
+	 * 현재 스레드의 SAX 파서를 반환합니다 (네임스페이스 처리, DTD 검증 안 함).
+	 * 사용이 끝나면 {@link #release(SAXParser)}로 반환해야 합니다.
+	 */
+	static SAXParser saxParser() throws ParserConfigurationException, SAXException {
+		SAXParser parser = SAX_PARSER.get();
+		if (parser == null) {
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setValidating(false);
+			factory.setNamespaceAware(true);
+			parser = factory.newSAXParser();
+			SAX_PARSER.set(parser);
+		}
+		return parser;
+	}
+
+	/**
+	 * 사용한 SAX 파서를 초기 상태로 되돌립니다.
+	 * 핸들러와 기능 설정이 초기화되므로 이전 문서의 DOM이나 오류 목록을 붙잡고 있지 않습니다.
+	 */
+	static void release(SAXParser parser) {
+		try {
+			parser.reset();
+		} catch (RuntimeException e) {
+			// 초기화할 수 없는 파서는 버리고 다음에 새로 생성
+			SAX_PARSER.remove();
+		}
+	}
+
+	/**
+	 * 현재 스레드의 DocumentBuilder를 반환합니다 (빈 DOM 문서 생성용, 네임스페이스 처리).
+	 */
+	static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+		DocumentBuilder builder = DOCUMENT_BUILDER.get();
+		if (builder == null) {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware(true);
+			builder = factory.newDocumentBuilder();
+			DOCUMENT_BUILDER.set(builder);
+		} else {
+			builder.reset();
+		}
+		return builder;
+	}
+
+	/**
+	 * 현재 스레드의 StAX 팩토리를 반환합니다 (네임스페이스 처리, 텍스트 병합 안 함).
+	 * 리더는 파일마다 새로 만들지만 팩토리 조회와 설정은 한 번만 수행합니다.
+	 */
+	static XMLInputFactory xmlInputFactory() {
+		XMLInputFactory factory = XML_INPUT_FACTORY.get();
+		if (factory == null) {
+			factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+			factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+			XML_INPUT_FACTORY.set(factory);
+		}
+		return factory;
+	}
+}
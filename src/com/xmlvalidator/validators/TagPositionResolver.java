@@ -0,0 +1,185 @@
+package com.xmlvalidator.validators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import com.xmlvalidator.model.SourcePosition;
+import com.xmlvalidator.util.LineIndex;
+
+/**
+ * 파서가 알려준 시작 태그 위치('>')로 오류를 표시할 정확한 위치를 찾는 클래스
+ * 요소 오류는 시작 태그의 '<' 위치, 속성 오류는 속성 이름의 위치로 표시합니다.
+ * 라인 인덱스와 라인 텍스트는 처음 오류 위치를 찾을 때 만들어지므로 오류가 없는 파일은 다시 읽지 않습니다.
+ * DOM 모드는 파싱한 내용을 그대로 사용하고, 내용을 보관하지 않는 스트리밍 모드에서만 파일을 다시 읽습니다.
+ * 라인 인덱스를 만들 수 없는 인코딩(ASCII 비호환, UTF-16 제외)은 파서가 알려준 위치를 그대로 사용합니다.
+ */
+class TagPositionResolver {
+
+	private final File file;
+	private final Charset charset;
+	private byte[] content;  // 파싱한 파일 내용 (null이면 처음 필요할 때 파일에서 읽음)
+	private LineIndex lineIndex;
+	private boolean unavailable;
+
+	// 오류는 같은 라인에 몰려 있는 경우가 많으므로 마지막으로 디코딩한 라인을 보관
+	private int cachedLineNumber = -1;
+	private String cachedLineText;
+
+	/**
+	 * @param file 원본 XML 파일
+	 * @param charset 파일에서 감지한 인코딩 (null이면 UTF-8)
+	 * @param content 파싱한 파일 내용 (스트리밍 모드처럼 보관하지 않았으면 null)
+	 */
+	TagPositionResolver(File file, Charset charset, byte[] content) {
+		this.file = file;
+		this.charset = charset != null ? charset : StandardCharsets.UTF_8;
+		this.content = content;
+	}
+
+	/**
+	 * 시작 태그의 '<' 위치를 찾습니다.
+	 * 속성 값에는 '<'가 올 수 없으므로 '>'에서 거꾸로 처음 만나는 '<'가 시작 태그의 시작입니다.
+	 * @param tagEnd 시작 태그를 닫는 '>'의 위치
+	 * @return '<' 위치 (찾지 못하면 tagEnd)
+	 */
+	SourcePosition startTag(SourcePosition tagEnd) {
+		int[] start = findTagStart(tagEnd);
+		return start != null ? new SourcePosition(start[0], start[1] + 1) : tagEnd;
+	}
+
+	/**
+	 * 시작 태그 안에서 속성 이름의 위치를 찾습니다.
+	 * @param tagEnd 시작 태그를 닫는 '>'의 위치
+	 * @param attrName 속성 이름 (prefix:local 또는 local)
+	 * @return 속성 이름 위치 (속성이 없으면 시작 태그의 '<' 위치)
+	 */
+	SourcePosition attribute(SourcePosition tagEnd, String attrName) {
+		int[] start = findTagStart(tagEnd);
+		if (start == null) {
+			return tagEnd;
+		}
+
+		int line = start[0];
+		String text = getLineText(line);
+		int index = start[1] + 1;
+
+		// 요소 이름 건너뛰기
+		while (index < text.length() && !isTagDelimiter(text.charAt(index))) {
+			index++;
+		}
+
+		while (true) {
+			// 공백(줄바꿈 포함) 건너뛰기
+			while (index >= text.length() || Character.isWhitespace(text.charAt(index))) {
+				if (index >= text.length()) {
+					if (line >= tagEnd.getLineNumber()) {
+						return new SourcePosition(start[0], start[1] + 1);
+					}
+					text = getLineText(++line);
+					index = 0;
+				} else {
+					index++;
+				}
+			}
+			char c = text.charAt(index);
+			if (c == '>' || c == '/') {
+				// 속성을 찾지 못함 (값이 없는 속성)
+				return new SourcePosition(start[0], start[1] + 1);
+			}
+
+			int nameStart = index;
+			while (index < text.length() && text.charAt(index) != '=' && !isTagDelimiter(text.charAt(index))) {
+				index++;
+			}
+			String name = text.substring(nameStart, index);
+			if (name.equals(attrName) || name.substring(name.indexOf(':') + 1).equals(attrName)) {
+				return new SourcePosition(line, nameStart + 1);
+			}
+
+			// '=' 와 따옴표로 감싼 값 건너뛰기 (값에는 '>'와 줄바꿈이 올 수 있음)
+			char quote = 0;
+			while (true) {
+				if (index >= text.length()) {
+					if (line >= tagEnd.getLineNumber()) {
+						return new SourcePosition(start[0], start[1] + 1);
+					}
+					text = getLineText(++line);
+					index = 0;
+					continue;
+				}
+				c = text.charAt(index++);
+				if (quote == 0 && (c == '"' || c == '\'')) {
+					quote = c;
+				} else if (quote != 0 && c == quote) {
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * '>'에서 거꾸로 '<'를 찾습니다.
+	 * @return {라인 번호, 라인 안의 인덱스(0부터)} (찾지 못하면 null)
+	 */
+	private int[] findTagStart(SourcePosition tagEnd) {
+		int line = tagEnd.getLineNumber();
+		int column = tagEnd.getColumnNumber();
+		if (line < 1 || column < 1 || !ensureIndex() || line > lineIndex.getLineCount()) {
+			return null;
+		}
+
+		String text = getLineText(line);
+		// 파싱 이후 파일이 바뀌었으면 원래 위치 사용
+		if (column > text.length() || text.charAt(column - 1) != '>') {
+			return null;
+		}
+
+		int index = column - 2;
+		while (true) {
+			while (index >= 0) {
+				if (text.charAt(index) == '<') {
+					return new int[] { line, index };
+				}
+				index--;
+			}
+			if (--line < 1) {
+				return null;
+			}
+			text = getLineText(line);
+			index = text.length() - 1;
+		}
+	}
+
+	private boolean ensureIndex() {
+		if (lineIndex == null && !unavailable) {
+			if (!LineIndex.supports(charset)) {
+				unavailable = true;
+				return false;
+			}
+			try {
+				lineIndex = content != null ? LineIndex.build(ByteBuffer.wrap(content), charset) 
+						: LineIndex.build(file, charset);
+				content = null;
+			} catch (IOException e) {
+				System.err.println("라인 인덱스 생성 실패: " + file.getName() + " - " + e.getMessage());
+				unavailable = true;
+			}
+		}
+		return lineIndex != null;
+	}
+
+	private String getLineText(int lineNumber) {
+		if (lineNumber != cachedLineNumber) {
+			cachedLineText = lineIndex.getLineText(lineNumber);
+			cachedLineNumber = lineNumber;
+		}
+		return cachedLineText;
+	}
+
+	private static boolean isTagDelimiter(char c) {
+		return c == '>' || c == '/' || Character.isWhitespace(c);
+	}
+}
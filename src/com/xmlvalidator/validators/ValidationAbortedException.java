@@ -0,0 +1,25 @@
+package com.xmlvalidator.validators;
+
+/**
+ * 중단 요청이나 파일별 제한 시간 초과로 검증을 멈출 때 발생하는 예외
+ * 검증기는 이 예외를 오류로 바꾸지 않고 호출한 쪽으로 전달하며, 그때까지 찾은 오류는 검증기에 남아 있습니다.
+ */
+public class ValidationAbortedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean timedOut;
+
+	// fork-join 작업에서 전달될 때 같은 예외 객체가 그대로 전달되도록 공개 생성자를 두지 않음
+	ValidationAbortedException(boolean timedOut) {
+		super(timedOut ? "검증 제한 시간 초과" : "검증 중단");
+		this.timedOut = timedOut;
+	}
+
+	/**
+	 * 제한 시간 초과로 멈췄으면 true, 중단 요청으로 멈췄으면 false
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+}
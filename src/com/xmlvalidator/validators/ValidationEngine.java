@@ -0,0 +1,1072 @@
+package com.xmlvalidator.validators;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.xmlvalidator.model.ParsedDocument;
+import com.xmlvalidator.model.ValidationError;
+import com.xmlvalidator.util.ValidationResultCache;
+import com.xmlvalidator.util.YamlRuleParser;
+
+/**
+ * 여러 XML 파일을 단계별 파이프라인으로 병렬 검증하는 클래스 (UI와 무관)
+ * 작업 순서 결정 → 파일 읽기(I/O 스레드) → 파싱과 검증(CPU 작업 스레드) → 결과 전달(호출한 스레드) 단계가
+ * 크기가 정해진 대기열로 연결되어, 뒤 단계가 밀리면 앞 단계가 기다리므로 메모리 사용량이 일정하게 유지됩니다.
+ * 미리 읽어 둔 파일 내용의 총량도 제한하며, 각 단계의 대기열 길이와 처리량은 {@link StageStatistics}로 확인할 수 있습니다.
+ * 파일마다 검증기는 새로 만들고 규칙 트리(불변)만 공유하며,
+ * 파일은 완료되는 순서와 관계없이 입력 순서대로 리스너에 전달되므로 결과 순서는 항상 같습니다.
+ * 작업은 예상 소요 시간이 긴 파일부터 시작하여(LPT), 큰 파일 하나가 마지막에 남아 다른 스레드가 노는 시간을 줄입니다.
+ * 예상 소요 시간은 기본적으로 파일 크기이며, 이전에 검증한 파일은 그때 걸린 시간으로 추정하도록 설정할 수 있습니다.
+ * 작업 스레드는 엔진을 닫을 때까지 유지하여 스레드별 파서({@link ParserPool})를 다시 사용합니다.
+ * CPU 작업 스레드는 엔진이 가진 fork-join 풀이며, 큰 문서의 하위 트리 병렬 검증({@link ConsistencyValidator})도
+ * 같은 풀에서 실행하므로 동시에 실행되는 검증 스레드 수는 작업 스레드 수를 넘지 않습니다.
+ */
+public class ValidationEngine implements Closeable {
+
+	// 이 크기 이상의 파일은 DOM 대신 스트리밍 모드로 정합성 검증 (메모리 사용량이 요소 깊이에 비례)
+	public static final long STREAMING_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+	// 파일을 미리 읽는 I/O 스레드 수 (디스크 대기 시간을 CPU 작업과 겹치기 위한 것이므로 적게 사용)
+	private static final int READ_THREADS = 2;
+	// 미리 읽어 두는 파일 내용의 최대 총량 (KB 단위, 검증이 끝나면 반환)
+	private static final int READ_AHEAD_KB = 64 * 1024;
+	// 단계 사이 대기열 크기 (CPU 작업 스레드 수의 배수)
+	private static final int QUEUE_SLOTS_PER_WORKER = 2;
+	// 쉬는 CPU 작업 스레드를 유지하는 시간 (스레드별 파서를 다시 사용하도록 길게 설정)
+	private static final long WORKER_KEEP_ALIVE_DAYS = 1;
+
+	// 대기열 종료 표시
+	private static final int END_OF_FILES = -1;
+	private static final ReadFile END_OF_READS = new ReadFile(-1, null, null, null, null, 0);
+	private static final FileResult END_OF_RESULTS = new FileResult(-1, null, Collections.emptyList(), false, 0, null, null);
+
+	/**
+	 * 검증 진행 상황을 받는 리스너
+	 */
+	public interface Listener {
+
+		/**
+		 * 파일 파싱과 검증을 시작할 때 호출됩니다 (작업 스레드에서 동시에 호출될 수 있음).
+		 * 결과 캐시의 결과를 사용하는 파일은 호출하지 않습니다.
+		 * @param index 입력 목록에서의 위치 (0부터)
+		 * @param file 검증할 파일
+		 */
+		default void fileStarted(int index, File file) {
+		}
+
+		/**
+		 * 파일 검증 결과를 입력 순서대로 하나씩 전달합니다 ({@link ValidationEngine#validate}를 호출한 스레드에서 호출).
+		 * @param result 파일 검증 결과
+		 */
+		void fileCompleted(FileResult result);
+	}
+
+	/**
+	 * 파일 하나의 검증 결과
+	 */
+	public static final class FileResult {
+
+		private final int index;
+		private final File file;
+		private final List<ValidationError> errors;
+		private final boolean cached;
+		private final long elapsedMillis;
+		private final YamlRuleParser rules;
+		// 결과 전달 단계에서 결과 캐시에 저장할 키 (저장하지 않으면 null)
+		private final ValidationResultCache.Key cacheKey;
+
+		FileResult(int index, File file, List<ValidationError> errors, boolean cached, long elapsedMillis,
+				YamlRuleParser rules, ValidationResultCache.Key cacheKey) {
+			this.index = index;
+			this.file = file;
+			this.errors = Collections.unmodifiableList(errors);
+			this.cached = cached;
+			this.elapsedMillis = elapsedMillis;
+			this.rules = rules;
+			this.cacheKey = cacheKey;
+		}
+
+		/**
+		 * 입력 목록에서의 위치 (0부터)
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * 발견된 오류 (문법 오류, 정합성 오류 순)
+		 */
+		public List<ValidationError> getErrors() {
+			return errors;
+		}
+
+		public boolean isValid() {
+			return errors.isEmpty();
+		}
+
+		/**
+		 * 검증하지 않고 결과 캐시의 결과를 사용했는지 여부
+		 */
+		public boolean isCached() {
+			return cached;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		/**
+		 * 이 파일 검증에 사용한 규칙 (문법 체크만 했으면 null)
+		 */
+		public YamlRuleParser getRules() {
+			return rules;
+		}
+	}
+
+	/**
+	 * 파이프라인 단계 하나의 상태 (조회 시점의 값)
+	 */
+	public static final class StageStatistics {
+
+		private final String name;
+		private final int threads;
+		private final int queueDepth;
+		private final int maxQueueDepth;
+		private final int queueCapacity;
+		private final long processed;
+		private final long busyNanos;
+		private final long wallNanos;
+
+		StageStatistics(String name, int threads, int queueDepth, int maxQueueDepth, int queueCapacity,
+				long processed, long busyNanos, long wallNanos) {
+			this.name = name;
+			this.threads = threads;
+			this.queueDepth = queueDepth;
+			this.maxQueueDepth = maxQueueDepth;
+			this.queueCapacity = queueCapacity;
+			this.processed = processed;
+			this.busyNanos = busyNanos;
+			this.wallNanos = wallNanos;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		/**
+		 * 이 단계의 입력 대기열에 쌓여 있는 작업 수 (입력 대기열이 없는 단계는 0)
+		 */
+		public int getQueueDepth() {
+			return queueDepth;
+		}
+
+		public int getMaxQueueDepth() {
+			return maxQueueDepth;
+		}
+
+		/**
+		 * 입력 대기열 크기 (입력 대기열이 없는 단계는 0)
+		 */
+		public int getQueueCapacity() {
+			return queueCapacity;
+		}
+
+		/**
+		 * 처리한 파일 수
+		 */
+		public long getProcessed() {
+			return processed;
+		}
+
+		/**
+		 * 초당 처리한 파일 수 (검증 시작부터의 경과 시간 기준)
+		 */
+		public double getThroughput() {
+			return wallNanos > 0 ? processed * 1_000_000_000.0 / wallNanos : 0;
+		}
+
+		/**
+		 * 이 단계 스레드들이 작업한 시간의 비율 (0.0~1.0, 가장 높은 단계가 병목)
+		 */
+		public double getUtilization() {
+			return wallNanos > 0 && threads > 0 ? Math.min(1.0, (double) busyNanos / wallNanos / threads) : 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d건 (%.1f건/s), 사용률 %d%%, 대기열 %s", name, processed, getThroughput(),
+					Math.round(getUtilization() * 100),
+					queueCapacity > 0 ? queueDepth + "/" + queueCapacity + " (최대 " + maxQueueDepth + ")" : "없음");
+		}
+	}
+
+	/**
+	 * 전체 검증 결과 요약
+	 */
+	public static final class Summary {
+
+		private final int totalFiles;
+		private final int validCount;
+		private final int invalidCount;
+		private final int errorCount;
+		private final boolean cancelled;
+		private final long elapsedMillis;
+		private final Map<String, Double> workerUtilization;
+		private final List<StageStatistics> stageStatistics;
+
+		Summary(int totalFiles, int validCount, int invalidCount, int errorCount, boolean cancelled,
+				long elapsedMillis, Map<String, Double> workerUtilization, List<StageStatistics> stageStatistics) {
+			this.totalFiles = totalFiles;
+			this.validCount = validCount;
+			this.invalidCount = invalidCount;
+			this.errorCount = errorCount;
+			this.cancelled = cancelled;
+			this.elapsedMillis = elapsedMillis;
+			this.workerUtilization = Collections.unmodifiableMap(workerUtilization);
+			this.stageStatistics = Collections.unmodifiableList(stageStatistics);
+		}
+
+		public int getTotalFiles() {
+			return totalFiles;
+		}
+
+		public int getValidCount() {
+			return validCount;
+		}
+
+		public int getInvalidCount() {
+			return invalidCount;
+		}
+
+		/**
+		 * 리스너에 전달된 파일 수 (중단되면 전체 파일 수보다 적음)
+		 */
+		public int getProcessedCount() {
+			return validCount + invalidCount;
+		}
+
+		public int getErrorCount() {
+			return errorCount;
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		/**
+		 * 작업 스레드별 사용률 (스레드 이름 -> 검증 시간 중 파일을 처리한 시간의 비율, 0.0~1.0)
+		 */
+		public Map<String, Double> getWorkerUtilization() {
+			return workerUtilization;
+		}
+
+		/**
+		 * 파이프라인 단계별 최종 상태 (작업 순서 결정, 파일 읽기, 파싱/검증, 결과 전달 순)
+		 */
+		public List<StageStatistics> getStageStatistics() {
+			return stageStatistics;
+		}
+
+		/**
+		 * 작업 스레드 사용률을 로그용 문자열로 반환합니다.
+		 */
+		public String formatWorkerUtilization() {
+			StringBuilder sb = new StringBuilder();
+			double sum = 0;
+			for (Map.Entry<String, Double> entry : workerUtilization.entrySet()) {
+				if (sb.length() > 0) {
+					sb.append(", ");
+				}
+				sb.append(entry.getKey()).append('=').append(Math.round(entry.getValue() * 100)).append('%');
+				sum += entry.getValue();
+			}
+			long average = workerUtilization.isEmpty() ? 0 : Math.round(sum * 100 / workerUtilization.size());
+			return "평균 " + average + "% (" + sb + ")";
+		}
+	}
+
+	/**
+	 * 파일별 마지막 검증 시간 (다음 검증의 작업 순서 추정에 사용)
+	 */
+	private static final class Timing {
+
+		final long nanos;
+		final long length;
+
+		Timing(long nanos, long length) {
+			this.nanos = nanos;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * 읽기 단계에서 파싱/검증 단계로 넘기는 파일
+	 */
+	private static final class ReadFile {
+
+		final int index;
+		final File file;
+		// 미리 읽은 내용 (스트리밍 모드 대상이거나 읽지 못했으면 null, 검증 단계가 파일에서 직접 읽음)
+		final byte[] content;
+		final YamlRuleParser rules;
+		final ValidationResultCache.Key cacheKey;
+		// 미리 읽기 한도에서 빌린 양 (KB, 검증이 끝나면 반환)
+		final int readAheadPermits;
+
+		ReadFile(int index, File file, byte[] content, YamlRuleParser rules, ValidationResultCache.Key cacheKey,
+				int readAheadPermits) {
+			this.index = index;
+			this.file = file;
+			this.content = content;
+			this.rules = rules;
+			this.cacheKey = cacheKey;
+			this.readAheadPermits = readAheadPermits;
+		}
+	}
+
+	private final ForkJoinPool executor;
+	private final ThreadPoolExecutor ioExecutor;
+	private final int threadCount;
+	private final ValidationResultCache resultCache;
+	// 사용률을 보고하는 CPU 작업 이름 (작업 스레드 수만큼, fork-join 풀의 스레드는 바뀔 수 있으므로 스레드 이름 대신 사용)
+	private final List<String> workerNames = new ArrayList<>();
+	// 파일 경로 -> 마지막 검증 시간 (캐시된 결과를 사용한 경우는 기록하지 않음)
+	private final Map<String, Timing> timingHistory = new ConcurrentHashMap<>();
+	private volatile boolean timingHistoryWeighted;
+	private volatile long fileTimeoutMillis;
+	private volatile boolean cancelled;
+	private volatile boolean closed;
+	private volatile Batch currentBatch;
+
+	/**
+	 * CPU 코어 수만큼의 작업 스레드로 엔진을 만듭니다.
+	 * @param resultCache 검증 결과 캐시 (사용하지 않으면 null)
+	 */
+	public ValidationEngine(ValidationResultCache resultCache) {
+		this(Runtime.getRuntime().availableProcessors(), resultCache);
+	}
+
+	/**
+	 * @param threadCount 작업 스레드 수
+	 * @param resultCache 검증 결과 캐시 (사용하지 않으면 null)
+	 */
+	public ValidationEngine(int threadCount, ValidationResultCache resultCache) {
+		this.threadCount = Math.max(1, threadCount);
+		this.resultCache = resultCache;
+		// 작업 스레드가 파일을 기다리는 동안에는 다른 스레드가 하위 트리 검증 작업을 대신 실행하도록 여유 스레드를 허용
+		// (여유 스레드가 모자라면 기다리는 스레드를 대신하지 않고 그대로 진행)
+		this.executor = new ForkJoinPool(this.threadCount, new WorkerThreadFactory("worker"), null, false,
+				this.threadCount, this.threadCount * 2, 1, pool -> true, WORKER_KEEP_ALIVE_DAYS, TimeUnit.DAYS);
+		for (int i = 1; i <= this.threadCount; i++) {
+			workerNames.add("worker-" + i);
+		}
+		// 읽기 스레드와 작업 순서를 넣는 스레드
+		this.ioExecutor = new ThreadPoolExecutor(READ_THREADS + 1, READ_THREADS + 1, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), new WorkerThreadFactory("io"));
+	}
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * 작업 순서를 정할 때 이전 검증 시간을 사용할지 설정합니다.
+	 * 사용하면 이전에 검증한 파일은 그때 걸린 시간(크기가 바뀌었으면 크기 비율로 보정)으로,
+	 * 처음 보는 파일은 지금까지의 평균 바이트당 검증 시간으로 소요 시간을 추정합니다.
+	 * 사용하지 않으면 파일 크기만으로 순서를 정합니다.
+	 * @param weighted 이전 검증 시간 사용 여부
+	 */
+	public void setTimingHistoryWeighted(boolean weighted) {
+		this.timingHistoryWeighted = weighted;
+	}
+
+	public boolean isTimingHistoryWeighted() {
+		return timingHistoryWeighted;
+	}
+
+	/**
+	 * 파일 하나의 검증 제한 시간을 설정합니다.
+	 * 제한 시간이 지난 파일은 그때까지 찾은 오류와 제한 시간 초과 오류만 보고하고 (결과 캐시에는 저장하지 않음)
+	 * 나머지 파일은 계속 검증합니다.
+	 * @param timeoutMillis 제한 시간 (밀리초, 0 이하이면 제한 없음)
+	 */
+	public void setFileTimeoutMillis(long timeoutMillis) {
+		this.fileTimeoutMillis = Math.max(0, timeoutMillis);
+	}
+
+	public long getFileTimeoutMillis() {
+		return fileTimeoutMillis;
+	}
+
+	/**
+	 * 파일들을 검증하고 모두 끝나면 반환합니다.
+	 * 규칙은 파일을 읽을 때 가져오므로, 도중에 규칙이 바뀌면 그 다음에 읽는 파일부터 적용됩니다.
+	 * 결과는 이 메서드를 호출한 스레드에서 입력 순서대로 리스너에 전달하며,
+	 * 중단되면 그때까지 입력 순서대로 끝난 파일까지만 전달합니다.
+	 * @param files 검증할 파일 목록
+	 * @param rules 규칙 공급자 (규칙이 없으면 null을 반환, 문법 체크만 수행)
+	 * @param syntaxOnly 문법 체크만 수행할지 여부
+	 * @param listener 진행 상황 리스너
+	 * @return 검증 결과 요약
+	 */
+	public synchronized Summary validate(List<File> files, Supplier<YamlRuleParser> rules, boolean syntaxOnly,
+			Listener listener) {
+		long startTime = System.currentTimeMillis();
+		cancelled = false;
+		Batch batch = new Batch(files, rules, syntaxOnly, listener, threadCount * QUEUE_SLOTS_PER_WORKER);
+		currentBatch = batch;
+		ioExecutor.execute(() -> runScheduleStage(batch));
+		for (int i = 0; i < READ_THREADS; i++) {
+			ioExecutor.execute(() -> runReadStage(batch));
+		}
+		for (String workerName : workerNames) {
+			executor.execute(() -> runValidateStage(batch, workerName));
+		}
+		runReportStage(batch);
+
+		if (cancelled) {
+			System.out.println("검증이 중단되었습니다. (" + batch.delivered + "/" + files.size() + " 파일 처리됨)");
+		}
+		long wallNanos = Math.max(1, System.nanoTime() - batch.startNanos);
+		Map<String, Double> utilization = new LinkedHashMap<>();
+		for (String workerName : workerNames) {
+			AtomicLong busy = batch.busyNanos.get(workerName);
+			utilization.put(workerName, busy == null ? 0.0 : Math.min(1.0, (double) busy.get() / wallNanos));
+		}
+		return new Summary(files.size(), batch.validCount, batch.invalidCount, batch.errorCount, cancelled,
+				System.currentTimeMillis() - startTime, utilization, batch.statistics());
+	}
+
+	/**
+	 * 진행 중인(없으면 마지막) 검증의 단계별 상태를 반환합니다 (검증 중에 다른 스레드에서 호출 가능).
+	 * @return 단계별 상태 (검증한 적이 없으면 빈 목록)
+	 */
+	public List<StageStatistics> getStageStatistics() {
+		Batch batch = currentBatch;
+		return batch != null ? batch.statistics() : Collections.emptyList();
+	}
+
+	/**
+	 * 작업 순서 결정 단계: 예상 소요 시간이 긴 파일부터 읽기 대기열에 넣습니다.
+	 * 대기열이 차면 읽기 단계가 따라올 때까지 기다립니다.
+	 */
+	private void runScheduleStage(Batch batch) {
+		try {
+			long startNanos = System.nanoTime();
+			Integer[] order = scheduleOrder(batch.files);
+			batch.schedule.addBusyTime(System.nanoTime() - startNanos);
+			for (int index : order) {
+				if (cancelled) {
+					break;
+				}
+				batch.readQueue.put(index);
+				batch.read.queued(batch.readQueue);
+				batch.schedule.processed.incrementAndGet();
+			}
+			for (int i = 0; i < READ_THREADS; i++) {
+				batch.readQueue.put(END_OF_FILES);
+			}
+		} catch (InterruptedException e) {
+			// close() 호출로 종료
+		}
+	}
+
+	/**
+	 * 파일 읽기 단계: 파일 내용을 메모리로 읽고 결과 캐시를 확인합니다.
+	 * 캐시에 결과가 있으면 바로 결과 전달 단계로, 없으면 파싱/검증 단계로 넘깁니다.
+	 */
+	private void runReadStage(Batch batch) {
+		try {
+			while (true) {
+				int index = batch.readQueue.take();
+				if (index == END_OF_FILES) {
+					if (batch.readersLeft.decrementAndGet() == 0) {
+						for (int i = 0; i < threadCount; i++) {
+							batch.parseQueue.put(END_OF_READS);
+						}
+					}
+					return;
+				}
+				if (cancelled) {
+					continue;
+				}
+				long startNanos = System.nanoTime();
+				Object next;
+				try {
+					next = readFile(batch, index);
+				} catch (RuntimeException e) {
+					next = failedResult(batch.files.get(index), index, e);
+				}
+				batch.read.addBusyTime(System.nanoTime() - startNanos);
+				batch.read.processed.incrementAndGet();
+				if (next instanceof FileResult) {
+					batch.reportQueue.put((FileResult) next);
+					batch.report.queued(batch.reportQueue);
+				} else {
+					batch.parseQueue.put((ReadFile) next);
+					batch.validate.queued(batch.parseQueue);
+				}
+			}
+		} catch (InterruptedException e) {
+			// close() 호출로 종료
+		}
+	}
+
+	/**
+	 * 파싱/검증 단계: 미리 읽은 내용으로 문법 체크와 정합성 체크를 수행합니다 (CPU 작업 스레드).
+	 * @param workerName 사용률을 보고할 작업 이름
+	 */
+	private void runValidateStage(Batch batch, String workerName) {
+		try {
+			while (true) {
+				ReadFile read = takeParseQueue(batch);
+				if (read == END_OF_READS) {
+					if (batch.validatorsLeft.decrementAndGet() == 0) {
+						batch.reportQueue.put(END_OF_RESULTS);
+					}
+					return;
+				}
+				FileResult result;
+				long startNanos = System.nanoTime();
+				try {
+					result = cancelled ? null : validateFile(batch, read);
+				} catch (RuntimeException e) {
+					result = failedResult(read.file, read.index, e);
+				} finally {
+					batch.releaseReadAhead(read.readAheadPermits);
+				}
+				long busyNanos = System.nanoTime() - startNanos;
+				batch.validate.addBusyTime(busyNanos);
+				batch.addBusyTime(workerName, busyNanos);
+				if (result != null) {
+					batch.validate.processed.incrementAndGet();
+					batch.reportQueue.put(result);
+					batch.report.queued(batch.reportQueue);
+				}
+			}
+		} catch (InterruptedException e) {
+			// close() 호출로 종료
+		}
+	}
+
+	/**
+	 * 파싱/검증할 다음 파일을 꺼냅니다.
+	 * 기다리는 동안 fork-join 풀이 다른 스레드로 남은 하위 트리 검증 작업을 실행하도록 관리되는 대기로 기다립니다.
+	 */
+	private static ReadFile takeParseQueue(Batch batch) throws InterruptedException {
+		ReadFile[] next = new ReadFile[1];
+		ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+			@Override
+			public boolean block() throws InterruptedException {
+				if (next[0] == null) {
+					next[0] = batch.parseQueue.take();
+				}
+				return true;
+			}
+
+			@Override
+			public boolean isReleasable() {
+				return next[0] != null || (next[0] = batch.parseQueue.poll()) != null;
+			}
+		});
+		return next[0];
+	}
+
+	/**
+	 * 결과 전달 단계: 새 결과를 결과 캐시에 저장하고 입력 순서대로 리스너에 전달합니다 (호출한 스레드).
+	 */
+	private void runReportStage(Batch batch) {
+		try {
+			while (true) {
+				FileResult result = batch.reportQueue.poll(100, TimeUnit.MILLISECONDS);
+				if (result == END_OF_RESULTS || (result == null && closed)) {
+					return;
+				}
+				if (result == null) {
+					continue;
+				}
+				long startNanos = System.nanoTime();
+				if (!result.isCached() && result.cacheKey != null && resultCache != null) {
+					resultCache.put(result.cacheKey, result.getErrors());
+				}
+				batch.complete(result);
+				batch.report.addBusyTime(System.nanoTime() - startNanos);
+				batch.report.processed.incrementAndGet();
+			}
+		} catch (InterruptedException e) {
+			cancel();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 예상 소요 시간이 긴 파일부터의 작업 순서를 만듭니다 (예상 시간이 같으면 입력 순서).
+	 * @return 파일 인덱스 배열
+	 */
+	private Integer[] scheduleOrder(List<File> files) {
+		boolean weighted = timingHistoryWeighted;
+		double nanosPerByte = weighted ? averageNanosPerByte() : 1.0;
+		long[] cost = new long[files.size()];
+		Integer[] order = new Integer[files.size()];
+		for (int i = 0; i < cost.length; i++) {
+			File file = files.get(i);
+			long length = file.length();
+			Timing timing = weighted ? timingHistory.get(file.getAbsolutePath()) : null;
+			if (timing != null) {
+				cost[i] = timing.length > 0 ? (long) (timing.nanos * ((double) length / timing.length)) : timing.nanos;
+			} else {
+				cost[i] = (long) (length * nanosPerByte);
+			}
+			order[i] = i;
+		}
+		// 안정 정렬이므로 예상 시간이 같은 파일은 입력 순서를 유지
+		Arrays.sort(order, (a, b) -> Long.compare(cost[b], cost[a]));
+		return order;
+	}
+
+	/**
+	 * 지금까지 검증한 파일의 평균 바이트당 검증 시간 (기록이 없으면 1.0)
+	 */
+	private double averageNanosPerByte() {
+		long totalNanos = 0;
+		long totalBytes = 0;
+		for (Timing timing : timingHistory.values()) {
+			totalNanos += timing.nanos;
+			totalBytes += timing.length;
+		}
+		return totalBytes > 0 && totalNanos > 0 ? (double) totalNanos / totalBytes : 1.0;
+	}
+
+	/**
+	 * 진행 중인 검증을 중단합니다. 검증 중인 파일의 결과는 버립니다.
+	 */
+	public void cancel() {
+		cancelled = true;
+		// 검증 중인 파일도 파서와 규칙 순회 중간에 멈추도록 토큰 중단
+		Batch batch = currentBatch;
+		if (batch != null) {
+			batch.token.cancel();
+		}
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * 작업 스레드를 종료합니다.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		cancel();
+		executor.shutdownNow();
+		ioExecutor.shutdownNow();
+	}
+
+	/**
+	 * 파일을 읽고 결과 캐시를 확인합니다 (읽기 스레드에서 실행).
+	 * @return 캐시된 결과나 파일이 없다는 오류 결과({@link FileResult}), 또는 검증할 파일({@link ReadFile})
+	 */
+	private Object readFile(Batch batch, int index) throws InterruptedException {
+		File xmlFile = batch.files.get(index);
+
+		// 파일이 존재하는지 확인
+		if (!xmlFile.exists()) {
+			System.err.println("파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath());
+			List<ValidationError> errors = new ArrayList<>();
+			errors.add(new ValidationError(xmlFile, -1, -1,
+					"파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath(),
+					ValidationError.ErrorType.SYNTAX));
+			return new FileResult(index, xmlFile, errors, false, 0, null, null);
+		}
+
+		long readStartTime = System.currentTimeMillis();
+		// 이 파일은 끝날 때까지 읽을 때의 규칙으로 검증 (도중에 규칙이 다시 로드되어도 다음 파일부터 적용)
+		YamlRuleParser fileRules = batch.syntaxOnly || batch.rules == null ? null : batch.rules.get();
+
+		// 대용량 파일은 스트리밍 모드로 검증하므로 미리 읽지 않음
+		byte[] content = null;
+		int permits = 0;
+		long length = xmlFile.length();
+		if (length < STREAMING_THRESHOLD_BYTES) {
+			permits = batch.acquireReadAhead(length);
+			try {
+				content = Files.readAllBytes(xmlFile.toPath());
+			} catch (IOException e) {
+				// 검증 단계에서 파일을 직접 읽으면서 파서와 같은 읽기 오류를 보고
+				batch.releaseReadAhead(permits);
+				permits = 0;
+			}
+		}
+
+		// 0. 결과 캐시 확인 (파일 내용과 규칙 파일이 같으면 이전 결과를 그대로 사용)
+		ValidationResultCache.Key cacheKey = null;
+		if (resultCache != null) {
+			boolean cacheSyntaxOnly = fileRules == null;
+			long ruleFingerprint = cacheSyntaxOnly ? 0 : fileRules.getFingerprint();
+			cacheKey = content != null
+					? ValidationResultCache.keyOf(content, ruleFingerprint, cacheSyntaxOnly)
+					: ValidationResultCache.keyOf(xmlFile, ruleFingerprint, cacheSyntaxOnly);
+			List<ValidationError> cachedErrors = resultCache.get(cacheKey, xmlFile);
+			if (cachedErrors != null) {
+				batch.releaseReadAhead(permits);
+				long elapsed = System.currentTimeMillis() - readStartTime;
+				System.out.println("[" + (index + 1) + "/" + batch.files.size() + "] 캐시된 결과 사용: " + xmlFile.getName() +
+						" (오류 수: " + cachedErrors.size() + ", 소요 시간: " + elapsed + "ms)");
+				return new FileResult(index, xmlFile, cachedErrors, true, elapsed, fileRules, null);
+			}
+		}
+		return new ReadFile(index, xmlFile, content, fileRules, cacheKey, permits);
+	}
+
+	/**
+	 * 파일 하나를 파싱하고 검증합니다 (작업 스레드에서 실행).
+	 * @return 검증 결과 (중단되었으면 null)
+	 */
+	private FileResult validateFile(Batch batch, ReadFile read) {
+		File xmlFile = read.file;
+		int index = read.index;
+		YamlRuleParser fileRules = read.rules;
+		String progress = "[" + (index + 1) + "/" + batch.files.size() + "] ";
+		String fileName = xmlFile.getName();
+		long fileValidationStartTime = System.currentTimeMillis();
+		long fileValidationStartNanos = System.nanoTime();
+		batch.listener.fileStarted(index, xmlFile);
+
+		long length = read.content != null ? read.content.length : xmlFile.length();
+		System.out.println(progress + "파일 검증 시작: " + xmlFile.getAbsolutePath() +
+				" (크기: " + length + " bytes, 수정 시간: " + xmlFile.lastModified() + ")");
+
+		// 이 파일에서 발견된 오류 (결과 전달 단계에서 결과 캐시에 저장)
+		List<ValidationError> fileErrors = new ArrayList<>();
+		// 중단 요청과 이 파일의 제한 시간을 파서와 규칙 순회에 전달
+		CancellationToken fileToken = batch.token.withTimeout(fileTimeoutMillis);
+
+		// 1. 문법 체크 (미리 읽은 내용을 한 번만 파싱하여 결과를 정합성 체크에 그대로 전달)
+		System.out.println(progress + "문법 체크 시작: " + fileName);
+		long syntaxStartTime = System.currentTimeMillis();
+		XmlSyntaxValidator syntaxValidator = new XmlSyntaxValidator();
+		syntaxValidator.setCancellationToken(fileToken);
+		// 대용량 파일은 DOM을 만들지 않고 스트리밍 모드로 정합성 체크
+		boolean streaming = read.content == null && length >= STREAMING_THRESHOLD_BYTES;
+		ParsedDocument parsed = null;
+		boolean syntaxValid;
+		List<ValidationError> syntaxErrors;
+		try {
+			if (fileRules == null || streaming) {
+				// DOM 없이 문법만 체크
+				syntaxValid = syntaxValidator.validate(xmlFile, read.content);
+				syntaxErrors = syntaxValidator.getErrors();
+			} else {
+				parsed = syntaxValidator.parse(xmlFile, read.content);
+				syntaxValid = parsed.isWellFormed();
+				syntaxErrors = parsed.getSyntaxErrors();
+			}
+		} catch (ValidationAbortedException e) {
+			if (!e.isTimedOut()) {
+				return null;
+			}
+			addErrors(fileErrors, syntaxValidator.getErrors(), ValidationError.ErrorType.SYNTAX);
+			return timedOutResult(read, progress, fileErrors, ValidationError.ErrorType.SYNTAX, fileToken,
+					fileValidationStartTime, fileValidationStartNanos, length);
+		}
+		System.out.println(progress + "문법 체크 완료: " + fileName + " (소요 시간: " +
+				(System.currentTimeMillis() - syntaxStartTime) + "ms, 결과: " + (syntaxValid ? "통과" : "실패") + ")");
+
+		// 검증 중단 확인 (문법 체크 후)
+		if (cancelled) {
+			return null;
+		}
+
+		if (!syntaxValid) {
+			addErrors(fileErrors, syntaxErrors, ValidationError.ErrorType.SYNTAX);
+		}
+
+		// 2. 정합성 체크 (규칙 파일이 있고 문법 오류가 없는 경우)
+		if (fileRules != null && syntaxValid) {
+			System.out.println(progress + "정합성 체크 시작: " + fileName + (streaming ? " (스트리밍 모드)" : ""));
+			long consistencyStartTime = System.currentTimeMillis();
+			ConsistencyValidator consistencyValidator = new ConsistencyValidator(fileRules);
+			consistencyValidator.setCancellationToken(fileToken);
+			boolean consistencyValid;
+			try {
+				consistencyValid = streaming
+						? consistencyValidator.validateStreaming(xmlFile, syntaxValidator.getCharset())
+						: consistencyValidator.validate(parsed);
+			} catch (ValidationAbortedException e) {
+				if (!e.isTimedOut()) {
+					return null;
+				}
+				addErrors(fileErrors, consistencyValidator.getErrors(), ValidationError.ErrorType.CONSISTENCY);
+				return timedOutResult(read, progress, fileErrors, ValidationError.ErrorType.CONSISTENCY, fileToken,
+						fileValidationStartTime, fileValidationStartNanos, length);
+			}
+			System.out.println(progress + "정합성 체크 완료: " + fileName + " (소요 시간: " +
+					(System.currentTimeMillis() - consistencyStartTime) + "ms, 결과: " + (consistencyValid ? "통과" : "실패") +
+					", 오류 수: " + consistencyValidator.getErrors().size() + ")");
+
+			// 검증 중단 확인 (정합성 체크 후)
+			if (cancelled) {
+				return null;
+			}
+
+			if (!consistencyValid) {
+				addErrors(fileErrors, consistencyValidator.getErrors(), ValidationError.ErrorType.CONSISTENCY);
+			}
+		}
+
+		timingHistory.put(xmlFile.getAbsolutePath(), new Timing(System.nanoTime() - fileValidationStartNanos, length));
+
+		long elapsed = System.currentTimeMillis() - fileValidationStartTime;
+		System.out.println(progress + "파일 검증 완료: " + fileName + " (총 소요 시간: " + elapsed + "ms, 결과: " +
+				(fileErrors.isEmpty() ? "성공" : "실패") + ")");
+		return new FileResult(index, xmlFile, fileErrors, false, elapsed, fileRules, read.cacheKey);
+	}
+
+	/**
+	 * 검증기가 찾은 오류를 단계별 오류 유형으로 추가합니다.
+	 */
+	private static void addErrors(List<ValidationError> fileErrors, List<ValidationError> errors,
+			ValidationError.ErrorType type) {
+		for (ValidationError error : errors) {
+			fileErrors.add(new ValidationError(
+					error.getFile(),
+					error.getLineNumber(),
+					error.getColumnNumber(),
+					error.getMessage(),
+					type));
+		}
+	}
+
+	/**
+	 * 제한 시간이 지나 검증을 멈춘 파일의 결과 (그때까지 찾은 오류와 제한 시간 초과 오류)
+	 * 일부 결과이므로 결과 캐시에는 저장하지 않습니다.
+	 */
+	private FileResult timedOutResult(ReadFile read, String progress, List<ValidationError> fileErrors,
+			ValidationError.ErrorType type, CancellationToken fileToken, long startTime, long startNanos, long length) {
+		fileErrors.add(new ValidationError(read.file, -1, -1,
+				"검증 제한 시간 초과 (" + fileToken.getTimeoutMillis() + "ms): 일부 결과만 표시됩니다",
+				type));
+		// 다음 검증에서도 먼저 시작하도록 걸린 시간은 기록 (실제 소요 시간보다 짧음)
+		timingHistory.put(read.file.getAbsolutePath(), new Timing(System.nanoTime() - startNanos, length));
+		long elapsed = System.currentTimeMillis() - startTime;
+		System.err.println(progress + "검증 제한 시간 초과: " + read.file.getName() +
+				" (제한 시간: " + fileToken.getTimeoutMillis() + "ms, 오류 수: " + (fileErrors.size() - 1) + ")");
+		return new FileResult(read.index, read.file, fileErrors, false, elapsed, read.rules, null);
+	}
+
+	/**
+	 * 검증 중 예외가 발생한 파일의 결과 (다른 파일은 계속 검증)
+	 */
+	private static FileResult failedResult(File file, int index, RuntimeException e) {
+		System.err.println("파일 검증 오류: " + file.getName() + " - " + e.getMessage());
+		e.printStackTrace();
+		List<ValidationError> errors = new ArrayList<>();
+		errors.add(new ValidationError(file, -1, -1, "파일 검증 중 오류가 발생했습니다: " + e.getMessage(),
+				ValidationError.ErrorType.SYNTAX));
+		return new FileResult(index, file, errors, false, 0, null, null);
+	}
+
+	/**
+	 * 파이프라인 단계 하나의 처리량과 입력 대기열 상태 (여러 스레드에서 갱신)
+	 */
+	private static final class Stage {
+
+		final String name;
+		final int threads;
+		final BlockingQueue<?> queue;
+		final int queueCapacity;
+		final AtomicLong processed = new AtomicLong();
+		final AtomicLong busyNanos = new AtomicLong();
+		final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+		Stage(String name, int threads, BlockingQueue<?> queue, int queueCapacity) {
+			this.name = name;
+			this.threads = threads;
+			this.queue = queue;
+			this.queueCapacity = queueCapacity;
+		}
+
+		void addBusyTime(long nanos) {
+			busyNanos.addAndGet(nanos);
+		}
+
+		/**
+		 * 입력 대기열에 작업을 넣은 직후 호출하여 최대 대기열 길이를 기록합니다.
+		 */
+		void queued(BlockingQueue<?> input) {
+			maxQueueDepth.accumulateAndGet(input.size(), Math::max);
+		}
+
+		StageStatistics snapshot(long wallNanos) {
+			return new StageStatistics(name, threads, queue != null ? queue.size() : 0, maxQueueDepth.get(),
+					queueCapacity, processed.get(), busyNanos.get(), wallNanos);
+		}
+	}
+
+	/**
+	 * 검증 한 번의 입력, 단계 사이 대기열과 결과 전달 상태
+	 * 먼저 끝난 파일의 결과는 앞 파일이 모두 끝날 때까지 보관했다가 입력 순서대로 전달합니다.
+	 */
+	private final class Batch {
+
+		final List<File> files;
+		final Supplier<YamlRuleParser> rules;
+		final boolean syntaxOnly;
+		final Listener listener;
+		final long startNanos = System.nanoTime();
+		// 검증 중인 파일에 중단을 전달하는 토큰 (파일별 제한 시간 토큰의 상위 토큰)
+		final CancellationToken token = CancellationToken.create();
+
+		// 단계 사이 대기열 (크기가 정해져 있어 뒤 단계가 밀리면 앞 단계가 기다림)
+		final BlockingQueue<Integer> readQueue;
+		final BlockingQueue<ReadFile> parseQueue;
+		final BlockingQueue<FileResult> reportQueue;
+		// 미리 읽어 둔 파일 내용의 총량 제한 (KB)
+		final Semaphore readAhead = new Semaphore(READ_AHEAD_KB);
+		final AtomicInteger readersLeft = new AtomicInteger(READ_THREADS);
+		final AtomicInteger validatorsLeft = new AtomicInteger(threadCount);
+
+		final Stage schedule;
+		final Stage read;
+		final Stage validate;
+		final Stage report;
+
+		private final FileResult[] results;
+		// 작업 스레드 이름 -> 이번 검증에서 파일을 처리한 시간
+		final Map<String, AtomicLong> busyNanos = new ConcurrentHashMap<>();
+		int delivered;
+		int validCount;
+		int invalidCount;
+		int errorCount;
+
+		Batch(List<File> files, Supplier<YamlRuleParser> rules, boolean syntaxOnly, Listener listener, int queueCapacity) {
+			this.files = files;
+			this.rules = rules;
+			this.syntaxOnly = syntaxOnly;
+			this.listener = listener;
+			this.results = new FileResult[files.size()];
+			// 종료 표시가 항상 들어갈 수 있도록 대기열은 종료 표시를 보내는 스레드 수 이상으로 만듦
+			this.readQueue = new ArrayBlockingQueue<>(Math.max(queueCapacity, READ_THREADS));
+			this.parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+			this.reportQueue = new ArrayBlockingQueue<>(queueCapacity);
+			this.schedule = new Stage("작업 순서", 1, null, 0);
+			this.read = new Stage("파일 읽기", READ_THREADS, readQueue, Math.max(queueCapacity, READ_THREADS));
+			this.validate = new Stage("파싱/검증", threadCount, parseQueue, queueCapacity);
+			this.report = new Stage("결과 전달", 1, reportQueue, queueCapacity);
+		}
+
+		List<StageStatistics> statistics() {
+			long wallNanos = System.nanoTime() - startNanos;
+			List<StageStatistics> statistics = new ArrayList<>(4);
+			statistics.add(schedule.snapshot(wallNanos));
+			statistics.add(read.snapshot(wallNanos));
+			statistics.add(validate.snapshot(wallNanos));
+			statistics.add(report.snapshot(wallNanos));
+			return statistics;
+		}
+
+		/**
+		 * 파일 크기만큼 미리 읽기 한도를 빌립니다 (한도가 찰 때까지 기다림).
+		 * @return 빌린 양 (KB)
+		 */
+		int acquireReadAhead(long length) throws InterruptedException {
+			int permits = (int) Math.min(READ_AHEAD_KB, Math.max(1, (length + 1023) / 1024));
+			readAhead.acquire(permits);
+			return permits;
+		}
+
+		void releaseReadAhead(int permits) {
+			if (permits > 0) {
+				readAhead.release(permits);
+			}
+		}
+
+		void addBusyTime(String workerName, long nanos) {
+			busyNanos.computeIfAbsent(workerName, name -> new AtomicLong()).addAndGet(nanos);
+		}
+
+		void complete(FileResult result) {
+			results[result.getIndex()] = result;
+			while (delivered < results.length && results[delivered] != null && !cancelled) {
+				FileResult next = results[delivered];
+				results[delivered++] = null;
+				if (next.isValid()) {
+					validCount++;
+				} else {
+					invalidCount++;
+				}
+				errorCount += next.getErrors().size();
+				listener.fileCompleted(next);
+			}
+		}
+	}
+
+	/**
+	 * 엔진 스레드 (데몬, 이름에 번호 부여)
+	 */
+	private static final class WorkerThreadFactory implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+		private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+		private final String kind;
+		private final int poolNumber = POOL_NUMBER.incrementAndGet();
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		WorkerThreadFactory(String kind) {
+			this.kind = kind;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, nextName());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			// fork-join 풀의 스레드는 항상 데몬
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(nextName());
+			return thread;
+		}
+
+		private String nextName() {
+			return "xml-validator-" + kind + "-" + poolNumber + "-" + threadNumber.incrementAndGet();
+		}
+	}
+}
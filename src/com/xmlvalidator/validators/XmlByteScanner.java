@@ -0,0 +1,883 @@
+package com.xmlvalidator.validators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 메모리 매핑한 파일을 바이트 단위로 검사하는 XML 정형성(well-formedness) 스캐너
+ * UTF-16으로 디코딩하거나 String을 만들지 않고 한 번의 스캔으로 인코딩 바이트 열(UTF-8, EUC-KR),
+ * 태그 짝, 속성 따옴표, 엔티티/문자 참조, 네임스페이스 접두어 바인딩을 검사합니다.
+ *
+ * 대량 파일 문법 검사의 사전 필터 용도이므로 보수적으로 판단합니다.
+ * "정상"은 SAX 파서도 오류 없이 읽는 경우에만 반환하고, DOCTYPE, ASCII가 아닌 이름, 지원하지 않는 인코딩,
+ * CP949 확장 문자처럼 직접 판단하지 않는 입력은 모두 "의심"으로 반환합니다.
+ * 의심 결과는 SAX 파서로 다시 검사하므로 사용자에게 보이는 오류 메시지는 항상 파서의 메시지입니다.
+ */
+final class XmlByteScanner {
+
+	/**
+	 * 스캔 결과
+	 */
+	static final class Result {
+		private final boolean wellFormed;
+		private final int offset;
+		private final String reason;
+
+		private Result(boolean wellFormed, int offset, String reason) {
+			this.wellFormed = wellFormed;
+			this.offset = offset;
+			this.reason = reason;
+		}
+
+		/**
+		 * SAX 파서로 다시 검사하지 않아도 되는지 여부
+		 */
+		boolean isWellFormed() {
+			return wellFormed;
+		}
+
+		/**
+		 * 의심 지점의 바이트 오프셋 (정상이면 -1)
+		 */
+		int getOffset() {
+			return offset;
+		}
+
+		/**
+		 * 의심 사유 (정상이면 null)
+		 */
+		String getReason() {
+			return reason;
+		}
+	}
+
+	/**
+	 * 스캔 중단용 예외 (스택 트레이스를 만들지 않음)
+	 */
+	private static final class Reject extends Exception {
+		private static final long serialVersionUID = 1L;
+		final int offset;
+
+		Reject(int offset, String reason) {
+			super(reason, null, false, false);
+			this.offset = offset;
+		}
+	}
+
+	private static final byte[] XML_DECL = { '<', '?', 'x', 'm', 'l' };
+	private static final byte[] COMMENT_START = { '<', '!', '-', '-' };
+	private static final byte[] CDATA_START = { '<', '!', '[', 'C', 'D', 'A', 'T', 'A', '[' };
+	private static final byte[] XMLNS = { 'x', 'm', 'l', 'n', 's' };
+	private static final byte[] XML_NAMESPACE_URI = ascii("http://www.w3.org/XML/1998/namespace");
+	private static final byte[] XMLNS_NAMESPACE_URI = ascii("http://www.w3.org/2000/xmlns/");
+
+	private final ByteBuffer buf;
+	private final int limit;
+	private int pos;
+	private boolean eucKr;
+
+	// 열린 요소 이름 (시작 오프셋, 길이)
+	private int[] openStart = new int[32];
+	private int[] openLength = new int[32];
+	private int depth;
+
+	// 선언된 네임스페이스 접두어 (시작 오프셋, 길이, 선언된 요소 깊이)
+	private int[] nsStart = new int[8];
+	private int[] nsLength = new int[8];
+	private int[] nsDepth = new int[8];
+	private int nsCount;
+
+	// 현재 시작 태그의 속성 이름 (시작 오프셋, 길이)
+	private int[] attrStart = new int[16];
+	private int[] attrLength = new int[16];
+	private int attrCount;
+
+	private XmlByteScanner(ByteBuffer buf) {
+		this.buf = buf;
+		this.limit = buf.limit();
+	}
+
+	/**
+	 * 파일을 메모리 매핑하여 스캔합니다.
+	 * @param file 검사할 XML 파일
+	 * @param encodingOverride 파서에 강제로 지정하는 인코딩 (없으면 null, XML 선언과 다르면 의심으로 처리)
+	 */
+	static Result scan(File file, String encodingOverride) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				return new Result(false, -1, "파일이 너무 큼");
+			}
+			return scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), encodingOverride);
+		}
+	}
+
+	/**
+	 * 바이트 버퍼(전체 내용)를 스캔합니다.
+	 */
+	static Result scan(ByteBuffer buffer, String encodingOverride) {
+		XmlByteScanner scanner = new XmlByteScanner(buffer);
+		try {
+			scanner.scanDocument(encodingOverride);
+			return new Result(true, -1, null);
+		} catch (Reject e) {
+			return new Result(false, e.offset, e.getMessage());
+		}
+	}
+
+	private void scanDocument(String encodingOverride) throws Reject {
+		String declared = null;
+		boolean bom = false;
+		if (limit >= 2 && ((at(0) == (byte) 0xFE && at(1) == (byte) 0xFF) || (at(0) == (byte) 0xFF && at(1) == (byte) 0xFE))) {
+			throw new Reject(0, "UTF-16 문서");
+		}
+		if (limit >= 3 && at(0) == (byte) 0xEF && at(1) == (byte) 0xBB && at(2) == (byte) 0xBF) {
+			pos = 3;
+			bom = true;
+		}
+		if (startsWith(XML_DECL) && pos + 5 < limit && isSpace(at(pos + 5))) {
+			declared = scanXmlDecl();
+		}
+
+		// 인코딩 결정: 강제 지정 인코딩은 XML 선언과 같을 때만 직접 검사
+		String encoding = declared != null ? declared : "UTF-8";
+		if (encodingOverride != null && !encodingOverride.isEmpty() && !encodingOverride.equalsIgnoreCase(encoding)) {
+			throw new Reject(0, "지정 인코딩과 XML 선언 인코딩이 다름");
+		}
+		if (encoding.equalsIgnoreCase("EUC-KR")) {
+			eucKr = true;
+		} else if (!encoding.equalsIgnoreCase("UTF-8")) {
+			throw new Reject(0, "지원하지 않는 인코딩: " + encoding);
+		}
+		if (bom && eucKr) {
+			throw new Reject(0, "BOM과 인코딩 선언이 다름");
+		}
+
+		scanMisc();
+		if (pos >= limit || at(pos) != '<' || pos + 1 >= limit || !isNameStart(at(pos + 1))) {
+			throw new Reject(pos, "루트 요소 없음");
+		}
+		scanContent();
+		scanMisc();
+		if (pos < limit) {
+			throw new Reject(pos, "루트 요소 뒤의 내용");
+		}
+	}
+
+	/**
+	 * XML 선언을 검사하고 선언된 인코딩을 반환합니다 (pos는 '<?xml' 위치).
+	 */
+	private String scanXmlDecl() throws Reject {
+		pos += 5;
+		String encoding = null;
+		skipRequiredSpace();
+		expectWord("version");
+		int value = scanDeclValue();
+		if (pos - value - 1 != 3 || at(value) != '1' || at(value + 1) != '.' || at(value + 2) != '0') {
+			throw new Reject(value, "XML 1.0이 아님");
+		}
+		boolean space = skipSpace();
+		if (space && startsWithWord("encoding")) {
+			pos += 8;
+			int start = scanDeclValue();
+			StringBuilder name = new StringBuilder();
+			for (int i = start; i < pos - 1; i++) {
+				byte b = at(i);
+				if (!(isAsciiLetter(b) || isDigit(b) || b == '-' || b == '_' || b == '.')) {
+					throw new Reject(i, "인코딩 이름 오류");
+				}
+				name.append((char) b);
+			}
+			if (name.length() == 0 || !isAsciiLetter(at(start))) {
+				throw new Reject(start, "인코딩 이름 오류");
+			}
+			encoding = name.toString();
+			space = skipSpace();
+		}
+		if (space && startsWithWord("standalone")) {
+			pos += 10;
+			int start = scanDeclValue();
+			int length = pos - 1 - start;
+			boolean yes = length == 3 && at(start) == 'y' && at(start + 1) == 'e' && at(start + 2) == 's';
+			boolean no = length == 2 && at(start) == 'n' && at(start + 1) == 'o';
+			if (!yes && !no) {
+				throw new Reject(start, "standalone 값 오류");
+			}
+			skipSpace();
+		}
+		if (pos + 1 >= limit || at(pos) != '?' || at(pos + 1) != '>') {
+			throw new Reject(pos, "XML 선언 오류");
+		}
+		pos += 2;
+		return encoding;
+	}
+
+	/**
+	 * XML 선언의 Eq와 따옴표 값을 읽고 값의 시작 오프셋을 반환합니다 (pos는 닫는 따옴표 다음).
+	 */
+	private int scanDeclValue() throws Reject {
+		skipSpace();
+		expect('=');
+		skipSpace();
+		byte quote = pos < limit ? at(pos) : 0;
+		if (quote != '"' && quote != '\'') {
+			throw new Reject(pos, "따옴표 없음");
+		}
+		int start = ++pos;
+		while (pos < limit && at(pos) != quote) {
+			if (at(pos) == '<' || at(pos) == '>' || at(pos) == '?') {
+				throw new Reject(pos, "XML 선언 값 오류");
+			}
+			pos++;
+		}
+		if (pos >= limit) {
+			throw new Reject(pos, "파일 끝");
+		}
+		pos++;
+		return start;
+	}
+
+	/**
+	 * 프롤로그/에필로그의 공백, 주석, 처리 명령을 건너뜁니다.
+	 */
+	private void scanMisc() throws Reject {
+		while (true) {
+			skipSpace();
+			if (startsWith(COMMENT_START)) {
+				scanComment();
+			} else if (pos + 1 < limit && at(pos) == '<' && at(pos + 1) == '?') {
+				scanPi();
+			} else if (pos + 1 < limit && at(pos) == '<' && at(pos + 1) == '!') {
+				// DOCTYPE 등은 파서에 맡김
+				throw new Reject(pos, "DOCTYPE 또는 지원하지 않는 선언");
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 루트 요소부터 루트 요소가 닫힐 때까지 검사합니다 (재귀 없이 요소 스택 사용).
+	 */
+	private void scanContent() throws Reject {
+		scanStartTag();
+		while (depth > 0) {
+			scanText();
+			if (pos >= limit) {
+				throw new Reject(pos, "닫히지 않은 요소");
+			}
+			// pos는 '<'
+			byte next = pos + 1 < limit ? at(pos + 1) : 0;
+			if (next == '/') {
+				scanEndTag();
+			} else if (next == '!') {
+				if (startsWith(COMMENT_START)) {
+					scanComment();
+				} else if (startsWith(CDATA_START)) {
+					scanCdata();
+				} else {
+					throw new Reject(pos, "잘못된 선언");
+				}
+			} else if (next == '?') {
+				scanPi();
+			} else {
+				scanStartTag();
+			}
+		}
+	}
+
+	/**
+	 * 시작 태그(또는 빈 요소 태그)를 검사합니다 (pos는 '<').
+	 */
+	private void scanStartTag() throws Reject {
+		int tagStart = pos;
+		pos++;
+		int nameStart = pos;
+		scanName();
+		int nameLength = pos - nameStart;
+		attrCount = 0;
+		int level = depth + 1;
+
+		while (true) {
+			boolean space = skipSpace();
+			if (pos >= limit) {
+				throw new Reject(pos, "파일 끝");
+			}
+			byte b = at(pos);
+			if (b == '>') {
+				pos++;
+				checkNamespaces(nameStart, nameLength, level, tagStart);
+				push(nameStart, nameLength);
+				return;
+			}
+			if (b == '/') {
+				if (pos + 1 >= limit || at(pos + 1) != '>') {
+					throw new Reject(pos, "빈 요소 태그 오류");
+				}
+				pos += 2;
+				checkNamespaces(nameStart, nameLength, level, tagStart);
+				popNamespaces(level);
+				return;
+			}
+			if (!space) {
+				throw new Reject(pos, "속성 앞 공백 없음");
+			}
+			scanAttribute(level);
+		}
+	}
+
+	/**
+	 * 속성 하나를 검사합니다 (이름, Eq, 따옴표 값, 중복).
+	 */
+	private void scanAttribute(int level) throws Reject {
+		int start = pos;
+		scanName();
+		int length = pos - start;
+		skipSpace();
+		expect('=');
+		skipSpace();
+		byte quote = pos < limit ? at(pos) : 0;
+		if (quote != '"' && quote != '\'') {
+			throw new Reject(pos, "속성 값 따옴표 없음");
+		}
+		int valueStart = ++pos;
+		boolean reference = false;
+		while (true) {
+			if (pos >= limit) {
+				throw new Reject(pos, "파일 끝");
+			}
+			byte b = at(pos);
+			if (b == quote) {
+				break;
+			}
+			if (b == '<') {
+				throw new Reject(pos, "속성 값에 '<'");
+			} else if (b == '&') {
+				scanReference();
+				reference = true;
+			} else {
+				scanChar(b);
+			}
+		}
+		int valueLength = pos - valueStart;
+		pos++;
+
+		for (int i = 0; i < attrCount; i++) {
+			if (rangeEquals(attrStart[i], attrLength[i], start, length)) {
+				throw new Reject(start, "중복 속성");
+			}
+		}
+		if (attrCount == attrStart.length) {
+			attrStart = grow(attrStart);
+			attrLength = grow(attrLength);
+		}
+		attrStart[attrCount] = start;
+		attrLength[attrCount] = length;
+		attrCount++;
+
+		// 네임스페이스 선언 (xmlns, xmlns:prefix)
+		if (rangeEqualsBytes(start, Math.min(length, 5), XMLNS) && (length == 5 || at(start + 5) == ':')) {
+			if (reference || rangeEqualsBytes(valueStart, valueLength, XML_NAMESPACE_URI)
+					|| rangeEqualsBytes(valueStart, valueLength, XMLNS_NAMESPACE_URI)) {
+				throw new Reject(start, "네임스페이스 선언 값");
+			}
+			if (length > 5) {
+				int prefixStart = start + 6;
+				int prefixLength = length - 6;
+				if (valueLength == 0 || isReservedPrefix(prefixStart, prefixLength)) {
+					throw new Reject(start, "네임스페이스 접두어 선언 오류");
+				}
+				if (nsCount == nsStart.length) {
+					nsStart = grow(nsStart);
+					nsLength = grow(nsLength);
+					nsDepth = grow(nsDepth);
+				}
+				nsStart[nsCount] = prefixStart;
+				nsLength[nsCount] = prefixLength;
+				nsDepth[nsCount] = level;
+				nsCount++;
+			}
+		}
+	}
+
+	/**
+	 * 요소와 속성의 접두어가 선언되어 있는지, 같은 확장 이름의 속성이 없는지 검사합니다.
+	 */
+	private void checkNamespaces(int nameStart, int nameLength, int level, int tagStart) throws Reject {
+		int colon = checkQName(nameStart, nameLength);
+		if (colon >= 0 && !isBound(nameStart, colon - nameStart, false)) {
+			throw new Reject(tagStart, "선언되지 않은 요소 접두어");
+		}
+		for (int i = 0; i < attrCount; i++) {
+			int start = attrStart[i];
+			int length = attrLength[i];
+			colon = checkQName(start, length);
+			if (colon < 0) {
+				continue;
+			}
+			int prefixLength = colon - start;
+			if (prefixLength == 5 && rangeEqualsBytes(start, 5, XMLNS)) {
+				continue;
+			}
+			if (!isBound(start, prefixLength, true)) {
+				throw new Reject(start, "선언되지 않은 속성 접두어");
+			}
+			// 접두어가 다르고 로컬 이름이 같은 속성은 같은 네임스페이스일 수 있으므로 파서에 맡김
+			for (int j = 0; j < i; j++) {
+				int other = indexOf(attrStart[j], attrLength[j], (byte) ':');
+				if (other >= 0 && rangeEquals(other + 1, attrStart[j] + attrLength[j] - other - 1,
+						colon + 1, start + length - colon - 1)) {
+					throw new Reject(start, "같은 로컬 이름의 접두어 속성");
+				}
+			}
+		}
+	}
+
+	/**
+	 * QName 형식(접두어:로컬이름)을 검사하고 콜론 위치를 반환합니다 (없으면 -1).
+	 */
+	private int checkQName(int start, int length) throws Reject {
+		int colon = indexOf(start, length, (byte) ':');
+		if (colon < 0) {
+			return -1;
+		}
+		if (colon == start || colon == start + length - 1 || indexOf(colon + 1, start + length - colon - 1, (byte) ':') >= 0) {
+			throw new Reject(start, "QName 형식 오류");
+		}
+		if (!isNameStart(at(colon + 1))) {
+			throw new Reject(colon + 1, "QName 형식 오류");
+		}
+		return colon;
+	}
+
+	private boolean isBound(int prefixStart, int prefixLength, boolean attribute) throws Reject {
+		if (prefixLength == 3 && at(prefixStart) == 'x' && at(prefixStart + 1) == 'm' && at(prefixStart + 2) == 'l') {
+			return attribute;
+		}
+		if (prefixLength == 5 && rangeEqualsBytes(prefixStart, 5, XMLNS)) {
+			throw new Reject(prefixStart, "xmlns 접두어 사용");
+		}
+		for (int i = nsCount - 1; i >= 0; i--) {
+			if (rangeEquals(nsStart[i], nsLength[i], prefixStart, prefixLength)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isReservedPrefix(int start, int length) {
+		return (length == 3 && at(start) == 'x' && at(start + 1) == 'm' && at(start + 2) == 'l')
+				|| (length == 5 && rangeEqualsBytes(start, 5, XMLNS));
+	}
+
+	/**
+	 * 끝 태그를 검사하고 열린 요소와 짝을 맞춥니다 (pos는 '</').
+	 */
+	private void scanEndTag() throws Reject {
+		int tagStart = pos;
+		pos += 2;
+		int nameStart = pos;
+		scanName();
+		int nameLength = pos - nameStart;
+		skipSpace();
+		expect('>');
+		if (!rangeEquals(openStart[depth - 1], openLength[depth - 1], nameStart, nameLength)) {
+			throw new Reject(tagStart, "시작 태그와 끝 태그가 다름");
+		}
+		popNamespaces(depth);
+		depth--;
+	}
+
+	/**
+	 * 요소 내용의 문자 데이터를 다음 '<'까지 검사합니다.
+	 */
+	private void scanText() throws Reject {
+		int textStart = pos;
+		while (pos < limit) {
+			byte b = at(pos);
+			if (b == '<') {
+				return;
+			}
+			if (b == '&') {
+				scanReference();
+			} else if (b == '>') {
+				if (pos - 2 >= textStart && at(pos - 1) == ']' && at(pos - 2) == ']') {
+					throw new Reject(pos - 2, "문자 데이터에 ']]>'");
+				}
+				pos++;
+			} else {
+				scanChar(b);
+			}
+		}
+	}
+
+	/**
+	 * 엔티티 참조(미리 정의된 5개)와 문자 참조를 검사합니다 (pos는 '&').
+	 */
+	private void scanReference() throws Reject {
+		int start = pos;
+		pos++;
+		if (pos < limit && at(pos) == '#') {
+			pos++;
+			boolean hex = pos < limit && at(pos) == 'x';
+			if (hex) {
+				pos++;
+			}
+			long value = 0;
+			int digits = 0;
+			while (pos < limit && at(pos) != ';') {
+				byte b = at(pos);
+				int digit;
+				if (isDigit(b)) {
+					digit = b - '0';
+				} else if (hex && b >= 'a' && b <= 'f') {
+					digit = b - 'a' + 10;
+				} else if (hex && b >= 'A' && b <= 'F') {
+					digit = b - 'A' + 10;
+				} else {
+					throw new Reject(start, "문자 참조 오류");
+				}
+				value = value * (hex ? 16 : 10) + digit;
+				if (value > 0x10FFFF) {
+					throw new Reject(start, "문자 참조 범위 오류");
+				}
+				digits++;
+				pos++;
+			}
+			if (pos >= limit || digits == 0 || !isXmlChar((int) value)) {
+				throw new Reject(start, "문자 참조 오류");
+			}
+			pos++;
+			return;
+		}
+
+		int nameStart = pos;
+		while (pos < limit && isAsciiLetter(at(pos))) {
+			pos++;
+		}
+		int length = pos - nameStart;
+		if (pos >= limit || at(pos) != ';' || !isPredefinedEntity(nameStart, length)) {
+			throw new Reject(start, "정의되지 않은 엔티티 참조");
+		}
+		pos++;
+	}
+
+	private boolean isPredefinedEntity(int start, int length) {
+		switch (length) {
+		case 2:
+			return (at(start) == 'l' || at(start) == 'g') && at(start + 1) == 't';
+		case 3:
+			return at(start) == 'a' && at(start + 1) == 'm' && at(start + 2) == 'p';
+		case 4:
+			return (at(start) == 'a' && at(start + 1) == 'p' && at(start + 2) == 'o' && at(start + 3) == 's')
+					|| (at(start) == 'q' && at(start + 1) == 'u' && at(start + 2) == 'o' && at(start + 3) == 't');
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * 주석을 검사합니다 (pos는 '<!--'). 주석 안에는 '--'가 올 수 없습니다.
+	 */
+	private void scanComment() throws Reject {
+		int start = pos;
+		pos += 4;
+		while (true) {
+			if (pos + 1 >= limit) {
+				throw new Reject(start, "닫히지 않은 주석");
+			}
+			byte b = at(pos);
+			if (b == '-' && at(pos + 1) == '-') {
+				if (pos + 2 >= limit || at(pos + 2) != '>') {
+					throw new Reject(pos, "주석 안의 '--'");
+				}
+				pos += 3;
+				return;
+			}
+			scanChar(b);
+		}
+	}
+
+	/**
+	 * 처리 명령을 검사합니다 (pos는 '<?'). 'xml'(대소문자 무관) 대상은 파서에 맡깁니다.
+	 */
+	private void scanPi() throws Reject {
+		int start = pos;
+		pos += 2;
+		int targetStart = pos;
+		scanName();
+		int length = pos - targetStart;
+		if (length == 3 && (at(targetStart) | 0x20) == 'x' && (at(targetStart + 1) | 0x20) == 'm'
+				&& (at(targetStart + 2) | 0x20) == 'l') {
+			throw new Reject(start, "예약된 처리 명령 대상");
+		}
+		if (indexOf(targetStart, length, (byte) ':') >= 0) {
+			throw new Reject(start, "처리 명령 대상에 콜론");
+		}
+		boolean space = skipSpace();
+		while (true) {
+			if (pos + 1 >= limit) {
+				throw new Reject(start, "닫히지 않은 처리 명령");
+			}
+			byte b = at(pos);
+			if (b == '?' && at(pos + 1) == '>') {
+				pos += 2;
+				return;
+			}
+			if (!space) {
+				throw new Reject(pos, "처리 명령 대상 뒤 공백 없음");
+			}
+			scanChar(b);
+		}
+	}
+
+	/**
+	 * CDATA 섹션을 검사합니다 (pos는 '<![CDATA[').
+	 */
+	private void scanCdata() throws Reject {
+		int start = pos;
+		pos += CDATA_START.length;
+		while (true) {
+			if (pos + 2 >= limit) {
+				throw new Reject(start, "닫히지 않은 CDATA 섹션");
+			}
+			byte b = at(pos);
+			if (b == ']' && at(pos + 1) == ']' && at(pos + 2) == '>') {
+				pos += 3;
+				return;
+			}
+			scanChar(b);
+		}
+	}
+
+	/**
+	 * 문자 하나(멀티바이트 포함)를 검사하고 다음 문자로 이동합니다.
+	 */
+	private void scanChar(byte b) throws Reject {
+		if (b < 0) {
+			if (eucKr) {
+				scanEucKr(b);
+			} else {
+				scanUtf8(b);
+			}
+		} else if (b >= 0x20 || b == '\t' || b == '\n' || b == '\r') {
+			pos++;
+		} else {
+			throw new Reject(pos, "허용되지 않는 제어 문자");
+		}
+	}
+
+	/**
+	 * EUC-KR 2바이트 문자 (KS X 1001: 0xA1-0xFE 두 바이트)를 검사합니다.
+	 * CP949 확장 영역처럼 EUC-KR 범위를 벗어난 바이트는 파서에 맡깁니다.
+	 */
+	private void scanEucKr(byte b) throws Reject {
+		int lead = b & 0xFF;
+		if (lead < 0xA1 || lead > 0xFE || pos + 1 >= limit) {
+			throw new Reject(pos, "EUC-KR 범위를 벗어난 바이트");
+		}
+		int trail = at(pos + 1) & 0xFF;
+		if (trail < 0xA1 || trail > 0xFE) {
+			throw new Reject(pos, "EUC-KR 범위를 벗어난 바이트");
+		}
+		pos += 2;
+	}
+
+	/**
+	 * UTF-8 멀티바이트 문자를 검사합니다 (overlong, 서로게이트, U+FFFE/U+FFFF 제외).
+	 */
+	private void scanUtf8(byte b) throws Reject {
+		int lead = b & 0xFF;
+		int length;
+		int min;
+		int max;
+		if (lead >= 0xC2 && lead <= 0xDF) {
+			length = 2;
+			min = 0x80;
+			max = 0xBF;
+		} else if (lead >= 0xE0 && lead <= 0xEF) {
+			length = 3;
+			min = lead == 0xE0 ? 0xA0 : 0x80;
+			max = lead == 0xED ? 0x9F : 0xBF;
+		} else if (lead >= 0xF0 && lead <= 0xF4) {
+			length = 4;
+			min = lead == 0xF0 ? 0x90 : 0x80;
+			max = lead == 0xF4 ? 0x8F : 0xBF;
+		} else {
+			throw new Reject(pos, "잘못된 UTF-8 바이트");
+		}
+		if (pos + length > limit) {
+			throw new Reject(pos, "잘못된 UTF-8 바이트");
+		}
+		int second = at(pos + 1) & 0xFF;
+		if (second < min || second > max) {
+			throw new Reject(pos, "잘못된 UTF-8 바이트");
+		}
+		for (int i = 2; i < length; i++) {
+			int next = at(pos + i) & 0xFF;
+			if (next < 0x80 || next > 0xBF) {
+				throw new Reject(pos, "잘못된 UTF-8 바이트");
+			}
+		}
+		// U+FFFE, U+FFFF는 XML 문자가 아님
+		if (lead == 0xEF && second == 0xBF && (at(pos + 2) & 0xFF) >= 0xBE) {
+			throw new Reject(pos, "허용되지 않는 문자");
+		}
+		pos += length;
+	}
+
+	/**
+	 * ASCII 이름([A-Za-z_:][A-Za-z0-9._:-]*)을 읽습니다. ASCII가 아닌 이름은 파서에 맡깁니다.
+	 */
+	private void scanName() throws Reject {
+		if (pos >= limit || !isNameStart(at(pos))) {
+			throw new Reject(pos, "이름 오류");
+		}
+		pos++;
+		while (pos < limit) {
+			byte b = at(pos);
+			if (isNameStart(b) || isDigit(b) || b == '-' || b == '.') {
+				pos++;
+			} else if (b < 0) {
+				throw new Reject(pos, "ASCII가 아닌 이름");
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void push(int nameStart, int nameLength) {
+		if (depth == openStart.length) {
+			openStart = grow(openStart);
+			openLength = grow(openLength);
+		}
+		openStart[depth] = nameStart;
+		openLength[depth] = nameLength;
+		depth++;
+	}
+
+	private void popNamespaces(int level) {
+		while (nsCount > 0 && nsDepth[nsCount - 1] >= level) {
+			nsCount--;
+		}
+	}
+
+	private boolean skipSpace() {
+		int start = pos;
+		while (pos < limit && isSpace(at(pos))) {
+			pos++;
+		}
+		return pos > start;
+	}
+
+	private void skipRequiredSpace() throws Reject {
+		if (!skipSpace()) {
+			throw new Reject(pos, "공백 필요");
+		}
+	}
+
+	private void expect(char c) throws Reject {
+		if (pos >= limit || at(pos) != c) {
+			throw new Reject(pos, "'" + c + "' 필요");
+		}
+		pos++;
+	}
+
+	private void expectWord(String word) throws Reject {
+		if (!startsWithWord(word)) {
+			throw new Reject(pos, word + " 필요");
+		}
+		pos += word.length();
+	}
+
+	private boolean startsWithWord(String word) {
+		if (pos + word.length() > limit) {
+			return false;
+		}
+		for (int i = 0; i < word.length(); i++) {
+			if (at(pos + i) != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean startsWith(byte[] bytes) {
+		return rangeEqualsBytes(pos, Math.min(bytes.length, limit - pos), bytes);
+	}
+
+	private boolean rangeEquals(int start1, int length1, int start2, int length2) {
+		if (length1 != length2) {
+			return false;
+		}
+		for (int i = 0; i < length1; i++) {
+			if (at(start1 + i) != at(start2 + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean rangeEqualsBytes(int start, int length, byte[] bytes) {
+		if (length != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (at(start + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int indexOf(int start, int length, byte b) {
+		for (int i = start; i < start + length; i++) {
+			if (at(i) == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private byte at(int index) {
+		return buf.get(index);
+	}
+
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+	}
+
+	private static boolean isAsciiLetter(byte b) {
+		return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static boolean isNameStart(byte b) {
+		return isAsciiLetter(b) || b == '_' || b == ':';
+	}
+
+	private static boolean isXmlChar(int c) {
+		return c == 0x9 || c == 0xA || c == 0xD || (c >= 0x20 && c <= 0xD7FF)
+				|| (c >= 0xE000 && c <= 0xFFFD) || (c >= 0x10000 && c <= 0x10FFFF);
+	}
+
+	private static int[] grow(int[] array) {
+		int[] grown = new int[array.length * 2];
+		System.arraycopy(array, 0, grown, 0, array.length);
+		return grown;
+	}
+
+	private static byte[] ascii(String s) {
+		byte[] bytes = new byte[s.length()];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) s.charAt(i);
+		}
+		return bytes;
+	}
+}
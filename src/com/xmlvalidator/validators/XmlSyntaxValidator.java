@@ -1,21 +1,40 @@
 package com.xmlvalidator.validators;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 
+import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.helpers.DefaultHandler;
 
+import com.xmlvalidator.model.ParsedDocument;
+import com.xmlvalidator.model.SourcePosition;
 import com.xmlvalidator.model.ValidationError;
+import com.xmlvalidator.util.XmlEncodingDetector;
 
 /**
  * XML 파일의 기본 문법 체크를 수행하는 클래스
@@ -23,31 +42,56 @@ import com.xmlvalidator.model.ValidationError;
 public class XmlSyntaxValidator {
 	
 	private List<ValidationError> errors;
-	private String encoding;
+	private Charset charset;  // 마지막으로 검사한 파일의 인코딩 (BOM/XML 선언에서 감지)
+	private CancellationToken cancellationToken = CancellationToken.NONE;
 	
 	public XmlSyntaxValidator() {
 		this.errors = new ArrayList<>();
-		this.encoding = null;
+		this.charset = null;
 	}
 	
 	/**
-	 * 인코딩을 설정합니다.
-	 * @param encoding 인코딩 (예: "EUC-KR", "UTF-8")
+	 * 파싱 중에 확인할 중단 토큰을 지정합니다.
+	 * 중단되거나 제한 시간이 지나면 {@link ValidationAbortedException}이 발생하며, 그때까지 찾은 오류는 {@link #getErrors()}로 확인할 수 있습니다.
+	 * @param cancellationToken 중단 토큰 (null이면 중단하지 않음)
 	 */
-	public void setEncoding(String encoding) {
-		this.encoding = encoding;
+	public void setCancellationToken(CancellationToken cancellationToken) {
+		this.cancellationToken = cancellationToken != null ? cancellationToken : CancellationToken.NONE;
 	}
 	
 	/**
-	 * XML 파일의 문법을 체크합니다.
+	 * 마지막으로 검사한 파일에서 감지한 인코딩을 반환합니다.
+	 * 같은 파일을 검사하는 다음 단계(스트리밍 정합성 검증)에 전달하여 다시 감지하지 않도록 합니다.
+	 * @return 인코딩 (감지하지 못했으면 null)
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+	
+	/**
+	 * XML 파일의 문법을 체크합니다 (문법 체크 전용 모드).
+	 * DOM을 만들지 않고 아무 일도 하지 않는 SAX 핸들러로 파일을 끝까지 읽기만 하므로
+	 * 요소마다 메모리를 거의 할당하지 않습니다. 오류의 라인/컬럼 번호와 메시지는 {@link #parse(File)}와 같습니다.
+	 * 먼저 {@link XmlByteScanner}로 바이트를 한 번 훑어서 확실히 정상인 파일은 파서를 거치지 않습니다.
 	 * @param xmlFile 체크할 XML 파일
 	 * @return 문법 오류가 없으면 true, 있으면 false
 	 */
 	public boolean validate(File xmlFile) {
+		return validate(xmlFile, null);
+	}
+	
+	/**
+	 * 미리 읽어 둔 파일 내용으로 문법을 체크합니다 (문법 체크 전용 모드, 파일을 다시 읽지 않음).
+	 * @param xmlFile 체크할 XML 파일 (오류 위치 보고용)
+	 * @param content 파일 내용 (null이면 파일에서 읽음)
+	 * @return 문법 오류가 없으면 true, 있으면 false
+	 */
+	public boolean validate(File xmlFile, byte[] content) {
 		errors.clear();
+		charset = null;
 		
 		// 파일이 존재하는지 확인
-		if (!xmlFile.exists()) {
+		if (content == null && !xmlFile.exists()) {
 			System.err.println("파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath());
 			errors.add(new ValidationError(xmlFile, -1, -1, 
 					"파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath(),
@@ -55,37 +99,148 @@ public class XmlSyntaxValidator {
 			return false;
 		}
 		
+		System.out.println("문법 검증 시작: " + xmlFile.getName() + 
+				" (크기: " + (content != null ? content.length : xmlFile.length()) + " bytes, 수정 시간: " + xmlFile.lastModified() + ")");
+		charset = content != null ? XmlEncodingDetector.detect(content) : detectCharset(xmlFile);
+		
+		// 바이트 스캐너가 정상으로 판단한 파일은 SAX 파싱 생략 (대량 검사용 사전 필터)
+		// 의심 지점이 있으면 파서로 다시 읽어서 파서와 동일한 오류 메시지를 보고
+		try {
+			String encodingOverride = charset != null ? charset.name() : null;
+			XmlByteScanner.Result scan = content != null 
+					? XmlByteScanner.scan(ByteBuffer.wrap(content), encodingOverride) 
+					: XmlByteScanner.scan(xmlFile, encodingOverride);
+			if (scan.isWellFormed()) {
+				return true;
+			}
+			System.out.println("바이트 스캐너 의심 지점: " + scan.getReason() + " (offset " + scan.getOffset() + "), SAX 파서로 재검사");
+		} catch (IOException e) {
+			System.err.println("바이트 스캔 실패, SAX 파서로 검사: " + e.getMessage());
+		}
+		
+		// 내용은 사용하지 않으므로 기본(no-op) 핸들러 사용
+		return parseWith(xmlFile, content, null) && errors.isEmpty();
+	}
+	
+	/**
+	 * XML 파일을 한 번만 읽어서 파싱합니다.
+	 * SAX 이벤트로 DOM을 직접 만들면서 파서의 Locator가 알려주는 위치를 요소마다 기록하므로
+	 * 정합성 검증 단계에서 파일을 다시 읽거나 라인 번호를 찾기 위해 다시 스캔할 필요가 없습니다.
+	 * 파일 내용은 한 번 읽어서 파싱 결과에 보관하며, 오류 위치 계산도 같은 내용으로 합니다.
+	 * @param xmlFile 파싱할 XML 파일
+	 * @return 파싱 결과 (문법 오류, DOM 문서, 요소별 원본 위치)
+	 */
+	public ParsedDocument parse(File xmlFile) {
+		return parse(xmlFile, null);
+	}
+	
+	/**
+	 * 미리 읽어 둔 파일 내용을 파싱합니다 (파일을 다시 읽지 않음).
+	 * @param xmlFile 파싱할 XML 파일 (오류 위치 보고용)
+	 * @param content 파일 내용 (null이면 파일 전체를 읽어서 사용)
+	 * @return 파싱 결과 (문법 오류, DOM 문서, 요소별 원본 위치, 파일 내용)
+	 */
+	public ParsedDocument parse(File xmlFile, byte[] content) {
+		errors.clear();
+		charset = null;
+		
+		// 파일이 존재하는지 확인
+		if (content == null && !xmlFile.exists()) {
+			System.err.println("파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath());
+			errors.add(new ValidationError(xmlFile, -1, -1, 
+					"파일이 존재하지 않습니다: " + xmlFile.getAbsolutePath(),
+					ValidationError.ErrorType.SYNTAX));
+			return new ParsedDocument(xmlFile, null, new ArrayList<>(errors), null);
+		}
+		
+		// DOM을 만들 파일은 한 번만 읽어서 파싱과 오류 위치 계산에 같은 내용을 사용 (파싱 이후 파일이 바뀌어도 위치가 어긋나지 않음)
+		if (content == null) {
+			try {
+				content = Files.readAllBytes(xmlFile.toPath());
+			} catch (IOException | OutOfMemoryError e) {
+				errors.add(new ValidationError(xmlFile, -1, -1, 
+						"파일 읽기 오류: " + e.getMessage(),
+						ValidationError.ErrorType.SYNTAX));
+				return new ParsedDocument(xmlFile, null, new ArrayList<>(errors), null);
+			}
+		}
+		
 		// 파일 정보 로깅 (최신 정보 확인)
-		long fileSize = xmlFile.length();
+		long fileSize = content.length;
 		long lastModified = xmlFile.lastModified();
 		System.out.println("문법 검증 시작: " + xmlFile.getName() + 
 				" (크기: " + fileSize + " bytes, 수정 시간: " + lastModified + ")");
+		charset = XmlEncodingDetector.detect(content);
 		
-		// DocumentBuilderFactory를 매번 새로 생성하여 캐시 방지
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setValidating(false);
-		factory.setNamespaceAware(true);
+		Document doc = null;
+		Map<Node, SourcePosition> positions = new IdentityHashMap<>();
+		try {
+			// 빈 문서 생성용 DocumentBuilder는 스레드별로 재사용
+			Document emptyDoc = ParserPool.documentBuilder().newDocument();
+			
+			DomBuildingHandler domBuilder = new DomBuildingHandler(emptyDoc, positions, cancellationToken);
+			if (parseWith(xmlFile, content, domBuilder)) {
+				doc = emptyDoc;
+			}
+		} catch (ParserConfigurationException e) {
+			errors.add(new ValidationError(xmlFile, -1, -1, 
+					"파서 설정 오류: " + e.getMessage(),
+					ValidationError.ErrorType.SYNTAX));
+		}
 		
+		return new ParsedDocument(xmlFile, doc, new ArrayList<>(errors), positions, charset, content);
+	}
+	
+	/**
+	 * 파일의 BOM과 XML 선언으로 인코딩을 감지합니다.
+	 * @return 인코딩 (읽을 수 없거나 지원하지 않는 인코딩이면 null, 파서가 직접 감지하고 오류를 보고)
+	 */
+	private static Charset detectCharset(File xmlFile) {
+		try {
+			return XmlEncodingDetector.detect(xmlFile);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * SAX 파서로 파일을 끝까지 읽습니다 (문법 체크 전용 모드와 DOM 생성에서 공통 사용).
+	 * @param content 미리 읽어 둔 파일 내용 (null이면 파일에서 읽음)
+	 * @param domBuilder DOM을 만들 핸들러 (null이면 내용을 사용하지 않는 기본 핸들러)
+	 * @return 치명적 오류 없이 문서 끝까지 읽었으면 true
+	 */
+	private boolean parseWith(File xmlFile, byte[] content, DomBuildingHandler domBuilder) {
+		SAXParser parser = null;
 		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			builder.setErrorHandler(new XmlErrorHandler(xmlFile));
+			// 파서는 스레드별로 재사용하고, 최신 파일 내용은 매번 새 스트림으로 읽어서 보장
+			parser = ParserPool.saxParser();
+			XMLReader reader = parser.getXMLReader();
+			if (domBuilder != null) {
+				// DOM에 xmlns 속성과 CDATA 섹션을 DocumentBuilder와 동일하게 유지
+				reader.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+				reader.setProperty("http://xml.org/sax/properties/lexical-handler", domBuilder);
+				reader.setContentHandler(domBuilder);
+			} else if (cancellationToken != CancellationToken.NONE) {
+				reader.setContentHandler(new CheckpointHandler(cancellationToken));
+			} else {
+				reader.setContentHandler(new DefaultHandler());
+			}
+			reader.setErrorHandler(new XmlErrorHandler(xmlFile));
 			
-			// 항상 FileInputStream을 사용하여 최신 파일 내용을 읽음
-			try (FileInputStream fis = new FileInputStream(xmlFile)) {
-				if (encoding != null && !encoding.isEmpty()) {
-					org.xml.sax.InputSource is = new org.xml.sax.InputSource(fis);
-					is.setEncoding(encoding);
-					// SystemId를 설정하여 파일 경로 명시
-					is.setSystemId(xmlFile.toURI().toString());
-					builder.parse(is);
-				} else {
-					org.xml.sax.InputSource is = new org.xml.sax.InputSource(fis);
-					is.setSystemId(xmlFile.toURI().toString());
-					builder.parse(is);
+			// 미리 읽은 내용이 없으면 항상 새 FileInputStream을 사용하여 최신 파일 내용을 읽음
+			try (InputStream in = content != null ? new ByteArrayInputStream(content) 
+					: new BufferedInputStream(new FileInputStream(xmlFile))) {
+				org.xml.sax.InputSource is = new org.xml.sax.InputSource(in);
+				if (charset != null) {
+					// 감지한 인코딩을 지정하여 파서가 다시 감지하지 않도록 함
+					is.setEncoding(charset.name());
 				}
+				// SystemId를 설정하여 파일 경로 명시
+				is.setSystemId(xmlFile.toURI().toString());
+				reader.parse(is);
 			}
 			
-			return errors.isEmpty();
+			return true;
 			
 		} catch (ParserConfigurationException e) {
 			errors.add(new ValidationError(xmlFile, -1, -1, 
@@ -100,9 +255,29 @@ public class XmlSyntaxValidator {
 					"파일 읽기 오류: " + e.getMessage(),
 					ValidationError.ErrorType.SYNTAX));
 			return false;
+		} finally {
+			// 다음 문서를 위해 파서 초기화 (핸들러가 붙잡고 있던 DOM 해제)
+			if (parser != null) {
+				ParserPool.release(parser);
+			}
 		}
 	}
 	
+	/**
+	 * 파서가 시작 태그를 막 읽었을 때의 위치로 요소 위치를 만듭니다.
+	 * SAX Locator와 StAX Location은 모두 이벤트가 끝난 다음 위치를 알려주므로 한 칸 앞이 시작 태그를 닫는 '>'입니다.
+	 * @param lineNumber 파서가 알려준 라인 번호
+	 * @param columnNumber 파서가 알려준 컬럼 번호
+	 */
+	static SourcePosition startTagPosition(int lineNumber, int columnNumber) {
+		return new SourcePosition(lineNumber > 0 ? lineNumber : 1, columnNumber > 1 ? columnNumber - 1 : -1);
+	}
+	
+	private static SourcePosition startTagPosition(Locator locator) {
+		return locator != null ? startTagPosition(locator.getLineNumber(), locator.getColumnNumber()) 
+				: new SourcePosition(1, -1);
+	}
+	
 	/**
 	 * 검증 결과 오류 목록을 반환합니다.
 	 * @return 검증 오류 목록
@@ -148,4 +323,124 @@ public class XmlSyntaxValidator {
 					ValidationError.ErrorType.SYNTAX));
 		}
 	}
+	
+	/**
+	 * 문법 체크 전용 모드에서 요소 수를 세면서 중단 토큰만 확인하는 핸들러
+	 */
+	private static class CheckpointHandler extends DefaultHandler {
+		private final CancellationToken cancellationToken;
+		private int elementCount;
+		
+		CheckpointHandler(CancellationToken cancellationToken) {
+			this.cancellationToken = cancellationToken;
+		}
+		
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes atts) {
+			if (++elementCount % CancellationToken.CHECK_INTERVAL == 0) {
+				cancellationToken.check();
+			}
+		}
+	}
+	
+	/**
+	 * SAX 이벤트로 DOM을 만들면서 요소마다 시작 태그 위치를 기록하는 핸들러
+	 * DocumentBuilder(expandEntityReferences=false)가 만드는 DOM과 요소/속성/텍스트/CDATA 구성이 같습니다.
+	 * 주석과 처리 명령은 검증에 사용하지 않으므로 DOM에 넣지 않고, 엔티티 참조는 텍스트로 펼칩니다.
+	 * 요소 위치는 startElement 시점의 Locator 위치(시작 태그를 닫는 '>')입니다.
+	 */
+	private static class DomBuildingHandler extends DefaultHandler2 {
+		private final Document doc;
+		private final Map<Node, SourcePosition> positions;
+		private final CancellationToken cancellationToken;
+		private final StringBuilder text = new StringBuilder();
+		private Locator locator;
+		private Node current;
+		private boolean inCdata;
+		private int elementCount;
+		
+		DomBuildingHandler(Document doc, Map<Node, SourcePosition> positions, CancellationToken cancellationToken) {
+			this.doc = doc;
+			this.positions = positions;
+			this.cancellationToken = cancellationToken;
+			this.current = doc;
+		}
+		
+		@Override
+		public void setDocumentLocator(Locator locator) {
+			this.locator = locator;
+		}
+		
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes atts) {
+			if (++elementCount % CancellationToken.CHECK_INTERVAL == 0) {
+				cancellationToken.check();
+			}
+			flushText();
+			Element element;
+			try {
+				element = doc.createElementNS(uri.isEmpty() ? null : uri, qName);
+			} catch (DOMException e) {
+				// 파서가 복구 가능한 오류로 보고한 잘못된 QName (예: "a:b:c")은 네임스페이스 없이 생성
+				element = doc.createElement(qName);
+			}
+			for (int i = 0; i < atts.getLength(); i++) {
+				String attrQName = atts.getQName(i);
+				String attrUri = atts.getURI(i);
+				if (attrQName.equals("xmlns") || attrQName.startsWith("xmlns:")) {
+					attrUri = XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+				}
+				try {
+					element.setAttributeNS(attrUri.isEmpty() ? null : attrUri, attrQName, atts.getValue(i));
+				} catch (DOMException e) {
+					element.setAttribute(attrQName, atts.getValue(i));
+				}
+			}
+			positions.put(element, startTagPosition(locator));
+			current.appendChild(element);
+			current = element;
+		}
+		
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			flushText();
+			current = current.getParentNode();
+		}
+		
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			if (current != doc) {
+				text.append(ch, start, length);
+			}
+		}
+		
+		@Override
+		public void ignorableWhitespace(char[] ch, int start, int length) {
+			characters(ch, start, length);
+		}
+		
+		@Override
+		public void startCDATA() {
+			flushText();
+			inCdata = true;
+		}
+		
+		@Override
+		public void endCDATA() {
+			flushText();
+			inCdata = false;
+		}
+		
+		/**
+		 * 모아 둔 문자 데이터를 현재 요소의 텍스트(또는 CDATA) 노드 하나로 추가합니다.
+		 */
+		private void flushText() {
+			if (text.length() == 0) {
+				return;
+			}
+			String value = text.toString();
+			text.setLength(0);
+			current.appendChild(inCdata ? doc.createCDATASection(value) : doc.createTextNode(value));
+		}
+	}
 }
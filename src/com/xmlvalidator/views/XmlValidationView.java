@@ -2,9 +2,10 @@ package com.xmlvalidator.views;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ArrayContentProvider;
@@ -61,9 +62,11 @@ import org.eclipse.ui.IWorkbenchPart;
 import org.osgi.framework.Bundle;
 
 import com.xmlvalidator.model.ValidationError;
+import com.xmlvalidator.util.PersistentResultStore;
+import com.xmlvalidator.util.RuleFileWatcher;
+import com.xmlvalidator.util.ValidationResultCache;
 import com.xmlvalidator.util.YamlRuleParser;
-import com.xmlvalidator.validators.ConsistencyValidator;
-import com.xmlvalidator.validators.XmlSyntaxValidator;
+import com.xmlvalidator.validators.ValidationEngine;
 
 /**
  * XML 검증 결과를 표시하는 뷰
@@ -75,11 +78,17 @@ public class XmlValidationView extends ViewPart {
 	// 기본 규칙 파일 경로
 	private static final String DEFAULT_RULE_FILE = "rules/xml_validation_rules_with_codes.yaml";
 	
+	// 검증 결과 캐시에 보관할 최대 오류 수 (파일 하나는 오류가 없어도 1개로 계산)
+	private static final int RESULT_CACHE_MAX_ERRORS = 200_000;
+	// 플러그인 상태 위치에 저장하는 검증 결과 파일 (Eclipse 재시작 후에도 사용)
+	private static final String RESULT_STORE_FILE = "validation-results.bin";
+	
 	private TableViewer tableViewer;
 	private Combo xmlPathCombo;
 	private Text rulePathText;
 	private Button validateButton;
 	private Button cancelButton;
+	private Button syntaxOnlyButton;
 	private Label statusLabel;
 	private org.eclipse.swt.widgets.ProgressBar progressBar;
 	
@@ -105,12 +114,24 @@ public class XmlValidationView extends ViewPart {
 	// 모든 오류 메시지 저장 (누적)
 	private List<ValidationError> allValidationErrors = new ArrayList<>();
 	
-	// 규칙 파서 (한 번만 로드)
-	private YamlRuleParser ruleParser = null;
+	// 규칙 파서 (규칙 파일이 바뀌면 감시 스레드가 새 파서로 교체, 검증 중인 파일은 시작할 때의 파서를 계속 사용)
+	private final AtomicReference<YamlRuleParser> ruleParser = new AtomicReference<>();
 	private File currentRuleFile = null;
+	private RuleFileWatcher ruleFileWatcher = null;
+	
+	// 뷰 생성 시각 (시작 후 첫 파일 검증 완료까지의 시간을 규칙 로드 방식별로 비교하기 위해 기록)
+	private final long viewCreatedTime = System.currentTimeMillis();
+	private boolean firstFileReported = false;
 	
 	// 파일별 마지막 수정 시간 추적 (파일 경로 -> 마지막 수정 시간)
-	private Map<String, Long> fileLastModifiedMap = new HashMap<>();
+	private final Map<String, Long> fileLastModifiedMap = new ConcurrentHashMap<>();
+	
+	// 파일 내용 + 규칙 지문 -> 검증 결과 (내용이나 규칙이 바뀌지 않은 파일은 다시 검증하지 않음)
+	private final ValidationResultCache resultCache = new ValidationResultCache(RESULT_CACHE_MAX_ERRORS);
+	private boolean resultStoreOpened = false;
+	
+	// 파일을 병렬로 검증하는 엔진 (처음 검증할 때 만들고 뷰를 닫을 때 작업 스레드 종료)
+	private ValidationEngine validationEngine = null;
 	
 	// 검증 시작 시간 및 진행 상태
 	private long validationStartTime = 0;
@@ -211,7 +232,7 @@ public class XmlValidationView extends ViewPart {
 		// 검증 실행 및 중단 버튼을 담을 Composite
 		Composite buttonPanel = new Composite(controlPanel, SWT.NONE);
 		buttonPanel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 4, 1));
-		GridLayout buttonLayout = new GridLayout(2, false);
+		GridLayout buttonLayout = new GridLayout(3, false);
 		buttonLayout.marginWidth = 0;
 		buttonLayout.marginHeight = 0;
 		buttonLayout.horizontalSpacing = 5;
@@ -240,6 +261,12 @@ public class XmlValidationView extends ViewPart {
 			}
 		});
 		
+		// 문법 체크만 수행 (DOM 생성 및 정합성 체크 생략)
+		syntaxOnlyButton = new Button(buttonPanel, SWT.CHECK);
+		syntaxOnlyButton.setText("문법만 검사");
+		syntaxOnlyButton.setToolTipText("정합성 검증 없이 XML 문법만 빠르게 검사합니다 (규칙 파일 불필요)");
+		syntaxOnlyButton.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false));
+		
 		// 상태 레이블과 Progress Bar를 담을 Composite
 		Composite statusPanel = new Composite(parent, SWT.NONE);
 		statusPanel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
@@ -359,7 +386,7 @@ public class XmlValidationView extends ViewPart {
 					System.out.println("  컬럼 번호: " + error.getColumnNumber());
 					System.out.println("  메시지: " + error.getMessage());
 					
-					openFileInEditor(error.getFile(), error.getLineNumber());
+					openFileInEditor(error.getFile(), error.getLineNumber(), error.getColumnNumber());
 					// 이벤트 소비하여 추가 처리 방지
 					event.doit = false;
 				}
@@ -391,7 +418,7 @@ public class XmlValidationView extends ViewPart {
 							System.out.println("  컬럼 번호: " + error.getColumnNumber());
 							System.out.println("  메시지: " + error.getMessage());
 							
-							openFileInEditor(error.getFile(), error.getLineNumber());
+							openFileInEditor(error.getFile(), error.getLineNumber(), error.getColumnNumber());
 							return;
 						}
 					}
@@ -409,7 +436,7 @@ public class XmlValidationView extends ViewPart {
 						System.out.println("  컬럼 번호: " + error.getColumnNumber());
 						System.out.println("  메시지: " + error.getMessage());
 						
-					openFileInEditor(error.getFile(), error.getLineNumber());
+					openFileInEditor(error.getFile(), error.getLineNumber(), error.getColumnNumber());
 					} else {
 						System.out.println("경고: 선택된 객체가 ValidationError가 아닙니다.");
 					}
@@ -459,9 +486,10 @@ public class XmlValidationView extends ViewPart {
 	}
 	
 	/**
-	 * 파일을 편집기에서 열고 특정 라인으로 이동합니다.
+	 * 파일을 편집기에서 열고 특정 라인(컬럼)으로 이동합니다.
+	 * @param columnNumber 컬럼 번호 (1부터 시작, 알 수 없으면 -1이며 라인 시작으로 이동)
 	 */
-	private void openFileInEditor(File file, int lineNumber) {
+	private void openFileInEditor(File file, int lineNumber, int columnNumber) {
 		System.out.println("파일 열기 시도: " + file.getAbsolutePath() + ", 라인: " + lineNumber);
 		
 		try {
@@ -476,6 +504,7 @@ public class XmlValidationView extends ViewPart {
 			
 			// 에디터가 활성화될 때까지 기다리기 위한 리스너
 			final int targetLine = lineNumber;
+			final int targetColumn = columnNumber;
 			final IWorkbenchPage finalPage = page;
 			
 			IPartListener partListener = new IPartListener() {
@@ -502,7 +531,7 @@ public class XmlValidationView extends ViewPart {
 								finalPage.removePartListener(this);
 								// 에디터가 활성화된 후 라인으로 이동
 								Display.getCurrent().asyncExec(() -> {
-									navigateToLineInEditor(editor, targetLine);
+									navigateToLineInEditor(editor, targetLine, targetColumn);
 								});
 							}
 						} catch (Exception e) {
@@ -521,13 +550,13 @@ public class XmlValidationView extends ViewPart {
 				// 라인 번호가 유효하면 해당 라인으로 이동
 			if (lineNumber > 0) {
 				// 즉시 시도
-				navigateToLineInEditor(editor, lineNumber);
+				navigateToLineInEditor(editor, lineNumber, columnNumber);
 				
 				// 에디터가 활성화될 때도 시도 (백업)
 				Display.getCurrent().timerExec(500, () -> {
 					IEditorPart activeEditor = finalPage.getActiveEditor();
 					if (activeEditor == editor) {
-						navigateToLineInEditor(activeEditor, lineNumber);
+						navigateToLineInEditor(activeEditor, lineNumber, columnNumber);
 					}
 				});
 			}
@@ -545,7 +574,7 @@ public class XmlValidationView extends ViewPart {
 	/**
 	 * 에디터에서 특정 라인으로 이동을 시도합니다.
 	 */
-	private void navigateToLineInEditor(IEditorPart editor, int lineNumber) {
+	private void navigateToLineInEditor(IEditorPart editor, int lineNumber, int columnNumber) {
 		if (editor == null || lineNumber <= 0) {
 			return;
 		}
@@ -561,7 +590,7 @@ public class XmlValidationView extends ViewPart {
 		
 		if (textEditor != null) {
 			System.out.println("텍스트 에디터로 라인 이동 시도: " + lineNumber);
-			navigateToLine(textEditor, lineNumber, 0);
+			navigateToLine(textEditor, lineNumber, columnNumber, 0);
 		} else {
 			System.out.println("경고: 에디터가 ITextEditor가 아닙니다. 타입: " + 
 					(editor != null ? editor.getClass().getName() : "null"));
@@ -571,7 +600,7 @@ public class XmlValidationView extends ViewPart {
 	/**
 	 * 에디터가 완전히 로드될 때까지 재시도하면서 특정 라인으로 이동합니다.
 	 */
-	private void navigateToLine(ITextEditor textEditor, int lineNumber, int retryCount) {
+	private void navigateToLine(ITextEditor textEditor, int lineNumber, int columnNumber, int retryCount) {
 		System.out.println("라인 이동 시도 (재시도 " + retryCount + "): 라인 " + lineNumber);
 		
 		Display.getCurrent().asyncExec(() -> {
@@ -591,7 +620,7 @@ public class XmlValidationView extends ViewPart {
 					System.out.println("문서가 null입니다. 재시도...");
 					if (retryCount < 30) {
 						Display.getCurrent().timerExec(100, () -> {
-							navigateToLine(textEditor, lineNumber, retryCount + 1);
+							navigateToLine(textEditor, lineNumber, columnNumber, retryCount + 1);
 						});
 					}
 					return;
@@ -619,15 +648,17 @@ public class XmlValidationView extends ViewPart {
 					try {
 						// 라인 정보 가져오기
 						IRegion lineInfo = document.getLineInformation(lineIndex);
-						int offset = lineInfo.getOffset();
 						int length = lineInfo.getLength();
+						// 컬럼 번호가 있으면 라인 안의 오류 위치(시작 태그, 속성 이름)로 이동
+						int offset = lineInfo.getOffset() + 
+								(columnNumber > 0 ? Math.min(columnNumber - 1, length) : 0);
 						
 						System.out.println("라인 오프셋: " + offset + ", 라인 길이: " + length);
 						
 						// 에디터에 포커스 설정 (먼저)
 						textEditor.setFocus();
 						
-						// 라인 시작 위치로 이동하고 선택
+						// 오류 위치로 이동하고 선택
 						// offset 위치에 커서를 두고, 0 길이로 선택 (커서만 이동)
 							textEditor.selectAndReveal(offset, 0);
 						
@@ -646,7 +677,7 @@ public class XmlValidationView extends ViewPart {
 						System.err.println("BadLocationException: 라인 " + lineIndex + " - " + e.getMessage());
 						if (retryCount < 30) {
 							Display.getCurrent().timerExec(100, () -> {
-								navigateToLine(textEditor, lineNumber, retryCount + 1);
+								navigateToLine(textEditor, lineNumber, columnNumber, retryCount + 1);
 							});
 						}
 					}
@@ -654,7 +685,7 @@ public class XmlValidationView extends ViewPart {
 					// 문서가 아직 로드되지 않았으면 재시도 (최대 30번)
 					System.out.println("문서가 아직 로드되지 않음. 재시도...");
 					Display.getCurrent().timerExec(100, () -> {
-						navigateToLine(textEditor, lineNumber, retryCount + 1);
+						navigateToLine(textEditor, lineNumber, columnNumber, retryCount + 1);
 					});
 				} else {
 					System.err.println("문서 로드 실패: 최대 재시도 횟수 초과");
@@ -665,7 +696,7 @@ public class XmlValidationView extends ViewPart {
 				if (retryCount < 30) {
 					// 오류 발생 시 재시도 (최대 30번)
 					Display.getCurrent().timerExec(100, () -> {
-						navigateToLine(textEditor, lineNumber, retryCount + 1);
+						navigateToLine(textEditor, lineNumber, columnNumber, retryCount + 1);
 					});
 				} else {
 					System.err.println("라인 이동 오류 (재시도 실패): " + e.getMessage());
@@ -808,9 +839,17 @@ public class XmlValidationView extends ViewPart {
 		System.out.println("파일 크기: " + ruleFile.length() + " bytes");
 		System.out.println("======================================");
 		
+		// 이전 규칙 파일의 감시를 먼저 중지 (새로 선택한 규칙을 이전 파일의 다시 로드가 덮어쓰지 않도록)
+		stopRuleFileWatcher();
+		
 		try {
-			ruleParser = new YamlRuleParser();
-			ruleParser.parse(ruleFile);
+			// 규칙 스냅샷이 있으면 YAML 파싱 없이 로드
+			long loadStartTime = System.currentTimeMillis();
+			YamlRuleParser parser = new YamlRuleParser();
+			parser.load(ruleFile, validatorVersion());
+			ruleParser.set(parser);
+			System.out.println("규칙 로드 방식: " + (parser.isLoadedFromSnapshot() ? "스냅샷" : "YAML 파싱") + 
+					" (소요 시간: " + (System.currentTimeMillis() - loadStartTime) + "ms)");
 			
 			// 규칙 파일 경로를 정규화하여 저장 (심볼릭 링크 등 해결)
 			try {
@@ -826,10 +865,11 @@ public class XmlValidationView extends ViewPart {
 			System.out.println("  저장된 규칙 파일 경로: " + currentRuleFile.getAbsolutePath());
 			System.out.println("  정규화된 경로: " + (currentRuleFile.getCanonicalPath()));
 			System.out.println("  부모 디렉토리: " + (currentRuleFile.getParentFile() != null ? currentRuleFile.getParentFile().getAbsolutePath() : "null"));
-			System.out.println("파싱된 규칙 수: " + (ruleParser.getRules() != null ? ruleParser.getRules().size() : 0));
-			System.out.println("파싱된 코드값 수: " + (ruleParser.getCodeValues() != null ? ruleParser.getCodeValues().size() : 0));
+			
+			// 규칙 파일이 수정되면 백그라운드에서 다시 로드
+			startRuleFileWatcher(currentRuleFile, parser);
 		} catch (Exception e) {
-			ruleParser = null;
+			ruleParser.set(null);
 			currentRuleFile = null;
 			rulePathText.setText("(로드 실패)");
 			String errorMsg = "규칙 파일 로드 실패:\n" + ruleFile.getAbsolutePath() + "\n\n오류: " + e.getMessage();
@@ -1134,6 +1174,56 @@ public class XmlValidationView extends ViewPart {
 		}
 	}
 	
+	/**
+	 * 규칙 파일 감시를 시작합니다 (이전 감시는 중지).
+	 * 수정된 규칙은 감시 스레드에서 컴파일된 뒤 참조 교체로 반영되므로 검증 스레드는 멈추지 않고,
+	 * 이미 검증 중인 파일은 이전 규칙으로, 다음 파일부터 새 규칙으로 검증합니다.
+	 */
+	private synchronized void startRuleFileWatcher(File ruleFile, YamlRuleParser parser) {
+		stopRuleFileWatcher();
+		Display display = getSite().getShell().getDisplay();
+		try {
+			ruleFileWatcher = RuleFileWatcher.start(ruleFile, parser, newParser -> {
+				if (!replaceIfWatched(ruleFile, newParser)) {
+					return;
+				}
+				if (display.isDisposed()) {
+					return;
+				}
+				display.asyncExec(() -> {
+					if (!statusLabel.isDisposed()) {
+						statusLabel.setText("규칙 파일 변경 감지, 다시 로드 완료: " + ruleFile.getName());
+					}
+				});
+			});
+		} catch (Exception e) {
+			System.err.println("규칙 파일 감시 시작 실패 (변경 시 수동으로 다시 선택): " + e.getMessage());
+		}
+	}
+	
+	/**
+	 * 감시 중인 규칙 파일이 아직 사용 중이면 새 규칙으로 교체합니다.
+	 * @return 교체했으면 true (그 사이 다른 규칙 파일을 선택했거나 감시를 중지했으면 false)
+	 */
+	private synchronized boolean replaceIfWatched(File ruleFile, YamlRuleParser newParser) {
+		if (ruleFileWatcher == null || !ruleFileWatcher.getRuleFile().equals(ruleFile.getAbsoluteFile())) {
+			return false;
+		}
+		ruleParser.set(newParser);
+		return true;
+	}
+	
+	private synchronized void stopRuleFileWatcher() {
+		if (ruleFileWatcher != null) {
+			try {
+				ruleFileWatcher.close();
+			} catch (Exception e) {
+				System.err.println("규칙 파일 감시 중지 실패: " + e.getMessage());
+			}
+			ruleFileWatcher = null;
+		}
+	}
+	
 	/**
 	 * 규칙 파일 선택
 	 */
@@ -1223,6 +1313,32 @@ public class XmlValidationView extends ViewPart {
 		}
 	}
 	
+	/**
+	 * 검증할 파일의 수정 시간을 이전 검증 때와 비교하여 로깅합니다.
+	 */
+	private void logFileModifications(List<File> files) {
+		for (File xmlFile : files) {
+			if (!xmlFile.exists()) {
+				continue;
+			}
+			String filePath = xmlFile.getAbsolutePath();
+			long currentModified = xmlFile.lastModified();
+			Long lastKnownModified = fileLastModifiedMap.get(filePath);
+			
+			if (lastKnownModified != null && currentModified != lastKnownModified) {
+				System.out.println("파일 수정 감지: " + xmlFile.getName() + 
+						" (수정 시간: " + lastKnownModified + " -> " + currentModified + ")");
+			} else if (lastKnownModified == null) {
+				System.out.println("파일 첫 검증: " + xmlFile.getName() + " (수정 시간: " + currentModified + ")");
+			} else {
+				System.out.println("파일 재검증: " + xmlFile.getName() + " (수정 시간: " + currentModified + ")");
+			}
+			
+			// 파일 수정 시간 저장
+			fileLastModifiedMap.put(filePath, currentModified);
+		}
+	}
+	
 	/**
 	 * 검증 중단
 	 */
@@ -1231,6 +1347,9 @@ public class XmlValidationView extends ViewPart {
 		System.out.println("검증 중단 요청 수신!");
 		System.out.println("========================================");
 		validationCancelled = true;
+		if (validationEngine != null) {
+			validationEngine.cancel();
+		}
 		Display display = getSite().getShell().getDisplay();
 		display.asyncExec(() -> {
 			if (!cancelButton.isDisposed()) {
@@ -1272,8 +1391,11 @@ public class XmlValidationView extends ViewPart {
 			return;
 		}
 		
+		// 문법만 검사하는 경우 규칙 파일이 필요 없음
+		final boolean syntaxOnly = !syntaxOnlyButton.isDisposed() && syntaxOnlyButton.getSelection();
+		
 		// 규칙 파일 확인 (이미 로드된 파서 사용)
-		if (ruleParser == null) {
+		if (ruleParser.get() == null && !syntaxOnly) {
 			MessageDialog.openWarning(getSite().getShell(), "경고", 
 					"규칙 파일이 로드되지 않았습니다. 규칙 파일을 선택해주세요.");
 			return;
@@ -1332,129 +1454,71 @@ public class XmlValidationView extends ViewPart {
 		};
 		display.timerExec(1000, timerRunnable);
 		
+		// 검증 중에 경로를 다시 선택해도 영향을 받지 않도록 파일 목록을 복사
+		final List<File> filesToValidate = new ArrayList<>(selectedXmlFiles);
+		if (validationEngine == null) {
+			validationEngine = new ValidationEngine(resultCache);
+			// -Dxmlvalidator.historyScheduling=true 이면 파일 크기 대신 이전 검증 시간으로 작업 순서를 정함
+			validationEngine.setTimingHistoryWeighted(Boolean.getBoolean("xmlvalidator.historyScheduling"));
+			// -Dxmlvalidator.fileTimeoutSeconds=N 이면 파일 하나를 N초까지만 검증하고 일부 결과와 제한 시간 초과 오류를 표시
+			validationEngine.setFileTimeoutMillis(Long.getLong("xmlvalidator.fileTimeoutSeconds", 0L) * 1000L);
+		}
+		final ValidationEngine engine = validationEngine;
+		
 		Thread validationThread = new Thread(new Runnable() {
 			@Override
 			public void run() {
 		// 디버깅: 로드된 규칙 정보 출력
 		System.out.println("======================================");
 		System.out.println("검증 시작");
-		System.out.println("XML 파일 수: " + selectedXmlFiles.size());
-		System.out.println("규칙 파서 상태: " + (ruleParser != null ? "로드됨" : "없음"));
-		if (ruleParser != null) {
-			System.out.println("파싱된 규칙: " + ruleParser.getRules());
-			System.out.println("파싱된 규칙 키: " + ruleParser.getRules().keySet());
+		System.out.println("XML 파일 수: " + filesToValidate.size() + " (작업 스레드 수: " + engine.getThreadCount() + ")");
+		YamlRuleParser initialRules = ruleParser.get();
+		System.out.println("규칙 파서 상태: " + (initialRules != null ? "로드됨" : "없음"));
+		if (initialRules != null) {
+			System.out.println("루트 규칙 수: " + initialRules.getRuleSet().size());
 		}
 		System.out.println("======================================");
 		
-		// 검증 수행
-		List<ValidationError> allErrors = new ArrayList<>();
-		XmlSyntaxValidator syntaxValidator = new XmlSyntaxValidator();
-		int validCount = 0;
-		int invalidCount = 0;
-		
-		for (int i = 0; i < selectedXmlFiles.size(); i++) {
-			// 검증 중단 확인
-			if (validationCancelled) {
-				System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-				break;
-			}
-			
-			File originalFile = selectedXmlFiles.get(i);
-			String filePath = originalFile.getAbsolutePath();
-			
-			// 항상 최신 파일 객체를 생성하여 사용 (캐시 문제 방지)
-			File xmlFile = new File(filePath);
-			
-			// 파일이 존재하는지 확인
-			if (!xmlFile.exists()) {
-				System.err.println("파일이 존재하지 않습니다: " + filePath);
-				allErrors.add(new ValidationError(xmlFile, -1, -1, 
-						"파일이 존재하지 않습니다: " + filePath,
-						ValidationError.ErrorType.SYNTAX));
-				invalidCount++;
-				continue;
-			}
-			
-			// 파일 수정 시간 확인 및 로깅
-			long currentModified = xmlFile.lastModified();
-			Long lastKnownModified = fileLastModifiedMap.get(filePath);
-			
-			if (lastKnownModified != null && currentModified != lastKnownModified) {
-				System.out.println("파일 수정 감지: " + xmlFile.getName() + 
-						" (수정 시간: " + lastKnownModified + " -> " + currentModified + ")");
-			} else if (lastKnownModified == null) {
-				System.out.println("파일 첫 검증: " + xmlFile.getName() + " (수정 시간: " + currentModified + ")");
-			} else {
-				System.out.println("파일 재검증: " + xmlFile.getName() + " (수정 시간: " + currentModified + ")");
-			}
-			
-			// 파일 수정 시간 저장
-			fileLastModifiedMap.put(filePath, currentModified);
-			
-			// 파일 내용 강제 리프레시를 위해 파일을 다시 읽음
-			// FileInputStream을 사용하면 항상 최신 내용을 읽습니다
-			System.out.println("파일 검증 시작: " + xmlFile.getAbsolutePath() + 
-					" (크기: " + xmlFile.length() + " bytes, 수정 시간: " + currentModified + ")");
-			
-			// 검증 중단 확인 (파일 처리 시작 전)
-			if (validationCancelled) {
-				System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-				break;
-			}
-			
-			// 현재 검증 중인 파일 이름 및 진행 상태를 실제 검증 시작 직전에 설정
-			// UI 스레드에서 동기적으로 업데이트하여 타이머가 올바른 파일명을 표시하도록 함
-			final String fileName = xmlFile.getName();
-			final int fileIndex = i + 1; // 1-based로 표시
-			display.syncExec(() -> {
-				currentFileName = fileName;  // 현재 검증 중인 파일명 설정
-				currentProgress = fileIndex; // 현재 검증 중인 파일 번호 (1-based)
-			});
-			
-			// 파일 검증 시작 시간 기록
-			long fileValidationStartTime = System.currentTimeMillis();
-			System.out.println("[" + (i + 1) + "/" + selectedXmlFiles.size() + "] 파일 검증 시작: " + fileName);
-			
-			boolean hasError = false;
-			
-			// 1. 문법 체크
-			System.out.println("[" + (i + 1) + "/" + selectedXmlFiles.size() + "] 문법 체크 시작: " + fileName);
-			long syntaxStartTime = System.currentTimeMillis();
-			boolean syntaxValid = syntaxValidator.validate(xmlFile);
-			long syntaxElapsedTime = System.currentTimeMillis() - syntaxStartTime;
-			System.out.println("[" + (i + 1) + "/" + selectedXmlFiles.size() + "] 문법 체크 완료: " + fileName + " (소요 시간: " + syntaxElapsedTime + "ms, 결과: " + (syntaxValid ? "통과" : "실패") + ")");
-			
-			// 검증 중단 확인 (문법 체크 후)
-			if (validationCancelled) {
-				System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-				break;
+		// 이전 세션의 검증 결과 저장소 연결 (처음 검증할 때 한 번만)
+		openResultStore();
+		
+		// 파일 수정 시간 확인 및 로깅
+		logFileModifications(filesToValidate);
+		
+		// 검증 수행 (결과는 파일 순서대로 전달되며, 화면 목록은 UI 스레드에서만 변경)
+		ValidationEngine.Summary summary = engine.validate(filesToValidate, ruleParser::get, syntaxOnly,
+				new ValidationEngine.Listener() {
+			@Override
+			public void fileStarted(int index, File file) {
+				// 검증 스레드가 엔진을 시작하기 전에 요청된 중단도 반영 (캐시된 결과만 전달되는 경우는 fileCompleted에서)
+				if (validationCancelled) {
+					engine.cancel();
+				}
+				final String fileName = file.getName();
+				display.asyncExec(() -> {
+					currentFileName = fileName;  // 가장 최근에 검증을 시작한 파일명
+				});
 			}
 			
-			if (!syntaxValid) {
-				// 검증 중단 확인 (오류 처리 전)
+			@Override
+			public void fileCompleted(ValidationEngine.FileResult result) {
 				if (validationCancelled) {
-					System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-					break;
+					engine.cancel();
+				}
+				if (!firstFileReported && !result.isCached()) {
+					firstFileReported = true;
+					YamlRuleParser fileRules = result.getRules();
+					System.out.println("뷰 시작 후 첫 파일 검증 완료까지: " + (System.currentTimeMillis() - viewCreatedTime) + "ms (규칙 로드 방식: " + 
+							(fileRules == null ? "없음" : fileRules.isLoadedFromSnapshot() ? "스냅샷" : "YAML 파싱") + ")");
 				}
 				
-				for (ValidationError error : syntaxValidator.getErrors()) {
-					// 검증 중단 확인 (각 오류 처리 전)
-					if (validationCancelled) {
-						System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-						break;
-					}
-					ValidationError newError = new ValidationError(
-							error.getFile(), 
-							error.getLineNumber(), 
-							error.getColumnNumber(), 
-							error.getMessage(),
-							ValidationError.ErrorType.SYNTAX);
-					allErrors.add(newError);
-					
-					// 오류가 발견되는 즉시 화면에 표시 (라인 순서대로)
-					allValidationErrors.add(newError);
-					final ValidationError errorToAdd = newError;
-					display.asyncExec(() -> {
+				// 진행 상태 업데이트 및 발견된 오류 표시
+				final List<ValidationError> fileErrors = result.getErrors();
+				final int progress = result.getIndex() + 1;
+				display.asyncExec(() -> {
+					currentProgress = progress;
+					if (!fileErrors.isEmpty()) {
+						allValidationErrors.addAll(fileErrors);
 						if (!tableViewer.getControl().isDisposed()) {
 							tableViewer.setInput(allValidationErrors);
 							// 새로 추가된 오류가 보이도록 마지막 행으로 스크롤
@@ -1463,102 +1527,18 @@ public class XmlValidationView extends ViewPart {
 								tableViewer.getTable().setTopIndex(itemCount - 1);
 							}
 						}
-					});
-				}
-				hasError = true;
-			}
-			
-			// 검증 중단 확인 (문법 체크 오류 처리 후)
-			if (validationCancelled) {
-				System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-				break;
-			}
-			
-			// 2. 정합성 체크 (규칙 파일이 있고 문법 오류가 없는 경우)
-			if (ruleParser != null && syntaxValid) {
-				// 검증 중단 확인 (정합성 체크 전)
-				if (validationCancelled) {
-					System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-					break;
-				}
-				
-				System.out.println("[" + (i + 1) + "/" + selectedXmlFiles.size() + "] 정합성 체크 시작: " + fileName);
-				long consistencyStartTime = System.currentTimeMillis();
-				ConsistencyValidator consistencyValidator = new ConsistencyValidator(ruleParser);
-				boolean consistencyValid = consistencyValidator.validate(xmlFile);
-				long consistencyElapsedTime = System.currentTimeMillis() - consistencyStartTime;
-				System.out.println("[" + (i + 1) + "/" + selectedXmlFiles.size() + "] 정합성 체크 완료: " + fileName + " (소요 시간: " + consistencyElapsedTime + "ms, 결과: " + (consistencyValid ? "통과" : "실패") + ", 오류 수: " + consistencyValidator.getErrors().size() + ")");
-				
-				// 검증 중단 확인 (정합성 체크 후)
-				if (validationCancelled) {
-					System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-					break;
-				}
-				
-				if (!consistencyValid) {
-					// 검증 중단 확인 (정합성 오류 처리 전)
-					if (validationCancelled) {
-						System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-						break;
 					}
-					
-					for (ValidationError error : consistencyValidator.getErrors()) {
-						// 검증 중단 확인 (각 오류 처리 전)
-						if (validationCancelled) {
-							System.out.println("검증이 중단되었습니다. (" + i + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-							break;
-						}
-						ValidationError newError = new ValidationError(
-								error.getFile(), 
-								error.getLineNumber(), 
-								error.getColumnNumber(), 
-								error.getMessage(),
-								ValidationError.ErrorType.CONSISTENCY);
-						allErrors.add(newError);
-						
-						// 오류가 발견되는 즉시 화면에 표시 (라인 순서대로)
-						allValidationErrors.add(newError);
-						final ValidationError errorToAdd = newError;
-						display.asyncExec(() -> {
-							if (!tableViewer.getControl().isDisposed()) {
-								tableViewer.setInput(allValidationErrors);
-								// 새로 추가된 오류가 보이도록 마지막 행으로 스크롤
-								int itemCount = tableViewer.getTable().getItemCount();
-								if (itemCount > 0) {
-									tableViewer.getTable().setTopIndex(itemCount - 1);
-								}
-							}
-						});
+					if (!progressBar.isDisposed()) {
+						progressBar.setSelection(progress);
 					}
-					hasError = true;
-				}
-			}
-			
-			// 검증 중단 확인 (파일 처리 완료 후)
-			if (validationCancelled) {
-				System.out.println("검증이 중단되었습니다. (" + (i + 1) + "/" + selectedXmlFiles.size() + " 파일 처리됨)");
-				break;
-			}
-			
-			if (hasError) {
-				invalidCount++;
-			} else {
-				validCount++;
+				});
 			}
+		});
 			
-			// 파일 검증 완료 시간 기록
-			long fileValidationElapsedTime = System.currentTimeMillis() - fileValidationStartTime;
-			System.out.println("[" + (i + 1) + "/" + selectedXmlFiles.size() + "] 파일 검증 완료: " + fileName + " (총 소요 시간: " + fileValidationElapsedTime + "ms, 결과: " + (hasError ? "실패" : "성공") + ")");
-			
-				// 진행 상태 업데이트 (파일 검증 완료 후)
-			// Progress Bar만 업데이트하고, currentProgress와 currentFileName은 다음 파일 검증 시작 시까지 유지
-			final int progress = i + 1;
-			display.asyncExec(() -> {
-				if (!progressBar.isDisposed()) {
-					progressBar.setSelection(progress);
-				}
-				// currentFileName과 currentProgress는 다음 파일 검증 시작 시에 함께 업데이트됨
-			});
+			System.out.println("검증 결과 캐시: " + resultCache.getStatistics());
+			System.out.println("작업 스레드 사용률: " + summary.formatWorkerUtilization());
+			for (ValidationEngine.StageStatistics stage : summary.getStageStatistics()) {
+				System.out.println("파이프라인 " + stage);
 			}
 			
 			// 검증 완료/중단 후 UI 상태 복원
@@ -1567,17 +1547,16 @@ public class XmlValidationView extends ViewPart {
 			final String totalTimeString = formatElapsedTime(totalElapsedTime);
 			
 			// 검증 완료 플래그 설정 (중단되지 않은 경우에만)
-			if (!validationCancelled) {
+			final boolean finalCancelled = validationCancelled || summary.isCancelled();
+			if (!finalCancelled) {
 				validationCompleted = true;
 			}
 			
 			// 람다에서 사용하기 위해 final 변수로 복사
-			final int finalValidCount = validCount;
-			final int finalInvalidCount = invalidCount;
-			final int finalTotalFiles = selectedXmlFiles.size();
-			final int finalErrorCount = allErrors.size();
-			final int finalTotalErrors = allValidationErrors.size();
-			final boolean finalCancelled = validationCancelled;
+			final int finalValidCount = summary.getValidCount();
+			final int finalInvalidCount = summary.getInvalidCount();
+			final int finalTotalFiles = summary.getTotalFiles();
+			final int finalErrorCount = summary.getErrorCount();
 			
 			display.asyncExec(() -> {
 				// 타이머는 validationCompleted 플래그로 자동 중단됨
@@ -1593,13 +1572,11 @@ public class XmlValidationView extends ViewPart {
 				}
 			});
 			
-			// 오류는 발견되는 즉시 화면에 표시되므로, 여기서는 중복 추가하지 않음
-			// 이미 각 오류가 발견될 때마다 allValidationErrors에 추가되고 UI가 업데이트됨
-			
 			// 결과 표시 (최종 상태 메시지만 업데이트) - UI 스레드에서 실행
 			display.asyncExec(() -> {
-				// TableViewer는 이미 오류가 발견될 때마다 업데이트되었으므로 재설정 불필요
-				// 하지만 최종 상태 메시지는 업데이트 필요
+				// TableViewer는 이미 파일 검증이 끝날 때마다 업데이트되었으므로 재설정 불필요
+				// 전체 누적 오류 수는 앞서 예약된 화면 갱신이 모두 반영된 뒤 UI 스레드에서 계산
+				int finalTotalErrors = allValidationErrors.size();
 		
 		// 상태 메시지 업데이트
 				String statusMessage;
@@ -1809,6 +1786,53 @@ public class XmlValidationView extends ViewPart {
 		}
 	}
 	
+	/**
+	 * 플러그인 상태 위치의 검증 결과 저장소를 열어 결과 캐시에 연결합니다.
+	 * 열 수 없으면 메모리 캐시만 사용합니다.
+	 */
+	private synchronized void openResultStore() {
+		if (resultStoreOpened) {
+			return;
+		}
+		resultStoreOpened = true;
+		try {
+			Bundle bundle = Platform.getBundle("com.xmlvalidator");
+			if (bundle == null) {
+				System.out.println("번들을 찾을 수 없어 검증 결과 저장소를 사용하지 않습니다.");
+				return;
+			}
+			File storeFile = new File(Platform.getStateLocation(bundle).toFile(), RESULT_STORE_FILE);
+			long startTime = System.currentTimeMillis();
+			PersistentResultStore store = PersistentResultStore.open(storeFile, validatorVersion());
+			resultCache.setStore(store);
+			System.out.println("검증 결과 저장소 로드: " + storeFile.getAbsolutePath() + 
+					" (레코드 수: " + store.size() + ", 소요 시간: " + (System.currentTimeMillis() - startTime) + "ms)");
+		} catch (Exception e) {
+			System.err.println("검증 결과 저장소 열기 실패 (메모리 캐시만 사용): " + e.getMessage());
+		}
+	}
+	
+	/**
+	 * 저장해 둔 검증 결과와 규칙 스냅샷을 구분하는 검증기 버전
+	 * 플러그인을 다시 빌드하거나 업그레이드하면 번들 버전(qualifier 포함)이 바뀌어 이전에 저장한 내용을 사용하지 않습니다.
+	 * @return 번들 버전 (번들을 찾을 수 없으면 빈 문자열)
+	 */
+	private static String validatorVersion() {
+		Bundle bundle = Platform.getBundle("com.xmlvalidator");
+		return bundle != null ? bundle.getVersion().toString() : "";
+	}
+	
+	@Override
+	public void dispose() {
+		stopRuleFileWatcher();
+		if (validationEngine != null) {
+			validationEngine.close();
+		}
+		// 저장소를 닫으면서 디스크에 기록
+		resultCache.closeStore();
+		super.dispose();
+	}
+	
 	@Override
 	public void setFocus() {
 		if (validateButton != null && !validateButton.isDisposed()) {